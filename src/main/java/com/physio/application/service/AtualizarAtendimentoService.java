@@ -1,11 +1,15 @@
 package com.physio.application.service;
 
+import com.physio.domain.event.AtendimentoAtualizadoEvent;
 import com.physio.domain.model.Atendimento;
 import com.physio.domain.ports.in.AtualizarAtendimentoUseCase;
 import com.physio.domain.ports.out.AtendimentoRepositoryPort;
+import com.physio.domain.ports.out.SerieRecorrenteRepositoryPort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -13,14 +17,26 @@ import org.springframework.stereotype.Service;
 public class AtualizarAtendimentoService implements AtualizarAtendimentoUseCase {
 
     private final AtendimentoRepositoryPort atendimentoRepositoryPort;
+    private final PoliticaAgendamento politicaAgendamento;
+    private final SerieRecorrenteRepositoryPort serieRecorrenteRepositoryPort;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional
     public Atendimento atualizar(Long id, Atendimento atendimento) {
         log.info("Atualizando atendimento - ID: {}", id);
-        var existente = atendimentoRepositoryPort.buscarPorId(id);
+        var existente = atendimentoRepositoryPort.buscarPorIdParaAtualizacao(id);
         if (existente == null) throw new IllegalArgumentException("Atendimento não encontrado: " + id);
+        var anterior = existente.toBuilder().build();
 
-        if (atendimento.getDataHoraInicio() != null) existente.setDataHoraInicio(atendimento.getDataHoraInicio());
+        if (atendimento.getDataHoraInicio() != null && !atendimento.getDataHoraInicio().equals(existente.getDataHoraInicio())) {
+            // Remarcação: devolve a vaga do horário antigo antes de reservar a do novo (os dois podem dividir
+            // células); se a reserva falhar, a exceção desfaz a transação e a devolução junto
+            politicaAgendamento.liberarVaga(existente.getServicoBase(), existente.getDataHoraInicio());
+            politicaAgendamento.reservarVagasDoHorario(existente.getServicoBase(), atendimento.getDataHoraInicio(), 1);
+            registrarRemarcacaoNaSerie(existente, atendimento.getDataHoraInicio());
+            existente.setDataHoraInicio(atendimento.getDataHoraInicio());
+        }
         if (atendimento.getDataHoraFim() != null) existente.setDataHoraFim(atendimento.getDataHoraFim());
         if (atendimento.getStatus() != null) existente.setStatus(atendimento.getStatus());
         if (atendimento.getEvolucao() != null) existente.setEvolucao(atendimento.getEvolucao());
@@ -29,7 +45,16 @@ public class AtualizarAtendimentoService implements AtualizarAtendimentoUseCase
 
         var salvo = atendimentoRepositoryPort.salvar(existente);
         log.info("Atendimento atualizado - ID: {}", salvo.getId());
+        eventPublisher.publishEvent(new AtendimentoAtualizadoEvent(anterior, salvo));
         return salvo;
     }
-}
 
+    // Sessão de série recorrente: a remarcação fica registrada como exceção da série
+    private void registrarRemarcacaoNaSerie(Atendimento existente, java.time.LocalDateTime novaDataHora) {
+        if (existente.getSerieId() == null) return;
+        serieRecorrenteRepositoryPort.buscarPorId(Long.valueOf(existente.getSerieId())).ifPresent(serie -> {
+            serie.registrarRemarcacao(existente.getDataHoraInicio(), novaDataHora);
+            serieRecorrenteRepositoryPort.salvar(serie);
+        });
+    }
+}
@@ -1,17 +1,29 @@
 package com.physio.application.service;
 
+import com.physio.domain.event.CobrancasAlteradasEvent;
+import com.physio.domain.model.BaixaCobranca;
 import com.physio.domain.model.CobrancaMensal;
 import com.physio.domain.model.Recebedor;
+import com.physio.domain.model.ResultadoItemLoteCobranca;
+import com.physio.domain.model.SituacaoCobranca;
+import com.physio.domain.model.SituacaoItemLote;
 import com.physio.domain.model.StatusCobranca;
 import com.physio.domain.model.TipoPagamento;
 import com.physio.domain.ports.in.AtualizarCobrancaUseCase;
 import com.physio.domain.ports.out.CobrancaMensalRepositoryPort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Slf4j
 @Service
@@ -19,12 +31,21 @@ import java.time.LocalDate;
 public class AtualizarCobrancaService implements AtualizarCobrancaUseCase {
 
     private final CobrancaMensalRepositoryPort cobrancaMensalRepositoryPort;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${cobranca.lote.maximo-itens:1000}")
+    private int maximoItensLote;
 
     @Override
     @Transactional
     public CobrancaMensal atualizarCobranca(Long cobrancaId, StatusCobranca status, LocalDate dataPagamento, Recebedor recebedor, TipoPagamento tipoPagamento) {
         log.info("Atualizando cobrança - ID: {}, Status: {}", cobrancaId, status);
 
+        // Trava a linha antes de ler: o status anterior publicado para o resumo mensal não muda até o commit
+        SituacaoCobranca anterior = cobrancaMensalRepositoryPort.buscarSituacoesParaAtualizacao(List.of(cobrancaId)).get(cobrancaId);
+        if (anterior == null) {
+            throw new jakarta.persistence.EntityNotFoundException("Cobrança não encontrada: " + cobrancaId);
+        }
         CobrancaMensal cobranca = cobrancaMensalRepositoryPort.buscarPorId(cobrancaId)
                 .orElseThrow(() -> new jakarta.persistence.EntityNotFoundException("Cobrança não encontrada: " + cobrancaId));
 
@@ -35,6 +56,84 @@ public class AtualizarCobrancaService implements AtualizarCobrancaUseCase {
         cobranca.setTipoPagamento(tipoPagamento);
 
         // Validação: Se status é PAGO, deve ter data de pagamento e recebedor
+        validar(status, dataPagamento, recebedor);
+
+        // Salvar atualização
+        CobrancaMensal cobrancaAtualizada = cobrancaMensalRepositoryPort.salvar(cobranca);
+
+        log.info("Cobrança atualizada com sucesso - ID: {}", cobrancaAtualizada.getId());
+        eventPublisher.publishEvent(new CobrancasAlteradasEvent(
+                List.of(new CobrancasAlteradasEvent.Alteracao(anterior, anterior.comStatus(status)))));
+        return cobrancaAtualizada;
+    }
+
+    @Override
+    @Transactional
+    public List<ResultadoItemLoteCobranca> atualizarCobrancasEmLote(List<BaixaCobranca> atualizacoes) {
+        if (atualizacoes == null || atualizacoes.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos uma cobrança para atualizar");
+        }
+        if (atualizacoes.size() > maximoItensLote) {
+            throw new IllegalArgumentException("Máximo de " + maximoItensLote + " cobranças por lote");
+        }
+        log.info("Atualizando {} cobrança(s) em lote", atualizacoes.size());
+
+        // Itens inválidos e IDs repetidos são resolvidos antes; os válidos vão em um único batch de UPDATEs
+        ResultadoItemLoteCobranca[] resultados = new ResultadoItemLoteCobranca[atualizacoes.size()];
+        List<BaixaCobranca> validas = new ArrayList<>();
+        List<Integer> posicoesValidas = new ArrayList<>();
+        Set<Long> vistos = new HashSet<>();
+
+        for (int i = 0; i < atualizacoes.size(); i++) {
+            BaixaCobranca atualizacao = atualizacoes.get(i);
+            Long id = atualizacao.cobrancaId();
+            try {
+                if (id == null) {
+                    throw new IllegalArgumentException("ID da cobrança é obrigatório");
+                }
+                if (atualizacao.status() == null) {
+                    throw new IllegalArgumentException("Status é obrigatório");
+                }
+                validar(atualizacao.status(), atualizacao.dataPagamento(), atualizacao.recebedor());
+            } catch (IllegalArgumentException e) {
+                resultados[i] = new ResultadoItemLoteCobranca(id, SituacaoItemLote.INVALIDA, e.getMessage());
+                continue;
+            }
+            if (!vistos.add(id)) {
+                resultados[i] = new ResultadoItemLoteCobranca(id, SituacaoItemLote.DUPLICADA, "Cobrança repetida no lote; vale a primeira ocorrência");
+                continue;
+            }
+            validas.add(atualizacao);
+            posicoesValidas.add(i);
+        }
+
+        // Um SELECT ... FOR UPDATE com o estado anterior de todas (para o resumo mensal) e o batch de UPDATEs
+        Map<Long, SituacaoCobranca> anteriores = cobrancaMensalRepositoryPort.buscarSituacoesParaAtualizacao(vistos);
+        Set<Long> atualizadas = cobrancaMensalRepositoryPort.atualizarStatusEmLote(validas);
+        List<CobrancasAlteradasEvent.Alteracao> alteracoes = validas.stream()
+                .filter(a -> atualizadas.contains(a.cobrancaId()) && anteriores.containsKey(a.cobrancaId()))
+                .map(a -> {
+                    SituacaoCobranca anterior = anteriores.get(a.cobrancaId());
+                    return new CobrancasAlteradasEvent.Alteracao(anterior, anterior.comStatus(a.status()));
+                })
+                .toList();
+        if (!alteracoes.isEmpty()) {
+            eventPublisher.publishEvent(new CobrancasAlteradasEvent(alteracoes));
+        }
+
+        for (int j = 0; j < validas.size(); j++) {
+            Long id = validas.get(j).cobrancaId();
+            resultados[posicoesValidas.get(j)] = atualizadas.contains(id)
+                    ? new ResultadoItemLoteCobranca(id, SituacaoItemLote.ATUALIZADA, null)
+                    : new ResultadoItemLoteCobranca(id, SituacaoItemLote.NAO_ENCONTRADA, "Cobrança não encontrada: " + id);
+        }
+
+        log.info("Lote de cobranças concluído - Atualizadas: {}, Com problema: {}",
+                atualizadas.size(), atualizacoes.size() - atualizadas.size());
+        return List.of(resultados);
+    }
+
+    private static void validar(StatusCobranca status, LocalDate dataPagamento, Recebedor recebedor) {
         if (status == StatusCobranca.PAGO) {
             if (dataPagamento == null) {
                 throw new IllegalArgumentException("Data de pagamento é obrigatória quando status é PAGO");
@@ -43,11 +142,5 @@ public class AtualizarCobrancaService implements AtualizarCobrancaUseCase {
                 throw new IllegalArgumentException("Recebedor é obrigatório quando status é PAGO");
             }
         }
-
-        // Salvar atualização
-        CobrancaMensal cobrancaAtualizada = cobrancaMensalRepositoryPort.salvar(cobranca);
-
-        log.info("Cobrança atualizada com sucesso - ID: {}", cobrancaAtualizada.getId());
-        return cobrancaAtualizada;
     }
 }
@@ -5,6 +5,7 @@ import com.physio.domain.ports.in.BuscarAtendimentoUseCase;
 import com.physio.domain.ports.out.AtendimentoRepositoryPort;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -14,7 +15,9 @@ public class BuscarAtendimentoService implements BuscarAtendimentoUseCase {
 
     private final AtendimentoRepositoryPort atendimentoRepositoryPort;
 
+    // Transação própria: também é chamado fora de requisições (stream SSE), sem sessão aberta pelo open-in-view
     @Override
+    @Transactional(readOnly = true)
     public Optional<Atendimento> buscarPorId(Long id) {
         return java.util.Optional.ofNullable(atendimentoRepositoryPort.buscarPorId(id));
     }
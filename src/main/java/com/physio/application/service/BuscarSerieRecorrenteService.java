@@ -0,0 +1,23 @@
+package com.physio.application.service;
+
+import com.physio.domain.model.SerieRecorrente;
+import com.physio.domain.ports.in.BuscarSerieRecorrenteUseCase;
+import com.physio.domain.ports.out.SerieRecorrenteRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class BuscarSerieRecorrenteService implements BuscarSerieRecorrenteUseCase {
+
+    private final SerieRecorrenteRepositoryPort serieRecorrenteRepositoryPort;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<SerieRecorrente> buscarPorId(Long id) {
+        return serieRecorrenteRepositoryPort.buscarPorId(id);
+    }
+}
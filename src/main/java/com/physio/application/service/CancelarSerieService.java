@@ -0,0 +1,71 @@
+package com.physio.application.service;
+
+import com.physio.domain.event.AtendimentoRemovidoEvent;
+import com.physio.domain.model.Atendimento;
+import com.physio.domain.model.IntervaloAgenda;
+import com.physio.domain.model.ResultadoOperacaoSerie;
+import com.physio.domain.model.SerieRecorrente;
+import com.physio.domain.ports.in.CancelarSerieUseCase;
+import com.physio.domain.ports.out.AtendimentoRepositoryPort;
+import com.physio.domain.ports.out.SerieRecorrenteRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CancelarSerieService implements CancelarSerieUseCase {
+
+    private final SerieRecorrenteRepositoryPort serieRecorrenteRepositoryPort;
+    private final AtendimentoRepositoryPort atendimentoRepositoryPort;
+    private final PoliticaAgendamento politicaAgendamento;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    public ResultadoOperacaoSerie cancelarAPartirDe(Long serieId, LocalDate aPartirDe) {
+        if (aPartirDe == null) {
+            throw new IllegalArgumentException("Informe a data a partir da qual a série será cancelada");
+        }
+        log.info("Cancelando série {} a partir de {}", serieId, aPartirDe);
+
+        SerieRecorrente serie = serieRecorrenteRepositoryPort.buscarPorIdParaAtualizacao(serieId)
+                .orElseThrow(() -> new jakarta.persistence.EntityNotFoundException("Série recorrente não encontrada: " + serieId));
+
+        // Um SELECT ... FOR UPDATE, um DELETE e um UPDATE em agenda_slots para todas as sessões
+        List<IntervaloAgenda> sessoes = atendimentoRepositoryPort.listarSessoesAgendadasDaSerie(serieId, aPartirDe.atStartOfDay());
+        atendimentoRepositoryPort.deletarTodos(sessoes.stream().map(IntervaloAgenda::atendimentoId).toList());
+        politicaAgendamento.liberarVagas(serie.getServico(), sessoes.stream().map(IntervaloAgenda::inicio).toList());
+
+        LocalDate ultimoDia = aPartirDe.minusDays(1);
+        if (serie.getDataFim() == null || serie.getDataFim().isAfter(ultimoDia)) {
+            serie.setDataFim(ultimoDia);
+        }
+        if (serie.getMaterializadoAte().isAfter(ultimoDia)) {
+            serie.setMaterializadoAte(ultimoDia);
+        }
+        if (!aPartirDe.isAfter(serie.getDataInicio())) {
+            serie.setAtiva(false);
+        }
+        serie.removerExcecoesAPartirDe(aPartirDe);
+        serieRecorrenteRepositoryPort.salvar(serie);
+
+        sessoes.forEach(s -> eventPublisher.publishEvent(new AtendimentoRemovidoEvent(Atendimento.builder()
+                .id(s.atendimentoId())
+                .paciente(serie.getPaciente())
+                .servicoBase(serie.getServico())
+                .dataHoraInicio(s.inicio())
+                .dataHoraFim(s.fim())
+                .serieId(serie.getId())
+                .build())));
+
+        log.info("Série {} cancelada a partir de {} - {} sessão(ões) removida(s)", serieId, aPartirDe, sessoes.size());
+        return new ResultadoOperacaoSerie(serie.getId(), sessoes.size(), List.of());
+    }
+}
@@ -1,16 +1,32 @@
 package com.physio.application.service;
 
+import com.physio.domain.model.ExecucaoJob;
+import com.physio.domain.model.ModoGeracaoCobranca;
+import com.physio.domain.model.StatusJob;
+import com.physio.domain.ports.in.GerarCobrancasEmLoteUseCase;
 import com.physio.domain.ports.in.GerarCobrancasUseCase;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.LocalDate;
 
 /**
  * Serviço agendado para gerar automaticamente as cobranças mensais
  * no dia 1º de cada mês às 00:00:00.
+ *
+ * Com cobranca.geracao.modo=DIARIA a geração do dia 1º é desligada e, todo dia, são geradas
+ * as cobranças que vencem nos próximos cobranca.geracao.dias-antecedencia dias (pelo dia_vencimento
+ * da assinatura), espalhando o trabalho ao longo do mês.
+ *
+ * A geração roda como job em lote com checkpoint (job_execucao): se a aplicação for
+ * interrompida no meio, a execução do mês é retomada na próxima subida.
+ * Com várias instâncias, só a que obtiver a trava GERAR_COBRANCAS executa cada disparo.
  * 
  * Para desabilitar, remova a anotação @Component ou configure
  * spring.task.scheduling.enabled=false no application.properties
@@ -20,7 +36,23 @@ import java.time.LocalDate;
 @RequiredArgsConstructor
 public class CobrancaSchedulerService {
 
+    private static final String JOB_DIARIO = "GERAR_COBRANCAS_DIARIA";
+
+    private final GerarCobrancasEmLoteUseCase gerarCobrancasEmLoteUseCase;
     private final GerarCobrancasUseCase gerarCobrancasUseCase;
+    private final TravaJobAgendado travaJobAgendado;
+
+    @Value("${cobranca.geracao.modo:MENSAL}")
+    private ModoGeracaoCobranca modo;
+
+    @Value("${cobranca.geracao.dias-antecedencia:5}")
+    private int diasAntecedencia;
+
+    @Value("${scheduler.trava.cobrancas.duracao-maxima:PT2H}")
+    private Duration duracaoMaximaTrava;
+
+    @Value("${scheduler.trava.duracao-minima:PT1M}")
+    private Duration duracaoMinimaTrava;
 
     /**
      * Gera cobranças mensais automaticamente no dia 1º de cada mês às 00:00:00
@@ -30,20 +62,68 @@ public class CobrancaSchedulerService {
      */
     @Scheduled(cron = "0 0 0 1 * ?")
     public void gerarCobrancasAutomaticas() {
+        if (modo != ModoGeracaoCobranca.MENSAL) return;
         LocalDate hoje = LocalDate.now();
-        int mes = hoje.getMonthValue();
-        int ano = hoje.getYear();
+        gerar(hoje.getMonthValue(), hoje.getYear());
+    }
 
-        log.info("Iniciando geração automática de cobranças para {}/{}", mes, ano);
+    /**
+     * Modo DIARIA: gera as cobranças que vencem até hoje + dias de antecedência.
+     * Dias perdidos (aplicação parada) são cobertos pela execução seguinte.
+     */
+    @Scheduled(cron = "${cobranca.geracao.diaria.cron:0 30 0 * * ?}")
+    public void gerarCobrancasDiarias() {
+        if (modo != ModoGeracaoCobranca.DIARIA) return;
+        travaJobAgendado.executar(JOB_DIARIO, duracaoMaximaTrava, duracaoMinimaTrava, () -> {
+            LocalDate hoje = LocalDate.now();
+            try {
+                int geradas = gerarCobrancasUseCase.gerarCobrancasAVencer(hoje, diasAntecedencia);
+                log.info("Geração diária concluída - {} cobrança(s) com vencimento até {}", geradas, hoje.plusDays(diasAntecedencia));
+            } catch (Exception e) {
+                log.error("Erro na geração diária de cobranças de {}", hoje, e);
+                // Não relança a exceção para não quebrar o scheduler
+            }
+        });
+    }
 
+    /**
+     * Retoma a geração do mês corrente se a última execução não chegou ao fim
+     * (no modo DIARIA, coloca em dia as cobranças dos dias em que a aplicação esteve parada)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void retomarGeracaoInterrompida() {
+        if (modo == ModoGeracaoCobranca.DIARIA) {
+            gerarCobrancasDiarias();
+            return;
+        }
+        LocalDate hoje = LocalDate.now();
+        int mes = hoje.getMonthValue();
+        int ano = hoje.getYear();
         try {
-            int quantidadeGerada = gerarCobrancasUseCase.gerarCobrancasDoMes(mes, ano);
-            log.info("Geração automática concluída. {} cobrança(s) gerada(s) para {}/{}", 
-                    quantidadeGerada, mes, ano);
+            gerarCobrancasEmLoteUseCase.buscarExecucao(mes, ano)
+                    .filter(execucao -> execucao.getStatus() != StatusJob.CONCLUIDO)
+                    .ifPresent(execucao -> {
+                        log.info("Retomando geração de cobranças de {}/{} interrompida", mes, ano);
+                        gerar(mes, ano);
+                    });
         } catch (Exception e) {
-            log.error("Erro ao gerar cobranças automaticamente para {}/{}", mes, ano, e);
-            // Não relança a exceção para não quebrar o scheduler
+            log.error("Erro ao verificar geração de cobranças pendente para {}/{}", mes, ano, e);
         }
     }
-}
 
+    private void gerar(int mes, int ano) {
+        travaJobAgendado.executar(GerarCobrancasEmLoteService.NOME_JOB, duracaoMaximaTrava, duracaoMinimaTrava, () -> {
+            log.info("Iniciando geração automática de cobranças para {}/{}", mes, ano);
+
+            try {
+                ExecucaoJob execucao = gerarCobrancasEmLoteUseCase.gerarCobrancasDoMesEmLote(mes, ano);
+                log.info("Geração automática {} para {}/{} - {} assinatura(s) processada(s), {} falha(s)",
+                        execucao.getStatus() == StatusJob.CONCLUIDO ? "concluída" : "interrompida",
+                        mes, ano, execucao.getProcessados(), execucao.getFalhas());
+            } catch (Exception e) {
+                log.error("Erro ao gerar cobranças automaticamente para {}/{}", mes, ano, e);
+                // Não relança a exceção para não quebrar o scheduler
+            }
+        });
+    }
+}
@@ -0,0 +1,243 @@
+package com.physio.application.service;
+
+import com.physio.domain.event.CobrancasAlteradasEvent;
+import com.physio.domain.model.BaixaCobranca;
+import com.physio.domain.model.CobrancaPendente;
+import com.physio.domain.model.ItemConciliacao;
+import com.physio.domain.model.PagamentoRetorno;
+import com.physio.domain.model.Recebedor;
+import com.physio.domain.model.ResultadoConciliacao;
+import com.physio.domain.model.StatusCobranca;
+import com.physio.domain.model.TipoPagamento;
+import com.physio.domain.ports.in.ConciliarRetornoBancarioUseCase;
+import com.physio.domain.ports.out.CobrancaMensalRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Conciliação de retornos bancários com as cobranças pendentes.
+ *
+ * Cada pagamento é casado pelo valor exato e confirmado por pelo menos um critério:
+ * - referência "COB<id>" (ID da cobrança) ou competência "MM/AAAA" no texto devolvido pelo banco;
+ * - pagador: CPF do paciente ou nome compatível (bancos truncam o nome).
+ * Uma única candidata é baixada; mais de uma vai para revisão manual (ambíguo).
+ *
+ * As pendentes são carregadas uma vez como projeção; o arquivo é consumido em stream e as baixas
+ * são gravadas em lotes de cobranca.conciliacao.tamanho-lote UPDATEs (batch JDBC), na mesma transação.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ConciliarRetornoBancarioService implements ConciliarRetornoBancarioUseCase {
+
+    private static final Pattern REFERENCIA_ID = Pattern.compile("\\bCOB[\\s-]?(\\d{1,10})\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern REFERENCIA_COMPETENCIA = Pattern.compile("\\b(0[1-9]|1[0-2])[/-](20\\d{2})\\b");
+    private static final int TAMANHO_MINIMO_NOME = 5;
+
+    private final CobrancaMensalRepositoryPort cobrancaMensalRepositoryPort;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${cobranca.conciliacao.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    @Override
+    @Transactional
+    public ResultadoConciliacao conciliar(Stream<PagamentoRetorno> pagamentos, Recebedor recebedor, TipoPagamento tipoPagamento) {
+        // Mesma regra de AtualizarCobrancaService para status PAGO
+        if (recebedor == null) {
+            throw new IllegalArgumentException("Recebedor é obrigatório quando status é PAGO");
+        }
+
+        Map<BigDecimal, List<CobrancaPendente>> pendentesPorValor = cobrancaMensalRepositoryPort.listarPendentesParaConciliacao().stream()
+                .collect(Collectors.groupingBy(c -> normalizarValor(c.valor()), HashMap::new, Collectors.toCollection(ArrayList::new)));
+        log.info("Conciliando retorno bancário contra {} cobrança(s) pendente(s)",
+                pendentesPorValor.values().stream().mapToInt(List::size).sum());
+
+        Conciliacao conciliacao = new Conciliacao(pendentesPorValor, recebedor, tipoPagamento);
+        try (pagamentos) {
+            pagamentos.forEach(conciliacao::processar);
+        }
+        conciliacao.gravarLote();
+
+        ResultadoConciliacao resultado = new ResultadoConciliacao(conciliacao.lidos,
+                conciliacao.conciliados, conciliacao.naoConciliados, conciliacao.ambiguos);
+        log.info("Retorno bancário conciliado - Lidos: {}, Baixados: {}, Não conciliados: {}, Ambíguos: {}",
+                resultado.pagamentosLidos(), resultado.conciliados().size(),
+                resultado.naoConciliados().size(), resultado.ambiguos().size());
+        return resultado;
+    }
+
+    /**
+     * Estado de uma conciliação: candidatas ainda livres, lote de baixas pendente de gravação e o relatório
+     */
+    private class Conciliacao {
+        private final Map<BigDecimal, List<CobrancaPendente>> pendentesPorValor;
+        private final Recebedor recebedor;
+        private final TipoPagamento tipoPagamento;
+
+        private final List<BaixaCobranca> lote = new ArrayList<>();
+        private final List<ItemConciliacao> itensDoLote = new ArrayList<>();
+        private final List<ItemConciliacao> conciliados = new ArrayList<>();
+        private final List<ItemConciliacao> naoConciliados = new ArrayList<>();
+        private final List<ItemConciliacao> ambiguos = new ArrayList<>();
+        private long lidos;
+
+        Conciliacao(Map<BigDecimal, List<CobrancaPendente>> pendentesPorValor, Recebedor recebedor, TipoPagamento tipoPagamento) {
+            this.pendentesPorValor = pendentesPorValor;
+            this.recebedor = recebedor;
+            this.tipoPagamento = tipoPagamento;
+        }
+
+        void processar(PagamentoRetorno pagamento) {
+            lidos++;
+            if (pagamento.valor() == null || pagamento.valor().signum() <= 0) {
+                naoConciliados.add(item(pagamento, null, null, "Valor inválido"));
+                return;
+            }
+            if (pagamento.dataPagamento() == null) {
+                naoConciliados.add(item(pagamento, null, null, "Data de pagamento ausente"));
+                return;
+            }
+
+            BigDecimal valor = normalizarValor(pagamento.valor());
+            List<CobrancaPendente> mesmoValor = pendentesPorValor.getOrDefault(valor, List.of());
+            if (mesmoValor.isEmpty()) {
+                naoConciliados.add(item(pagamento, null, null, "Nenhuma cobrança pendente com este valor"));
+                return;
+            }
+
+            Long cobrancaId = cobrancaDaReferencia(pagamento.referencia());
+            int[] competencia = competenciaDaReferencia(pagamento.referencia());
+            String nome = normalizarNome(pagamento.nomePagador());
+            String documento = somenteDigitos(pagamento.documentoPagador());
+            boolean temPagador = documento != null || nome != null;
+
+            if (cobrancaId == null && competencia == null && !temPagador) {
+                naoConciliados.add(item(pagamento, null, null, "Sem referência nem pagador para confirmar o valor"));
+                return;
+            }
+
+            List<CobrancaPendente> candidatas = mesmoValor.stream()
+                    .filter(c -> cobrancaId == null || cobrancaId.equals(c.id()))
+                    .filter(c -> competencia == null || cobrancaId != null
+                            || (c.mesReferencia() == competencia[0] && c.anoReferencia() == competencia[1]))
+                    .filter(c -> !temPagador || pagadorConfere(c, documento, nome))
+                    .toList();
+
+            if (candidatas.isEmpty()) {
+                naoConciliados.add(item(pagamento, null, null, "Valor encontrado, mas referência ou pagador não conferem"));
+                return;
+            }
+            if (candidatas.size() > 1) {
+                ambiguos.add(item(pagamento, null, candidatas.stream().map(CobrancaPendente::id).toList(),
+                        "Mais de uma cobrança pendente confere"));
+                return;
+            }
+
+            // A cobrança sai das candidatas para não ser usada por outra linha do mesmo arquivo
+            CobrancaPendente cobranca = candidatas.get(0);
+            mesmoValor.remove(cobranca);
+            lote.add(new BaixaCobranca(cobranca.id(), StatusCobranca.PAGO, pagamento.dataPagamento(), recebedor, tipoPagamento));
+            itensDoLote.add(item(pagamento, cobranca.id(), null, null));
+            if (lote.size() >= tamanhoLote) {
+                gravarLote();
+            }
+        }
+
+        void gravarLote() {
+            if (lote.isEmpty()) return;
+            Set<Long> baixadas = cobrancaMensalRepositoryPort.baixarEmLote(lote);
+            for (ItemConciliacao item : itensDoLote) {
+                if (baixadas.contains(item.cobrancaId())) {
+                    conciliados.add(item);
+                } else {
+                    naoConciliados.add(new ItemConciliacao(item.linha(), item.valor(), item.dataPagamento(), item.referencia(),
+                            item.pagador(), item.cobrancaId(), null, "Cobrança já baixada por outra operação"));
+                }
+            }
+            publicarBaixas(baixadas);
+            log.debug("Lote de {} baixa(s) gravado, {} aplicada(s)", lote.size(), baixadas.size());
+            lote.clear();
+            itensDoLote.clear();
+        }
+
+        // As baixas só se aplicam a cobranças pendentes (o UPDATE filtra por status): PENDENTE -> PAGO para o resumo mensal
+        private void publicarBaixas(Set<Long> baixadas) {
+            if (baixadas.isEmpty()) return;
+            List<CobrancasAlteradasEvent.Alteracao> alteracoes = cobrancaMensalRepositoryPort.buscarSituacoesParaAtualizacao(baixadas)
+                    .values().stream()
+                    .map(atual -> new CobrancasAlteradasEvent.Alteracao(atual.comStatus(StatusCobranca.PENDENTE), atual))
+                    .toList();
+            eventPublisher.publishEvent(new CobrancasAlteradasEvent(alteracoes));
+        }
+    }
+
+    private static ItemConciliacao item(PagamentoRetorno pagamento, Long cobrancaId, List<Long> candidatos, String motivo) {
+        return new ItemConciliacao(pagamento.linha(), pagamento.valor(), pagamento.dataPagamento(), pagamento.referencia(),
+                pagamento.nomePagador(), cobrancaId, candidatos, motivo);
+    }
+
+    private static boolean pagadorConfere(CobrancaPendente cobranca, String documento, String nome) {
+        if (documento != null && documento.equals(somenteDigitos(cobranca.cpfPaciente()))) {
+            return true;
+        }
+        if (nome == null) return false;
+        String nomePaciente = normalizarNome(cobranca.nomePaciente());
+        return nomePaciente != null && (nomePaciente.startsWith(nome) || nome.startsWith(nomePaciente));
+    }
+
+    private static Long cobrancaDaReferencia(String referencia) {
+        if (referencia == null) return null;
+        Matcher m = REFERENCIA_ID.matcher(referencia);
+        return m.find() ? Long.valueOf(m.group(1)) : null;
+    }
+
+    private static int[] competenciaDaReferencia(String referencia) {
+        if (referencia == null) return null;
+        Matcher m = REFERENCIA_COMPETENCIA.matcher(referencia);
+        return m.find() ? new int[]{Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2))} : null;
+    }
+
+    private static BigDecimal normalizarValor(BigDecimal valor) {
+        return valor.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    // CPF com 11 dígitos (CNPJ e documentos zerados não identificam paciente)
+    private static String somenteDigitos(String documento) {
+        if (documento == null) return null;
+        String digitos = documento.replaceAll("\\D", "");
+        if (digitos.length() > 11 && digitos.startsWith("000")) {
+            digitos = digitos.substring(digitos.length() - 11);
+        }
+        return digitos.length() == 11 && !digitos.chars().allMatch(ch -> ch == '0') ? digitos : null;
+    }
+
+    // Maiúsculas, sem acentos e com um espaço entre as palavras
+    private static String normalizarNome(String nome) {
+        if (nome == null) return null;
+        String normalizado = Normalizer.normalize(nome, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toUpperCase()
+                .replaceAll("[^A-Z ]", " ")
+                .replaceAll("\\s+", " ")
+                .trim();
+        return normalizado.length() >= TAMANHO_MINIMO_NOME ? normalizado : null;
+    }
+}
@@ -0,0 +1,105 @@
+package com.physio.application.service;
+
+import com.physio.domain.model.HorarioDisponivel;
+import com.physio.domain.model.OcupacaoAgenda;
+import com.physio.domain.model.ServicoConfig;
+import com.physio.domain.ports.in.ConsultarDisponibilidadeUseCase;
+import com.physio.domain.ports.out.ServicoRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ConsultarDisponibilidadeService implements ConsultarDisponibilidadeUseCase {
+
+    private static final int LIMITE_MAXIMO = 500;
+
+    private final ServicoRepositoryPort servicoRepositoryPort;
+    private final PoliticaAgendamento politicaAgendamento;
+
+    @Value("${agenda.disponibilidade.intervalo-minutos:30}")
+    private int intervaloMinutos;
+
+    @Value("${agenda.disponibilidade.abertura:07:00}")
+    private String abertura;
+
+    @Value("${agenda.disponibilidade.fechamento:21:00}")
+    private String fechamento;
+
+    // Os candidatos e a ocupação do período inteiro são carregados antes do corte por 'limite'
+    @Value("${agenda.disponibilidade.janela-maxima-dias:62}")
+    private int janelaMaximaDias;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<HorarioDisponivel> consultarDisponibilidade(
+            Long servicoId,
+            LocalDateTime de,
+            LocalDateTime ate,
+            int quantidade,
+            int limite) {
+
+        if (de == null || ate == null || !de.isBefore(ate)) {
+            throw new IllegalArgumentException("Período inválido: 'de' deve ser anterior a 'ate'");
+        }
+        if (de.plusDays(janelaMaximaDias).isBefore(ate)) {
+            throw new IllegalArgumentException("O período consultado deve ter no máximo " + janelaMaximaDias + " dias");
+        }
+        if (quantidade < 1) {
+            throw new IllegalArgumentException("quantidade deve ser maior ou igual a 1");
+        }
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("limite deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+
+        ServicoConfig servico = servicoRepositoryPort.buscarPorIdEAtivo(servicoId)
+                .orElseThrow(() -> new jakarta.persistence.EntityNotFoundException("Serviço não encontrado ou inativo: " + servicoId));
+
+        List<LocalDateTime> candidatos = gerarCandidatos(servico, de, ate);
+
+        // Uma única carga de ocupação para todo o período; cada horário é avaliado em memória
+        OcupacaoAgenda ocupacao = politicaAgendamento.carregarOcupacao(candidatos, servico);
+
+        List<HorarioDisponivel> disponiveis = new ArrayList<>();
+        for (LocalDateTime inicio : candidatos) {
+            int vagas = politicaAgendamento.vagasDisponiveis(inicio, servico, ocupacao);
+            if (vagas >= quantidade) {
+                disponiveis.add(new HorarioDisponivel(inicio, politicaAgendamento.calcularDataHoraFim(servico, inicio), vagas));
+                if (disponiveis.size() == limite) break;
+            }
+        }
+
+        log.debug("Disponibilidade - Serviço: {}, {} candidato(s), {} disponível(is)", servicoId, candidatos.size(), disponiveis.size());
+        return disponiveis;
+    }
+
+    /**
+     * Horários de início dentro do expediente, a cada intervaloMinutos, cujo atendimento termina até o fechamento
+     */
+    private List<LocalDateTime> gerarCandidatos(ServicoConfig servico, LocalDateTime de, LocalDateTime ate) {
+        List<LocalDateTime> candidatos = new ArrayList<>();
+        LocalTime horaAbertura = LocalTime.parse(abertura);
+        LocalTime horaFechamento = LocalTime.parse(fechamento);
+        for (LocalDate dia = de.toLocalDate(); !dia.isAfter(ate.toLocalDate()); dia = dia.plusDays(1)) {
+            LocalDateTime fimExpediente = dia.atTime(horaFechamento);
+            for (LocalDateTime inicio = dia.atTime(horaAbertura);
+                 !politicaAgendamento.calcularDataHoraFim(servico, inicio).isAfter(fimExpediente);
+                 inicio = inicio.plusMinutes(intervaloMinutos)) {
+                if (!inicio.isBefore(de) && inicio.isBefore(ate)) {
+                    candidatos.add(inicio);
+                }
+            }
+        }
+        return candidatos;
+    }
+}
@@ -1,115 +1,173 @@
 package com.physio.application.service;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.physio.domain.event.AtendimentoAtualizadoEvent;
+import com.physio.domain.event.AtendimentoRemovidoEvent;
+import com.physio.domain.event.AtendimentosCriadosEvent;
+import com.physio.domain.event.CobrancasAlteradasEvent;
+import com.physio.domain.event.ResumoMensalReconstruidoEvent;
+import com.physio.domain.model.TotaisResumoMensal;
+import com.physio.domain.ports.out.ResumoMensalRepositoryPort;
 import com.physio.infrastructure.in.web.dto.DashboardStatsDTO;
-import com.physio.infrastructure.out.persistence.entity.AtendimentoEntity;
-import com.physio.infrastructure.out.persistence.entity.CobrancaMensalEntity;
-import com.physio.infrastructure.out.persistence.repository.AtendimentoJpaRepository;
+import com.physio.infrastructure.in.web.dto.PacienteInadimplenteDTO;
 import com.physio.infrastructure.out.persistence.repository.CobrancaMensalJpaRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
-import java.util.stream.Collectors;
 
+/**
+ * Estatísticas do dashboard.
+ *
+ * O resumo do mês fica em cache (Caffeine) por um TTL curto e é descartado após o commit de qualquer
+ * alteração em atendimentos ou cobranças. Com dashboard.cache.servir-desatualizado=true o valor vencido
+ * continua sendo servido enquanto é recarregado em segundo plano (também após as alterações), até a
+ * idade máxima; se a recarga falhar (banco lento ou fora), o valor anterior é mantido.
+ *
+ * Métricas: cache.gets (tag result=hit|miss), cache.evictions e cache.load com cache=dashboard.resumo,
+ * além de dashboard.cache.taxa.acertos e dashboard.cache.taxa.faltas (0 a 1, desde a subida).
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class DashboardService {
 
-    private final AtendimentoJpaRepository atendimentoJpaRepository;
+    private static final String NOME_CACHE = "dashboard.resumo";
+
+    private final ResumoMensalRepositoryPort resumoMensalRepositoryPort;
     private final CobrancaMensalJpaRepository cobrancaMensalJpaRepository;
+    private final boolean servirDesatualizado;
+    private final LoadingCache<YearMonth, DashboardStatsDTO> cacheResumo;
+
+    public DashboardService(ResumoMensalRepositoryPort resumoMensalRepositoryPort,
+                            CobrancaMensalJpaRepository cobrancaMensalJpaRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${dashboard.cache.ttl:PT30S}") Duration ttl,
+                            @Value("${dashboard.cache.servir-desatualizado:false}") boolean servirDesatualizado,
+                            @Value("${dashboard.cache.idade-maxima:PT5M}") Duration idadeMaxima) {
+        this.resumoMensalRepositoryPort = resumoMensalRepositoryPort;
+        this.cobrancaMensalJpaRepository = cobrancaMensalJpaRepository;
+        this.servirDesatualizado = servirDesatualizado;
+
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(12)
+                .recordStats();
+        if (servirDesatualizado) {
+            builder.refreshAfterWrite(ttl).expireAfterWrite(idadeMaxima);
+        } else {
+            builder.expireAfterWrite(ttl);
+        }
+        this.cacheResumo = builder.build(this::calcularResumoMensal);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cacheResumo, NOME_CACHE);
+        Gauge.builder("dashboard.cache.taxa.acertos", cacheResumo, c -> c.stats().hitRate())
+                .description("Fração das leituras do resumo do dashboard servidas pelo cache")
+                .register(meterRegistry);
+        Gauge.builder("dashboard.cache.taxa.faltas", cacheResumo, c -> c.stats().missRate())
+                .description("Fração das leituras do resumo do dashboard que consultaram o banco")
+                .register(meterRegistry);
+    }
 
     /**
-     * Gera as estatísticas do dashboard para o mês atual
+     * Gera as estatísticas do dashboard para o mês atual (servidas do cache quando disponíveis)
      * 
      * @return DashboardStatsDTO com total de atendimentos, faturamento da profissional e alertas de pendência
      */
     public DashboardStatsDTO obterResumoMensal() {
-        LocalDate hoje = LocalDate.now();
-        int mesAtual = hoje.getMonthValue();
-        int anoAtual = hoje.getYear();
-
-        log.info("Gerando resumo do dashboard para {}/{}", mesAtual, anoAtual);
+        return cacheResumo.get(YearMonth.now());
+    }
 
-        // Calcular início e fim do mês
-        LocalDateTime inicioMes = LocalDate.of(anoAtual, mesAtual, 1).atStartOfDay();
-        LocalDateTime fimMes = inicioMes.plusMonths(1);
+    private DashboardStatsDTO calcularResumoMensal(YearMonth mes) {
+        int mesAtual = mes.getMonthValue();
+        int anoAtual = mes.getYear();
 
-        // A. Total de Atendimentos Concluídos
-        Long totalAtendimentos = atendimentoJpaRepository.countConcluidosPorMes(inicioMes, fimMes);
-        log.debug("Total de atendimentos concluídos: {}", totalAtendimentos);
+        log.info("Gerando resumo do dashboard para {}/{}", mesAtual, anoAtual);
 
-        // B. Faturamento da Profissional
-        BigDecimal faturamentoProfissional = calcularFaturamentoProfissional(anoAtual, mesAtual, inicioMes, fimMes);
-        log.debug("Faturamento da profissional: R$ {}", faturamentoProfissional);
+        // A/B. Atendimentos concluídos e faturamento da profissional (avulsos + mensalidades pagas),
+        // lidos do resumo mensal mantido a cada escrita em atendimentos e cobranças
+        TotaisResumoMensal totais = resumoMensalRepositoryPort.buscarTotais(mes);
+        log.debug("Total de atendimentos concluídos: {}", totais.atendimentosConcluidos());
+        log.debug("Faturamento da profissional: R$ {}", totais.valorProfissional());
 
         // C. Alertas de Inadimplência
         List<String> alertasPendencia = obterPacientesInadimplentes(anoAtual, mesAtual);
         log.debug("Pacientes inadimplentes: {}", alertasPendencia.size());
 
         return DashboardStatsDTO.builder()
-                .totalAtendimentos(totalAtendimentos)
-                .faturamentoProfissional(faturamentoProfissional)
+                .totalAtendimentos(totais.atendimentosConcluidos())
+                .faturamentoProfissional(totais.valorProfissional())
                 .alertasPendencia(alertasPendencia)
                 .build();
     }
 
-    /**
-     * Calcula o faturamento líquido da profissional (valor que ela tem direito)
-     * Soma: Atendimentos Avulsos + Cobranças Mensais Pagas
-     */
-    private BigDecimal calcularFaturamentoProfissional(int ano, int mes, LocalDateTime inicioMes, LocalDateTime fimMes) {
-        BigDecimal total = BigDecimal.ZERO;
-
-        // 1. Atendimentos Avulsos (Status CONCLUIDO e Valor > 0)
-        List<AtendimentoEntity> atendimentosAvulsos = atendimentoJpaRepository
-                .findAvulsosConcluidosPorMes(inicioMes, fimMes);
-
-        for (AtendimentoEntity atendimento : atendimentosAvulsos) {
-            BigDecimal valorProfissional = atendimento.getValorCobrado()
-                    .multiply(atendimento.getPctProfissionalSnapshot())
-                    .divide(new BigDecimal(100), 2, RoundingMode.HALF_UP);
-            total = total.add(valorProfissional);
-        }
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoCriarAtendimentos(AtendimentosCriadosEvent event) {
+        descartarCache();
+    }
 
-        log.debug("Faturamento de atendimentos avulsos: R$ {}", total);
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAtualizarAtendimento(AtendimentoAtualizadoEvent event) {
+        descartarCache();
+    }
 
-        // 2. Cobranças Mensais Pagas
-        List<CobrancaMensalEntity> cobrancasPagas = cobrancaMensalJpaRepository
-                .findPagasPorMes(ano, mes);
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoRemoverAtendimento(AtendimentoRemovidoEvent event) {
+        descartarCache();
+    }
 
-        BigDecimal totalMensalidades = BigDecimal.ZERO;
-        for (CobrancaMensalEntity cobranca : cobrancasPagas) {
-            BigDecimal valorProfissional = cobranca.getValor()
-                    .multiply(cobranca.getPctProfissionalSnapshot())
-                    .divide(new BigDecimal(100), 2, RoundingMode.HALF_UP);
-            totalMensalidades = totalMensalidades.add(valorProfissional);
-        }
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarCobrancas(CobrancasAlteradasEvent event) {
+        descartarCache();
+    }
 
-        log.debug("Faturamento de mensalidades: R$ {}", totalMensalidades);
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoReconstruirResumo(ResumoMensalReconstruidoEvent event) {
+        descartarCache();
+    }
 
-        total = total.add(totalMensalidades);
-        return total;
+    // Servindo desatualizado: recarrega em segundo plano mantendo o valor atual; senão, a próxima leitura consulta o banco
+    private void descartarCache() {
+        if (servirDesatualizado) {
+            cacheResumo.refreshAll(cacheResumo.asMap().keySet());
+        } else {
+            cacheResumo.invalidateAll();
+        }
     }
 
     /**
      * Busca pacientes inadimplentes (cobranças pendentes vencidas)
-     * Retorna lista com nomes dos pacientes
+     * Retorna lista com nomes dos pacientes, distintos e ordenados pelo próprio banco
      */
     private List<String> obterPacientesInadimplentes(int anoAtual, int mesAtual) {
-        List<CobrancaMensalEntity> cobrancasPendentes = cobrancaMensalJpaRepository
-                .findPendentesVencidas(anoAtual, mesAtual);
-
-        return cobrancasPendentes.stream()
-                .map(c -> c.getAssinatura().getPaciente().getNome())
-                .distinct() // Remove duplicatas (mesmo paciente pode ter múltiplas pendências)
-                .sorted()
-                .collect(Collectors.toList());
+        return cobrancaMensalJpaRepository
+                .findNomesPacientesInadimplentes(CobrancaMensalJpaRepository.competencia(anoAtual, mesAtual));
     }
-}
 
+    /**
+     * Pacientes inadimplentes no mês atual com meses em aberto e total devido, maiores dívidas primeiro
+     */
+    public List<PacienteInadimplenteDTO> listarPacientesInadimplentes() {
+        LocalDate hoje = LocalDate.now();
+        return cobrancaMensalJpaRepository
+                .findPacientesInadimplentes(CobrancaMensalJpaRepository.competencia(hoje.getYear(), hoje.getMonthValue()))
+                .stream()
+                .map(p -> PacienteInadimplenteDTO.builder()
+                        .pacienteId(p.getPacienteId())
+                        .nome(p.getNome())
+                        .mesesEmAberto(p.getMesesEmAberto())
+                        .totalDevido(p.getTotalDevido())
+                        .mesMaisAntigo(p.getCompetenciaMaisAntiga() % 100)
+                        .anoMaisAntigo(p.getCompetenciaMaisAntiga() / 100)
+                        .build())
+                .toList();
+    }
+}
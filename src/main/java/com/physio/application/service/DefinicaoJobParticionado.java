@@ -0,0 +1,26 @@
+package com.physio.application.service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Job em lote executado pelo ExecutorJobParticionado: itens identificados por id numérico,
+ * lidos em ordem (keyset) e processados em chunks, cada chunk na sua própria transação.
+ * processar deve ser idempotente: após uma interrupção o último chunk pode ser reprocessado.
+ */
+public interface DefinicaoJobParticionado {
+
+    // Identificação da execução (ex.: GERAR_COBRANCAS / 2026-10); a mesma chave retoma a execução anterior
+    String nome();
+    String chave();
+
+    // Faixa de ids a dividir em partições no início da execução
+    Optional<Long> menorId();
+    Optional<Long> maiorId();
+
+    // Próximos ids da faixa (aposId, ateId], em ordem crescente
+    List<Long> proximosIds(long aposId, long ateId, int limite);
+
+    // Processa um chunk (chamado dentro de transação); retorna a quantidade de registros gerados
+    int processar(List<Long> ids);
+}
@@ -1,10 +1,14 @@
 package com.physio.application.service;
 
+import com.physio.domain.event.AtendimentoRemovidoEvent;
 import com.physio.domain.ports.in.DeletarAtendimentoUseCase;
 import com.physio.domain.ports.out.AtendimentoRepositoryPort;
+import com.physio.domain.ports.out.SerieRecorrenteRepositoryPort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -12,11 +16,28 @@ import org.springframework.stereotype.Service;
 public class DeletarAtendimentoService implements DeletarAtendimentoUseCase {
 
     private final AtendimentoRepositoryPort atendimentoRepositoryPort;
+    private final PoliticaAgendamento politicaAgendamento;
+    private final SerieRecorrenteRepositoryPort serieRecorrenteRepositoryPort;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional
     public void deletar(Long id) {
         log.info("Deletando atendimento - ID: {}", id);
+        var existente = atendimentoRepositoryPort.buscarPorIdParaAtualizacao(id);
+        if (existente == null) return;
+
         atendimentoRepositoryPort.deletar(id);
+        // Devolve a vaga do horário em agenda_slots
+        politicaAgendamento.liberarVaga(existente.getServicoBase(), existente.getDataHoraInicio());
+
+        // Sessão de série recorrente: fica registrada como cancelada na série
+        if (existente.getSerieId() != null) {
+            serieRecorrenteRepositoryPort.buscarPorId(Long.valueOf(existente.getSerieId())).ifPresent(serie -> {
+                serie.registrarCancelamento(existente.getDataHoraInicio());
+                serieRecorrenteRepositoryPort.salvar(serie);
+            });
+        }
+        eventPublisher.publishEvent(new AtendimentoRemovidoEvent(existente));
     }
 }
-
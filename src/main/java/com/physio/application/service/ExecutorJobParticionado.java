@@ -0,0 +1,265 @@
+package com.physio.application.service;
+
+import com.physio.domain.model.ExecucaoJob;
+import com.physio.domain.model.ParticaoJob;
+import com.physio.domain.model.StatusJob;
+import com.physio.domain.ports.out.ExecucaoJobRepositoryPort;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Motor simples de jobs em lote com checkpoint.
+ *
+ * A faixa de ids é dividida em partições (a última fica aberta para ids criados durante a execução),
+ * processadas em paralelo em um pool limitado. Cada chunk é gravado na sua própria transação junto
+ * com o checkpoint da partição (job_execucao_particao.ultimo_id), então uma execução interrompida ou
+ * com falha continua de onde parou ao ser executada de novo com a mesma chave.
+ * Um chunk que falha é refeito item a item: os itens com problema ficam registrados na partição
+ * (ids_com_falha, junto com o checkpoint) e a partição termina como FALHOU; a próxima execução refaz
+ * esses ids antes de seguir do checkpoint e só conclui a partição quando nenhum falhar.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExecutorJobParticionado {
+
+    private final ExecucaoJobRepositoryPort execucaoJobRepositoryPort;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${job.lote.threads:4}")
+    private int threads;
+
+    @Value("${job.lote.particoes:4}")
+    private int numeroParticoes;
+
+    @Value("${job.lote.tamanho-chunk:500}")
+    private int tamanhoChunk;
+
+    private ThreadPoolTaskExecutor executor;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void iniciar() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(numeroParticoes);
+        executor.setThreadNamePrefix("job-lote-");
+        // Pool cheio (jobs simultâneos): a própria thread chamadora processa a partição
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdown();
+    }
+
+    /**
+     * Executa (ou retoma) o job; bloqueia até todas as partições terminarem
+     */
+    public ExecucaoJob executar(DefinicaoJobParticionado definicao) {
+        ExecucaoJob execucao = execucaoJobRepositoryPort.buscarPorNomeEChave(definicao.nome(), definicao.chave())
+                .orElseGet(() -> criar(definicao));
+
+        if (execucao.getStatus() == StatusJob.CONCLUIDO) {
+            log.info("Job {} [{}] já concluído em {} - nada a fazer", definicao.nome(), definicao.chave(), execucao.getConcluidoEm());
+            return execucao;
+        }
+
+        execucao.setStatus(StatusJob.EM_EXECUCAO);
+        execucao.setAtualizadoEm(LocalDateTime.now());
+        execucao.setErro(null);
+        execucao = execucaoJobRepositoryPort.salvar(execucao);
+
+        List<ParticaoJob> pendentes = execucao.getParticoes().stream()
+                .filter(p -> p.getStatus() != StatusJob.CONCLUIDO)
+                .toList();
+        log.info("Job {} [{}] - processando {} de {} partição(ões)",
+                definicao.nome(), definicao.chave(), pendentes.size(), execucao.getParticoes().size());
+
+        List<CompletableFuture<ParticaoJob>> futuros = pendentes.stream()
+                .map(p -> CompletableFuture.supplyAsync(() -> processarParticao(definicao, p), executor))
+                .toList();
+        List<ParticaoJob> processadas = futuros.stream().map(CompletableFuture::join).toList();
+
+        List<ParticaoJob> particoes = new ArrayList<>(execucao.getParticoes().stream()
+                .filter(p -> p.getStatus() == StatusJob.CONCLUIDO)
+                .toList());
+        particoes.addAll(processadas);
+        return finalizar(execucao, particoes);
+    }
+
+    private ExecucaoJob criar(DefinicaoJobParticionado definicao) {
+        Optional<Long> menor = definicao.menorId();
+        Optional<Long> maior = definicao.maiorId();
+
+        List<ParticaoJob> particoes = new ArrayList<>();
+        if (menor.isPresent() && maior.isPresent()) {
+            long inicio = menor.get();
+            long fim = maior.get();
+            long tamanho = Math.max(1, (fim - inicio + 1 + numeroParticoes - 1) / numeroParticoes);
+
+            for (int numero = 0; inicio + numero * tamanho <= fim; numero++) {
+                long inicioParticao = inicio + numero * tamanho;
+                boolean ultima = inicioParticao + tamanho > fim;
+                particoes.add(ParticaoJob.builder()
+                        .numero(numero)
+                        .inicioId(Math.toIntExact(inicioParticao))
+                        .fimId(ultima ? Integer.MAX_VALUE : Math.toIntExact(inicioParticao + tamanho - 1))
+                        .status(StatusJob.PENDENTE)
+                        .processados(0)
+                        .falhas(0)
+                        .build());
+            }
+        }
+
+        return ExecucaoJob.builder()
+                .nome(definicao.nome())
+                .chave(definicao.chave())
+                .status(StatusJob.PENDENTE)
+                .iniciadoEm(LocalDateTime.now())
+                .processados(0)
+                .falhas(0)
+                .particoes(particoes)
+                .build();
+    }
+
+    private ParticaoJob processarParticao(DefinicaoJobParticionado definicao, ParticaoJob particao) {
+        ParticaoJob atual = particao.toBuilder().status(StatusJob.EM_EXECUCAO).erro(null).build();
+        try {
+            if (!atual.getIdsComFalha().isEmpty()) {
+                atual = reprocessarFalhas(definicao, atual);
+            }
+            while (true) {
+                List<Long> ids = definicao.proximosIds(atual.retomarApos(), atual.getFimId(), tamanhoChunk);
+                if (ids.isEmpty()) break;
+                atual = processarChunk(definicao, atual, ids);
+            }
+            // Com ids pendentes a partição fica FALHOU: a execução não conclui e a próxima os refaz
+            boolean semFalhas = atual.getIdsComFalha().isEmpty();
+            atual = execucaoJobRepositoryPort.salvarParticao(atual.toBuilder()
+                    .status(semFalhas ? StatusJob.CONCLUIDO : StatusJob.FALHOU)
+                    .atualizadoEm(LocalDateTime.now())
+                    .build());
+            log.debug("Job {} [{}] - partição {} {}: {} processado(s), {} falha(s)", definicao.nome(), definicao.chave(),
+                    atual.getNumero(), semFalhas ? "concluída" : "com falhas", atual.getProcessados(), atual.getFalhas());
+            return atual;
+
+        } catch (Exception e) {
+            // Falha fora de um chunk (ex.: banco indisponível): a partição retoma do checkpoint na próxima execução
+            log.error("Job {} [{}] - erro na partição {} após o id {}",
+                    definicao.nome(), definicao.chave(), atual.getNumero(), atual.getUltimoId(), e);
+            ParticaoJob falha = atual.toBuilder().status(StatusJob.FALHOU).erro(e.getMessage()).atualizadoEm(LocalDateTime.now()).build();
+            try {
+                return execucaoJobRepositoryPort.salvarParticao(falha);
+            } catch (Exception erroAoGravar) {
+                log.error("Não foi possível registrar a falha da partição {}", atual.getNumero(), erroAoGravar);
+                return falha;
+            }
+        }
+    }
+
+    /**
+     * Grava o chunk e o checkpoint na mesma transação; se o chunk falhar, refaz item a item
+     */
+    private ParticaoJob processarChunk(DefinicaoJobParticionado definicao, ParticaoJob particao, List<Long> ids) {
+        ParticaoJob checkpoint = particao.toBuilder()
+                .ultimoId(Math.toIntExact(ids.get(ids.size() - 1)))
+                .processados(particao.getProcessados() + ids.size())
+                .atualizadoEm(LocalDateTime.now())
+                .build();
+        try {
+            return transactionTemplate.execute(status -> {
+                int gerados = definicao.processar(ids);
+                log.debug("Job {} [{}] - partição {}: chunk até o id {} ({} registro(s) gerado(s))",
+                        definicao.nome(), definicao.chave(), particao.getNumero(), checkpoint.getUltimoId(), gerados);
+                return execucaoJobRepositoryPort.salvarParticao(checkpoint);
+            });
+        } catch (Exception e) {
+            log.warn("Job {} [{}] - chunk até o id {} falhou ({}); processando item a item",
+                    definicao.nome(), definicao.chave(), checkpoint.getUltimoId(), e.getMessage());
+        }
+
+        List<Integer> falhas = new ArrayList<>();
+        String erro = processarItemAItem(definicao, ids, falhas, particao.getErro());
+        List<Integer> idsComFalha = new ArrayList<>(particao.getIdsComFalha());
+        idsComFalha.addAll(falhas);
+        return transactionTemplate.execute(status -> execucaoJobRepositoryPort.salvarParticao(checkpoint.toBuilder()
+                .processados(checkpoint.getProcessados() - falhas.size())
+                .falhas(idsComFalha.size())
+                .idsComFalha(idsComFalha)
+                .erro(erro)
+                .build()));
+    }
+
+    /**
+     * Refaz, item a item, os ids que falharam em execuções anteriores (estão atrás do checkpoint)
+     */
+    private ParticaoJob reprocessarFalhas(DefinicaoJobParticionado definicao, ParticaoJob particao) {
+        List<Long> ids = particao.getIdsComFalha().stream().map(Integer::longValue).toList();
+        log.info("Job {} [{}] - partição {}: refazendo {} id(s) com falha",
+                definicao.nome(), definicao.chave(), particao.getNumero(), ids.size());
+
+        List<Integer> falhas = new ArrayList<>();
+        String erro = processarItemAItem(definicao, ids, falhas, null);
+        return transactionTemplate.execute(status -> execucaoJobRepositoryPort.salvarParticao(particao.toBuilder()
+                .processados(particao.getProcessados() + ids.size() - falhas.size())
+                .falhas(falhas.size())
+                .idsComFalha(falhas)
+                .erro(erro)
+                .atualizadoEm(LocalDateTime.now())
+                .build()));
+    }
+
+    // Cada id na sua própria transação; os que falham vão para 'falhas'. Retorna o último erro (ou o informado)
+    private String processarItemAItem(DefinicaoJobParticionado definicao, List<Long> ids, List<Integer> falhas, String erroAnterior) {
+        String ultimoErro = erroAnterior;
+        for (Long id : ids) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> definicao.processar(List.of(id)));
+            } catch (Exception e) {
+                falhas.add(Math.toIntExact(id));
+                ultimoErro = "Id " + id + ": " + e.getMessage();
+                log.warn("Job {} [{}] - falha no id {}: {}", definicao.nome(), definicao.chave(), id, e.getMessage());
+            }
+        }
+        return ultimoErro;
+    }
+
+    private ExecucaoJob finalizar(ExecucaoJob execucao, List<ParticaoJob> particoes) {
+        boolean concluida = particoes.stream().allMatch(p -> p.getStatus() == StatusJob.CONCLUIDO);
+        LocalDateTime agora = LocalDateTime.now();
+
+        execucao.setParticoes(particoes);
+        execucao.setProcessados(particoes.stream().mapToInt(ParticaoJob::getProcessados).sum());
+        execucao.setFalhas(particoes.stream().mapToInt(ParticaoJob::getFalhas).sum());
+        execucao.setStatus(concluida ? StatusJob.CONCLUIDO : StatusJob.FALHOU);
+        execucao.setAtualizadoEm(agora);
+        execucao.setConcluidoEm(concluida ? agora : null);
+        execucao.setErro(particoes.stream().map(ParticaoJob::getErro).filter(Objects::nonNull).findFirst().orElse(null));
+
+        ExecucaoJob salva = execucaoJobRepositoryPort.salvar(execucao);
+        log.info("Job {} [{}] {} - {} processado(s), {} falha(s)", salva.getNome(), salva.getChave(),
+                concluida ? "concluído" : "interrompido", salva.getProcessados(), salva.getFalhas());
+        return salva;
+    }
+}
@@ -0,0 +1,95 @@
+package com.physio.application.service;
+
+import com.physio.domain.model.EventoAgenda;
+import com.physio.domain.model.VersaoAgenda;
+import com.physio.domain.ports.in.ExportarAgendaUseCase;
+import com.physio.domain.ports.out.AtendimentoRepositoryPort;
+import com.physio.domain.ports.out.ServicoRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.function.Consumer;
+
+/**
+ * Exportação da agenda de um serviço para o feed iCalendar.
+ * A janela vai de agenda.ics.dias-passados antes de hoje até agenda.ics.dias-futuros depois,
+ * sempre a partir da meia-noite, para que a versão só mude quando a agenda mudar (ou o dia virar).
+ * Aplicativos de calendário não enviam Authorization: para eles o feed é servido por uma URL com
+ * um token secreto por serviço, gerado sob demanda (sem token, só o acesso autenticado).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportarAgendaService implements ExportarAgendaUseCase {
+
+    private static final int BYTES_TOKEN = 32;
+    private static final SecureRandom ALEATORIO = new SecureRandom();
+
+    private final AtendimentoRepositoryPort atendimentoRepositoryPort;
+    private final ServicoRepositoryPort servicoRepositoryPort;
+
+    @Value("${agenda.ics.dias-passados:30}")
+    private int diasPassados;
+
+    @Value("${agenda.ics.dias-futuros:180}")
+    private int diasFuturos;
+
+    @Override
+    @Transactional(readOnly = true)
+    public VersaoAgenda versaoDaAgenda(Long servicoId) {
+        buscarServico(servicoId);
+
+        LocalDate hoje = LocalDate.now();
+        LocalDateTime inicio = hoje.minusDays(diasPassados).atStartOfDay();
+        LocalDateTime fim = hoje.plusDays(diasFuturos + 1L).atStartOfDay();
+        return atendimentoRepositoryPort.versaoDaAgenda(servicoId, inicio, fim);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportarAgenda(VersaoAgenda versao, Consumer<EventoAgenda> consumidor) {
+        log.debug("Exportando agenda do serviço {} entre {} e {} ({} atendimento(s))",
+                versao.servicoId(), versao.inicio(), versao.fim(), versao.quantidade());
+        atendimentoRepositoryPort.percorrerAgenda(versao.servicoId(), versao.inicio(), versao.fim(), consumidor);
+    }
+
+    @Override
+    @Transactional
+    public String gerarTokenAgenda(Long servicoId) {
+        buscarServico(servicoId);
+        byte[] bytes = new byte[BYTES_TOKEN];
+        ALEATORIO.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        servicoRepositoryPort.definirTokenAgendaIcs(servicoId, token);
+        log.info("Token do feed iCalendar gerado para o serviço {}", servicoId);
+        return token;
+    }
+
+    @Override
+    @Transactional
+    public void revogarTokenAgenda(Long servicoId) {
+        buscarServico(servicoId);
+        servicoRepositoryPort.definirTokenAgendaIcs(servicoId, null);
+        log.info("Feed iCalendar público desligado para o serviço {}", servicoId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void validarTokenAgenda(Long servicoId, String token) {
+        if (!servicoRepositoryPort.tokenAgendaIcsValido(servicoId, token)) {
+            throw new jakarta.persistence.EntityNotFoundException("Serviço não encontrado: " + servicoId);
+        }
+    }
+
+    private void buscarServico(Long servicoId) {
+        servicoRepositoryPort.buscarPorId(servicoId)
+                .orElseThrow(() -> new jakarta.persistence.EntityNotFoundException("Serviço não encontrado: " + servicoId));
+    }
+}
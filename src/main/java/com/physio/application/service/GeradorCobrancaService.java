@@ -1,78 +1,98 @@
 package com.physio.application.service;
 
-import com.physio.domain.model.Assinatura;
-import com.physio.domain.model.CobrancaMensal;
-import com.physio.domain.model.StatusCobranca;
+import com.physio.domain.event.CobrancasAlteradasEvent;
+import com.physio.domain.model.ExecucaoJob;
+import com.physio.domain.model.SituacaoCobranca;
+import com.physio.domain.model.StatusJob;
 import com.physio.domain.ports.in.GerarCobrancasUseCase;
-import com.physio.domain.ports.out.AssinaturaRepositoryPort;
 import com.physio.domain.ports.out.CobrancaMensalRepositoryPort;
+import com.physio.domain.ports.out.ExecucaoJobRepositoryPort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class GeradorCobrancaService implements GerarCobrancasUseCase {
 
-    private final AssinaturaRepositoryPort assinaturaRepositoryPort;
+    // Registro da última geração diária concluída (concluido_em = data de referência da execução)
+    private static final String JOB_DIARIO = "GERAR_COBRANCAS_DIARIA";
+    private static final String CHAVE_ULTIMA_EXECUCAO = "ULTIMA_EXECUCAO";
+
     private final CobrancaMensalRepositoryPort cobrancaMensalRepositoryPort;
+    private final ExecucaoJobRepositoryPort execucaoJobRepositoryPort;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
     public int gerarCobrancasDoMes(int mes, int ano) {
+        if (mes < 1 || mes > 12) {
+            throw new IllegalArgumentException("Mês inválido: " + mes);
+        }
         log.info("Iniciando geração de cobranças para mês: {}/{}", mes, ano);
 
-        // Buscar todas as assinaturas ativas
-        List<Assinatura> assinaturasAtivas = assinaturaRepositoryPort.listarAtivas();
-        log.info("Encontradas {} assinaturas ativas", assinaturasAtivas.size());
-
-        int cobrancasGeradas = 0;
-
-        for (Assinatura assinatura : assinaturasAtivas) {
-            // Verificar se já existe cobrança para este mês/ano
-            boolean jaExiste = cobrancaMensalRepositoryPort
-                    .buscarPorAssinaturaMesAno(
-                            Long.valueOf(assinatura.getId()),
-                            mes,
-                            ano
-                    )
-                    .isPresent();
-
-            if (jaExiste) {
-                log.debug("Cobrança já existe para assinatura ID: {} - mês: {}/{}", 
-                        assinatura.getId(), mes, ano);
-                continue;
-            }
-
-            // Criar nova cobrança mensal
-            CobrancaMensal novaCobranca = CobrancaMensal.builder()
-                    .assinatura(assinatura)
-                    .mesReferencia(mes)
-                    .anoReferencia(ano)
-                    .valor(assinatura.getValorMensal())
-                    .status(StatusCobranca.PENDENTE)
-                    .build();
+        // Um único INSERT ... SELECT para todas as assinaturas ativas (valor e snapshot dos percentuais
+        // copiados no banco); cobranças já existentes para o mês são ignoradas pela restrição única
+        List<SituacaoCobranca> geradas = cobrancaMensalRepositoryPort.gerarCobrancasDasAssinaturasAtivas(mes, ano);
 
-            // Criar snapshot financeiro dos percentuais
-            novaCobranca.criarSnapshotFinanceiro(assinatura.getServico());
+        log.info("Geração de cobranças concluída. Total gerado: {}", geradas.size());
+        if (!geradas.isEmpty()) {
+            eventPublisher.publishEvent(CobrancasAlteradasEvent.geradas(geradas));
+        }
+        return geradas.size();
+    }
 
-            // Salvar cobrança
-            cobrancaMensalRepositoryPort.salvar(novaCobranca);
-            cobrancasGeradas++;
+    /**
+     * Começa no mês da última geração diária concluída (job_execucao GERAR_COBRANCAS_DIARIA / ULTIMA_EXECUCAO):
+     * se a aplicação ficou parada durante a virada do mês, os vencimentos restantes do mês anterior
+     * também são gerados. A data da execução é gravada na mesma transação das cobranças.
+     */
+    @Override
+    @Transactional
+    public int gerarCobrancasAVencer(LocalDate data, int diasAntecedencia) {
+        LocalDate vencimentoLimite = data.plusDays(diasAntecedencia);
+        Optional<ExecucaoJob> ultimaExecucao = execucaoJobRepositoryPort.buscarPorNomeEChave(JOB_DIARIO, CHAVE_ULTIMA_EXECUCAO);
+        YearMonth primeiroMes = ultimaExecucao
+                .map(e -> YearMonth.from(e.getConcluidoEm()))
+                .filter(mes -> mes.isBefore(YearMonth.from(data)))
+                .orElse(YearMonth.from(data));
+        List<SituacaoCobranca> cobrancasGeradas = new ArrayList<>();
 
-            log.info("Cobrança gerada - Assinatura ID: {}, Valor: R$ {}, Mês: {}/{}",
-                    assinatura.getId(),
-                    novaCobranca.getValor(),
-                    mes,
-                    ano);
+        // Normalmente um único mês; dois quando a antecedência atravessa a virada do mês, mais os meses
+        // que ficaram para trás desde a última execução
+        for (YearMonth mes = primeiroMes; !mes.isAfter(YearMonth.from(vencimentoLimite)); mes = mes.plusMonths(1)) {
+            int diaLimite = mes.equals(YearMonth.from(vencimentoLimite)) ? vencimentoLimite.getDayOfMonth() : mes.lengthOfMonth();
+            List<SituacaoCobranca> geradas = cobrancaMensalRepositoryPort.gerarCobrancasComVencimentoAte(mes.getMonthValue(), mes.getYear(), diaLimite);
+            log.info("Cobranças de {}/{} com vencimento até o dia {}: {} gerada(s)", mes.getMonthValue(), mes.getYear(), diaLimite, geradas.size());
+            cobrancasGeradas.addAll(geradas);
+        }
+        if (!cobrancasGeradas.isEmpty()) {
+            eventPublisher.publishEvent(CobrancasAlteradasEvent.geradas(cobrancasGeradas));
         }
 
-        log.info("Geração de cobranças concluída. Total gerado: {}", cobrancasGeradas);
-        return cobrancasGeradas;
+        LocalDateTime agora = LocalDateTime.now();
+        ExecucaoJob execucao = ultimaExecucao.orElseGet(() -> ExecucaoJob.builder()
+                .nome(JOB_DIARIO)
+                .chave(CHAVE_ULTIMA_EXECUCAO)
+                .iniciadoEm(agora)
+                .processados(0)
+                .falhas(0)
+                .build());
+        execucao.setStatus(StatusJob.CONCLUIDO);
+        execucao.setAtualizadoEm(agora);
+        execucao.setConcluidoEm(data.atStartOfDay());
+        execucao.setProcessados(cobrancasGeradas.size());
+        execucaoJobRepositoryPort.salvar(execucao);
+        return cobrancasGeradas.size();
     }
 }
-
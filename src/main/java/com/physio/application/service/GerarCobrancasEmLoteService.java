@@ -0,0 +1,86 @@
+package com.physio.application.service;
+
+import com.physio.domain.event.CobrancasAlteradasEvent;
+import com.physio.domain.model.ExecucaoJob;
+import com.physio.domain.model.SituacaoCobranca;
+import com.physio.domain.ports.in.GerarCobrancasEmLoteUseCase;
+import com.physio.domain.ports.out.AssinaturaRepositoryPort;
+import com.physio.domain.ports.out.CobrancaMensalRepositoryPort;
+import com.physio.domain.ports.out.ExecucaoJobRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Geração mensal de cobranças como job em lote: assinaturas ativas particionadas por id,
+ * chunks gravados com INSERT ... SELECT (ON CONFLICT DO NOTHING) e checkpoint em job_execucao
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GerarCobrancasEmLoteService implements GerarCobrancasEmLoteUseCase {
+
+    static final String NOME_JOB = "GERAR_COBRANCAS";
+
+    private final ExecutorJobParticionado executorJobParticionado;
+    private final ExecucaoJobRepositoryPort execucaoJobRepositoryPort;
+    private final AssinaturaRepositoryPort assinaturaRepositoryPort;
+    private final CobrancaMensalRepositoryPort cobrancaMensalRepositoryPort;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public ExecucaoJob gerarCobrancasDoMesEmLote(int mes, int ano) {
+        if (mes < 1 || mes > 12) {
+            throw new IllegalArgumentException("Mês inválido: " + mes);
+        }
+        return executorJobParticionado.executar(new DefinicaoJobParticionado() {
+            @Override
+            public String nome() {
+                return NOME_JOB;
+            }
+
+            @Override
+            public String chave() {
+                return chaveDoMes(mes, ano);
+            }
+
+            @Override
+            public Optional<Long> menorId() {
+                return assinaturaRepositoryPort.menorIdAtivo();
+            }
+
+            @Override
+            public Optional<Long> maiorId() {
+                return assinaturaRepositoryPort.maiorIdAtivo();
+            }
+
+            @Override
+            public List<Long> proximosIds(long aposId, long ateId, int limite) {
+                return assinaturaRepositoryPort.listarIdsAtivos(aposId, ateId, limite);
+            }
+
+            @Override
+            public int processar(List<Long> ids) {
+                // Publicado dentro da transação do chunk: o resumo mensal é gravado junto com ele
+                List<SituacaoCobranca> geradas = cobrancaMensalRepositoryPort.gerarCobrancasDasAssinaturas(ids, mes, ano);
+                if (!geradas.isEmpty()) {
+                    eventPublisher.publishEvent(CobrancasAlteradasEvent.geradas(geradas));
+                }
+                return geradas.size();
+            }
+        });
+    }
+
+    @Override
+    public Optional<ExecucaoJob> buscarExecucao(int mes, int ano) {
+        return execucaoJobRepositoryPort.buscarPorNomeEChave(NOME_JOB, chaveDoMes(mes, ano));
+    }
+
+    private static String chaveDoMes(int mes, int ano) {
+        return String.format("%04d-%02d", ano, mes);
+    }
+}
@@ -0,0 +1,172 @@
+package com.physio.application.service;
+
+import com.physio.domain.event.AtendimentoAtualizadoEvent;
+import com.physio.domain.event.AtendimentoRemovidoEvent;
+import com.physio.domain.event.AtendimentosCriadosEvent;
+import com.physio.domain.model.Atendimento;
+import com.physio.domain.model.IntervaloAgenda;
+import com.physio.domain.model.OcupacaoAgenda;
+import com.physio.domain.ports.out.AtendimentoRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Índice em memória da ocupação da agenda, por dia, para os próximos N dias.
+ *
+ * Evita a consulta de conflitos ao banco em cada agendamento: é carregado na subida
+ * da aplicação, reconstruído diariamente e mantido em dia pelos eventos de atendimento
+ * (aplicados após o commit). A autoridade final continua sendo o banco: a reserva em
+ * agenda_slots no momento do commit recusa horários que já ficaram cheios.
+ *
+ * Desabilitado por padrão: com mais de uma instância da aplicação, cada uma só enxerga os
+ * próprios eventos até a próxima reconstrução. Habilite (agenda.indice-ocupacao.habilitado=true)
+ * apenas em implantações com uma única instância.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndiceOcupacaoAgenda {
+
+    private final AtendimentoRepositoryPort atendimentoRepositoryPort;
+
+    @Value("${agenda.indice-ocupacao.habilitado:false}")
+    private boolean habilitado;
+
+    @Value("${agenda.indice-ocupacao.horizonte-dias:90}")
+    private int horizonteDias;
+
+    // Índice publicado por inteiro (dias e janela juntos) em uma única referência: leituras não precisam de lock
+    // e nunca enxergam uma reconstrução ou alteração pela metade. Escritas são serializadas (synchronized)
+    // e trocam a referência por uma cópia alterada (copy-on-write).
+    private volatile Indice indice;
+
+    // Listas imutáveis por dia de início; janela coberta: [inicio, fim)
+    private record Indice(Map<LocalDate, List<IntervaloAgenda>> porDia, LocalDateTime inicio, LocalDateTime fim) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void aquecer() {
+        reconstruir();
+    }
+
+    /**
+     * Reconstrói o índice a partir do banco, deslocando a janela para o dia atual
+     */
+    @Scheduled(cron = "${agenda.indice-ocupacao.cron:0 15 0 * * *}")
+    public synchronized void reconstruir() {
+        if (!habilitado) return;
+
+        LocalDateTime inicio = LocalDate.now().atStartOfDay();
+        LocalDateTime fim = inicio.plusDays(horizonteDias);
+
+        try {
+            List<IntervaloAgenda> intervalos = atendimentoRepositoryPort.listarOcupacaoPorPeriodo(inicio, fim);
+
+            Map<LocalDate, List<IntervaloAgenda>> novo = new HashMap<>();
+            for (IntervaloAgenda intervalo : intervalos) {
+                if (intervalo.inicio() == null) continue;
+                novo.computeIfAbsent(intervalo.inicio().toLocalDate(), d -> new ArrayList<>()).add(intervalo);
+            }
+            novo.replaceAll((dia, lista) -> List.copyOf(lista));
+
+            indice = new Indice(Map.copyOf(novo), inicio, fim);
+            log.info("Índice de ocupação carregado - {} atendimento(s) entre {} e {}", intervalos.size(), inicio, fim);
+        } catch (Exception e) {
+            // Sem índice as consultas voltam a ir ao banco
+            indice = null;
+            log.error("Erro ao carregar o índice de ocupação da agenda", e);
+        }
+    }
+
+    /**
+     * Ocupação da janela [inicio, fim) a partir do índice, ou vazio quando a janela não está coberta
+     */
+    public Optional<OcupacaoAgenda> ocupacao(LocalDateTime inicio, LocalDateTime fim) {
+        Indice atual = indice;
+        if (atual == null || inicio.isBefore(atual.inicio()) || fim.isAfter(atual.fim())) {
+            return Optional.empty();
+        }
+
+        // Inclui o dia anterior por causa de atendimentos que atravessam a meia-noite
+        List<IntervaloAgenda> sobrepostos = new ArrayList<>();
+        for (LocalDate dia = inicio.toLocalDate().minusDays(1); !dia.isAfter(fim.toLocalDate()); dia = dia.plusDays(1)) {
+            for (IntervaloAgenda intervalo : atual.porDia().getOrDefault(dia, List.of())) {
+                if (intervalo.fim() != null && intervalo.inicio().isBefore(fim) && intervalo.fim().isAfter(inicio)) {
+                    sobrepostos.add(intervalo);
+                }
+            }
+        }
+        return Optional.of(new OcupacaoAgenda(sobrepostos));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void aoCriar(AtendimentosCriadosEvent event) {
+        alterar(porDia -> event.atendimentos().forEach(a -> incluir(a, porDia)));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void aoAtualizar(AtendimentoAtualizadoEvent event) {
+        alterar(porDia -> {
+            remover(event.anterior(), porDia);
+            incluir(event.atual(), porDia);
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void aoRemover(AtendimentoRemovidoEvent event) {
+        alterar(porDia -> remover(event.atendimento(), porDia));
+    }
+
+    // Aplica a alteração em uma cópia dos dias e publica o índice novo de uma vez (chamado sob o lock)
+    private void alterar(Consumer<Map<LocalDate, List<IntervaloAgenda>>> alteracao) {
+        Indice atual = indice;
+        if (atual == null) return;
+        Map<LocalDate, List<IntervaloAgenda>> porDia = new HashMap<>(atual.porDia());
+        alteracao.accept(porDia);
+        indice = new Indice(Map.copyOf(porDia), atual.inicio(), atual.fim());
+    }
+
+    private static void incluir(Atendimento atendimento, Map<LocalDate, List<IntervaloAgenda>> porDia) {
+        if (atendimento.getDataHoraInicio() == null) return;
+        // Remove antes de incluir: o evento pode chegar depois de uma reconstrução que já o enxergou
+        remover(atendimento, porDia);
+
+        IntervaloAgenda intervalo = new IntervaloAgenda(
+                atendimento.getId(),
+                atendimento.getDataHoraInicio(),
+                atendimento.getDataHoraFim(),
+                atendimento.getServicoBase() != null ? atendimento.getServicoBase().getTipo() : null);
+        porDia.compute(atendimento.getDataHoraInicio().toLocalDate(), (dia, atual) -> {
+            List<IntervaloAgenda> lista = atual == null ? new ArrayList<>() : new ArrayList<>(atual);
+            lista.add(intervalo);
+            return List.copyOf(lista);
+        });
+    }
+
+    private static void remover(Atendimento atendimento, Map<LocalDate, List<IntervaloAgenda>> porDia) {
+        if (atendimento.getDataHoraInicio() == null || atendimento.getId() == null) return;
+
+        porDia.computeIfPresent(atendimento.getDataHoraInicio().toLocalDate(), (dia, atual) -> {
+            List<IntervaloAgenda> lista = atual.stream()
+                    .filter(i -> !atendimento.getId().equals(i.atendimentoId()))
+                    .toList();
+            return lista.isEmpty() ? null : lista;
+        });
+    }
+}
@@ -0,0 +1,117 @@
+package com.physio.application.service;
+
+import com.physio.domain.event.AtendimentosCriadosEvent;
+import com.physio.domain.model.Atendimento;
+import com.physio.domain.model.ConflitoAgenda;
+import com.physio.domain.model.ExcecaoSerie;
+import com.physio.domain.model.OcupacaoAgenda;
+import com.physio.domain.model.ResultadoOperacaoSerie;
+import com.physio.domain.model.SerieRecorrente;
+import com.physio.domain.model.ServicoConfig;
+import com.physio.domain.model.TipoExcecaoSerie;
+import com.physio.domain.ports.out.AssinaturaRepositoryPort;
+import com.physio.domain.ports.out.AtendimentoRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Gera os atendimentos de uma série recorrente entre materializadoAte e a data informada,
+ * com a mesma validação de capacidade, reserva de vagas e gravação em lote do agendamento.
+ * Roda na transação de quem chama e não grava a série: apenas avança materializadoAte no objeto.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MaterializadorSerie {
+
+    private final AtendimentoRepositoryPort atendimentoRepositoryPort;
+    private final AssinaturaRepositoryPort assinaturaRepositoryPort;
+    private final PoliticaAgendamento politicaAgendamento;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ResultadoOperacaoSerie materializar(SerieRecorrente serie, LocalDate ate) {
+        return materializar(serie, ate, Set.of());
+    }
+
+    /**
+     * @param desconsiderar atendimentos que não contam na ocupação (removidos/movidos na mesma transação)
+     */
+    public ResultadoOperacaoSerie materializar(SerieRecorrente serie, LocalDate ate, Set<Integer> desconsiderar) {
+        LocalDate inicio = serie.getMaterializadoAte().plusDays(1);
+        LocalDate fim = serie.getDataFim() != null && serie.getDataFim().isBefore(ate) ? serie.getDataFim() : ate;
+        if (fim.isBefore(inicio)) return new ResultadoOperacaoSerie(serie.getId(), 0, List.of());
+
+        ServicoConfig servico = serie.getServico();
+        List<LocalDateTime> horarios = horariosDaJanela(serie, inicio, fim);
+        List<ConflitoAgenda> conflitos = new ArrayList<>();
+
+        OcupacaoAgenda ocupacao = politicaAgendamento.carregarOcupacao(horarios, servico, desconsiderar);
+        List<LocalDateTime> validos = new ArrayList<>();
+        for (LocalDateTime horario : horarios) {
+            try {
+                politicaAgendamento.validarQuantidadePacientes(horario, servico, 1, ocupacao);
+                politicaAgendamento.registrarOcupacao(horario, servico, 1, ocupacao);
+                validos.add(horario);
+            } catch (IllegalArgumentException e) {
+                // Mesmo comportamento do agendamento recorrente: a data em conflito é pulada
+                log.warn("Série {}: data {} não materializada - {}", serie.getId(), horario.toLocalDate(), e.getMessage());
+                conflitos.add(new ConflitoAgenda(null, horario, e.getMessage()));
+            }
+        }
+
+        Set<LocalDateTime> reservados = validos.isEmpty()
+                ? Set.of()
+                : politicaAgendamento.reservarVagas(servico, validos, 1);
+
+        boolean temAssinaturaAtiva = assinaturaRepositoryPort
+                .buscarAtivaPorPacienteEServico(Long.valueOf(serie.getPaciente().getId()), Long.valueOf(servico.getId()))
+                .isPresent();
+
+        List<Atendimento> atendimentos = new ArrayList<>();
+        for (LocalDateTime horario : validos) {
+            if (!reservados.contains(horario)) {
+                log.warn("Série {}: data {} não materializada - horário sem vagas no momento da reserva", serie.getId(), horario.toLocalDate());
+                conflitos.add(new ConflitoAgenda(null, horario, "Horário sem vagas no momento da reserva"));
+                continue;
+            }
+            Atendimento atendimento = politicaAgendamento.montarAtendimento(serie.getPaciente(), servico, horario, temAssinaturaAtiva);
+            atendimento.setSerieId(serie.getId());
+            atendimentos.add(atendimento);
+        }
+
+        List<Atendimento> salvos = atendimentos.isEmpty() ? List.of() : atendimentoRepositoryPort.salvarTodos(atendimentos);
+        serie.setMaterializadoAte(fim);
+
+        if (!salvos.isEmpty()) {
+            eventPublisher.publishEvent(new AtendimentosCriadosEvent(salvos));
+        }
+        log.debug("Série {} materializada até {} - {} atendimento(s)", serie.getId(), fim, salvos.size());
+        return new ResultadoOperacaoSerie(serie.getId(), salvos.size(), conflitos);
+    }
+
+    /**
+     * Datas da regra entre inicio e fim, com as exceções aplicadas (canceladas saem, remarcadas mudam de horário)
+     */
+    private List<LocalDateTime> horariosDaJanela(SerieRecorrente serie, LocalDate inicio, LocalDate fim) {
+        List<LocalDateTime> horarios = new ArrayList<>();
+        for (LocalDateTime horario : politicaAgendamento.gerarHorarios(inicio.atTime(serie.getHorario()), fim, serie.getDiasSemana())) {
+            Optional<ExcecaoSerie> excecao = serie.excecaoDaData(horario.toLocalDate());
+            if (excecao.isEmpty()) {
+                horarios.add(horario);
+            } else if (excecao.get().getTipo() == TipoExcecaoSerie.REMARCADA) {
+                horarios.add(excecao.get().getNovaDataHora());
+            }
+        }
+        horarios.sort(null);
+        return horarios;
+    }
+}
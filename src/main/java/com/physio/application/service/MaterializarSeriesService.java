@@ -0,0 +1,70 @@
+package com.physio.application.service;
+
+import com.physio.domain.model.ResultadoOperacaoSerie;
+import com.physio.domain.model.SerieRecorrente;
+import com.physio.domain.ports.in.MaterializarSeriesUseCase;
+import com.physio.domain.ports.out.SerieRecorrenteRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Materializa, em lotes, os atendimentos das séries recorrentes dentro do horizonte.
+ * Cada série é processada na sua própria transação: uma falha não desfaz as demais,
+ * e a série com erro é tentada de novo na próxima execução (materializado_ate não avança).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MaterializarSeriesService implements MaterializarSeriesUseCase {
+
+    private final SerieRecorrenteRepositoryPort serieRecorrenteRepositoryPort;
+    private final MaterializadorSerie materializadorSerie;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${agenda.serie.tamanho-lote:100}")
+    private int tamanhoLote;
+
+    @Override
+    public int materializarAte(LocalDate ate) {
+        log.info("Iniciando materialização das séries recorrentes até {}", ate);
+
+        int criados = 0;
+        int series = 0;
+        Long ultimoId = 0L;
+
+        while (true) {
+            List<Long> ids = serieRecorrenteRepositoryPort.listarIdsPendentesDeMaterializacao(ate, ultimoId, tamanhoLote);
+            if (ids.isEmpty()) break;
+
+            for (Long serieId : ids) {
+                try {
+                    Integer gerados = transactionTemplate.execute(status -> materializarSerie(serieId, ate));
+                    criados += gerados != null ? gerados : 0;
+                    series++;
+                } catch (Exception e) {
+                    log.error("Erro ao materializar série {}: {}", serieId, e.getMessage(), e);
+                }
+            }
+            ultimoId = ids.get(ids.size() - 1);
+        }
+
+        log.info("Materialização concluída - {} série(s) processada(s), {} atendimento(s) criado(s)", series, criados);
+        return criados;
+    }
+
+    private int materializarSerie(Long serieId, LocalDate ate) {
+        // Bloqueia a série: operações em massa sobre ela aguardam o fim desta transação
+        SerieRecorrente serie = serieRecorrenteRepositoryPort.buscarPorIdParaAtualizacao(serieId).orElse(null);
+        if (serie == null || !Boolean.TRUE.equals(serie.getAtiva())) return 0;
+
+        ResultadoOperacaoSerie resultado = materializadorSerie.materializar(serie, ate);
+        serieRecorrenteRepositoryPort.salvar(serie);
+        return resultado.afetados();
+    }
+}
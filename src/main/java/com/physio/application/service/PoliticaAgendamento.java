@@ -0,0 +1,360 @@
+package com.physio.application.service;
+
+import com.physio.domain.model.Atendimento;
+import com.physio.domain.model.IntervaloAgenda;
+import com.physio.domain.model.OcupacaoAgenda;
+import com.physio.domain.model.Paciente;
+import com.physio.domain.model.SerieRecorrente;
+import com.physio.domain.model.ServicoConfig;
+import com.physio.domain.model.TipoServico;
+import com.physio.domain.ports.out.AgendaSlotRepositoryPort;
+import com.physio.domain.ports.out.AtendimentoRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Regras de agendamento compartilhadas pelos casos de uso de agenda:
+ * duração do atendimento, expansão da recorrência, capacidade por horário
+ * e snapshot financeiro.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PoliticaAgendamento {
+
+    static final int LIMITE_PILATES = 15;
+    static final int LIMITE_FISIOTERAPIA = 1;
+
+    private final AtendimentoRepositoryPort atendimentoRepositoryPort;
+    private final AgendaSlotRepositoryPort agendaSlotRepositoryPort;
+    private final IndiceOcupacaoAgenda indiceOcupacaoAgenda;
+
+    // Até quantas semanas à frente as séries recorrentes têm atendimentos concretos
+    @Value("${agenda.serie.horizonte-semanas:8}")
+    private int horizonteSemanas;
+
+    public LocalDateTime calcularDataHoraFim(ServicoConfig servico, LocalDateTime dataHora) {
+        // Define duração
+        return servico.getNome().equals("Avaliação")
+                ? dataHora.plusMinutes(90)
+                : dataHora.plusMinutes(60);
+    }
+
+    /**
+     * Gera os horários a agendar: apenas dataHora quando não há recorrência,
+     * ou um horário por data da recorrência (mesmo horário da data inicial), em ordem crescente
+     */
+    public List<LocalDateTime> gerarHorarios(LocalDateTime dataHora, LocalDate dataFimRecorrencia, List<Integer> diasSemana) {
+        if (dataFimRecorrencia == null) {
+            return List.of(dataHora);
+        }
+
+        if (dataFimRecorrencia.isBefore(dataHora.toLocalDate())) {
+            throw new IllegalArgumentException("dataFimRecorrência deve ser posterior ou igual à data de início");
+        }
+
+        // Determinar dias da semana para repetir
+        Set<DayOfWeek> diasParaRepetir = determinarDiasSemana(dataHora, diasSemana);
+
+        // Gerar lista de datas para agendamento
+        List<LocalDate> datas = gerarDatasRecorrencia(dataHora.toLocalDate(), dataFimRecorrencia, diasParaRepetir);
+
+        return datas.stream()
+                .map(data -> data.atTime(dataHora.toLocalTime()))
+                .toList();
+    }
+
+    /**
+     * Dias da semana (1=Segunda ... 7=Domingo) efetivamente usados pela recorrência, em ordem
+     */
+    public List<Integer> diasSemanaDaRecorrencia(LocalDateTime dataHora, List<Integer> diasSemana) {
+        return determinarDiasSemana(dataHora, diasSemana).stream()
+                .map(DayOfWeek::getValue)
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Data limite gerada hoje pelo job de materialização das séries
+     */
+    public LocalDate horizonteMaterializacao() {
+        return LocalDate.now().plusWeeks(horizonteSemanas);
+    }
+
+    /**
+     * Até onde materializar uma nova série no momento do agendamento: o horizonte a partir
+     * do início da série (ou de hoje), sem passar da data final da recorrência
+     */
+    public LocalDate limiteMaterializacao(LocalDate dataInicio, LocalDate dataFimRecorrencia) {
+        LocalDate base = dataInicio.isAfter(LocalDate.now()) ? dataInicio : LocalDate.now();
+        LocalDate horizonte = base.plusWeeks(horizonteSemanas);
+        return dataFimRecorrencia.isBefore(horizonte) ? dataFimRecorrencia : horizonte;
+    }
+
+    /**
+     * Monta a série (ainda não persistida) que guarda a regra da recorrência
+     */
+    public SerieRecorrente montarSerie(
+            Paciente paciente,
+            ServicoConfig servico,
+            LocalDateTime dataHora,
+            LocalDate dataFimRecorrencia,
+            List<Integer> diasSemana,
+            LocalDate materializadoAte) {
+        return SerieRecorrente.builder()
+                .paciente(paciente)
+                .servico(servico)
+                .diasSemana(diasSemanaDaRecorrencia(dataHora, diasSemana))
+                .horario(dataHora.toLocalTime())
+                .dataInicio(dataHora.toLocalDate())
+                .dataFim(dataFimRecorrencia)
+                .materializadoAte(materializadoAte)
+                .ativa(true)
+                .dataCriacao(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Carrega de uma vez todos os atendimentos que se sobrepõem à janela dos horários
+     * (do primeiro horário até o fim do último). Usa o índice em memória quando a janela
+     * está coberta por ele; caso contrário consulta o banco
+     */
+    public OcupacaoAgenda carregarOcupacao(List<LocalDateTime> horarios, ServicoConfig servico) {
+        if (horarios.isEmpty()) {
+            return new OcupacaoAgenda(List.of());
+        }
+        LocalDateTime inicioJanela = horarios.get(0);
+        LocalDateTime fimJanela = calcularDataHoraFim(servico, horarios.get(horarios.size() - 1));
+        return indiceOcupacaoAgenda.ocupacao(inicioJanela, fimJanela)
+                .orElseGet(() -> new OcupacaoAgenda(atendimentoRepositoryPort.listarOcupacaoPorPeriodo(inicioJanela, fimJanela)));
+    }
+
+    /**
+     * Igual a carregarOcupacao, sem contar os atendimentos informados: usado quando eles são
+     * removidos ou movidos na mesma transação (o índice em memória só é atualizado após o commit)
+     */
+    public OcupacaoAgenda carregarOcupacao(List<LocalDateTime> horarios, ServicoConfig servico, Set<Integer> desconsiderar) {
+        OcupacaoAgenda ocupacao = carregarOcupacao(horarios, servico);
+        if (desconsiderar.isEmpty()) return ocupacao;
+        return new OcupacaoAgenda(ocupacao.intervalos().stream()
+                .filter(i -> !desconsiderar.contains(i.atendimentoId()))
+                .toList());
+    }
+
+    /**
+     * Registra em memória a ocupação de um horário já validado, para que os próximos
+     * horários da mesma requisição enxerguem o mesmo que o banco enxergaria
+     */
+    public void registrarOcupacao(
+            LocalDateTime dataHora,
+            ServicoConfig servico,
+            int quantidade,
+            OcupacaoAgenda ocupacao) {
+
+        LocalDateTime dataHoraFim = calcularDataHoraFim(servico, dataHora);
+        for (int i = 0; i < quantidade; i++) {
+            ocupacao.adicionar(new IntervaloAgenda(null, dataHora, dataHoraFim, servico.getTipo()));
+        }
+    }
+
+    /**
+     * Reserva no banco (agenda_slots) as vagas dos horários já validados em memória, em todas as células
+     * que cada atendimento ocupa do início ao fim. É o que impede que duas requisições concorrentes
+     * ultrapassem o limite ou misturem tipos em horários que se sobrepõem.
+     *
+     * @return horários efetivamente reservados
+     */
+    public Set<LocalDateTime> reservarVagas(ServicoConfig servico, Collection<LocalDateTime> horarios, int quantidade) {
+        return agendaSlotRepositoryPort.reservar(servico.getTipo(), intervalos(servico, horarios), quantidade, limitePorHorario(servico.getTipo()));
+    }
+
+    /**
+     * Reserva as vagas de um único horário, falhando se outra requisição ocupou o horário
+     * entre a validação em memória e a reserva
+     */
+    public void reservarVagasDoHorario(ServicoConfig servico, LocalDateTime horario, int quantidade) {
+        if (reservarVagas(servico, List.of(horario), quantidade).isEmpty()) {
+            log.warn("Reserva recusada para {} no horário {} - quantidade={}", servico.getTipo(), horario, quantidade);
+            throw new IllegalArgumentException("Horário " + horario + " sem vagas disponíveis para " + servico.getTipo());
+        }
+    }
+
+    public void liberarVaga(ServicoConfig servico, LocalDateTime horario) {
+        liberarVagas(servico, List.of(horario));
+    }
+
+    // Devolve as mesmas células reservadas por reservarVagas (duração calculada pelo serviço)
+    public void liberarVagas(ServicoConfig servico, Collection<LocalDateTime> horarios) {
+        agendaSlotRepositoryPort.liberar(intervalos(servico, horarios), 1);
+    }
+
+    private List<IntervaloAgenda> intervalos(ServicoConfig servico, Collection<LocalDateTime> horarios) {
+        return horarios.stream()
+                .map(h -> new IntervaloAgenda(null, h, calcularDataHoraFim(servico, h), servico.getTipo()))
+                .toList();
+    }
+
+    public int limitePorHorario(TipoServico tipo) {
+        return tipo == TipoServico.PILATES ? LIMITE_PILATES : LIMITE_FISIOTERAPIA;
+    }
+
+    public void validarQuantidadePacientes(
+            LocalDateTime dataHora,
+            ServicoConfig servico,
+            int countPacientes,
+            OcupacaoAgenda ocupacao) {
+
+        LocalDateTime dataHoraFim = calcularDataHoraFim(servico, dataHora);
+
+        List<IntervaloAgenda> conflitos = ocupacao.sobrepostos(dataHora, dataHoraFim);
+
+        // Regra: não pode misturar tipos de serviço no mesmo horário
+        boolean possuiTipoDiferente = conflitos.stream()
+                .anyMatch(a -> a.tipo() != servico.getTipo());
+
+        if (possuiTipoDiferente) {
+            throw new IllegalArgumentException(
+                    "Tipo de serviço diferente de outros agendamentos no mesmo horário."
+            );
+        }
+
+        int totalNoHorario = conflitos.size() + countPacientes;
+
+        if (servico.getTipo() == TipoServico.PILATES) {
+
+            if (totalNoHorario > LIMITE_PILATES) {
+                log.warn(
+                        "Capacidade máxima de {} pacientes atingida para PILATES no horário {} - total={}",
+                        LIMITE_PILATES, dataHora, totalNoHorario
+                );
+                throw new IllegalArgumentException(
+                        "Capacidade máxima para PILATES neste horário atingida (5 pacientes)"
+                );
+            }
+
+        } else if (servico.getTipo() == TipoServico.FISIOTERAPIA && totalNoHorario > LIMITE_FISIOTERAPIA) {
+
+            log.warn(
+                    "Conflito para FISIOTERAPIA no horário {} - total={}",
+                    dataHora, totalNoHorario
+            );
+            throw new IllegalArgumentException(
+                    "Já existe um agendamento neste horário!"
+            );
+
+        }
+    }
+
+    /**
+     * Quantas vagas o horário ainda comporta para o serviço, pelas mesmas regras de
+     * validarQuantidadePacientes, sem lançar exceção (0 quando há outro tipo de serviço no horário)
+     */
+    public int vagasDisponiveis(LocalDateTime dataHora, ServicoConfig servico, OcupacaoAgenda ocupacao) {
+        List<IntervaloAgenda> conflitos = ocupacao.sobrepostos(dataHora, calcularDataHoraFim(servico, dataHora));
+
+        if (conflitos.stream().anyMatch(a -> a.tipo() != servico.getTipo())) {
+            return 0;
+        }
+        return Math.max(limitePorHorario(servico.getTipo()) - conflitos.size(), 0);
+    }
+
+    /**
+     * Monta um atendimento (ainda não persistido) com o snapshot financeiro
+     * conforme o paciente tenha ou não assinatura ativa para o serviço
+     */
+    public Atendimento montarAtendimento(
+            Paciente paciente,
+            ServicoConfig servico,
+            LocalDateTime dataHora,
+            boolean temAssinaturaAtiva) {
+        log.debug("Montando agendamento - Data/Hora: {}", dataHora);
+
+        // Criar novo Atendimento (Domain Model)
+        Atendimento atendimento = Atendimento.builder()
+                .paciente(paciente)
+                .servicoBase(servico)
+                .dataHoraInicio(dataHora)
+                .dataHoraFim(calcularDataHoraFim(servico, dataHora))
+                .status("AGENDADO")
+                .build();
+
+        if (temAssinaturaAtiva) {
+            // Se tem assinatura ativa, o atendimento não deve ser cobrado (valor = 0)
+            // A cobrança será feita via mensalidade
+            atendimento.setValorCobrado(BigDecimal.ZERO);
+            atendimento.setPctClinicaSnapshot(BigDecimal.ZERO);
+            atendimento.setPctProfissionalSnapshot(BigDecimal.ZERO);
+
+            log.debug("Paciente possui assinatura ativa para este serviço. Atendimento será gratuito (cobrança via mensalidade)");
+        } else {
+            // REGRA DE NEGÓCIO CRÍTICA: Criar snapshot financeiro
+            // Copia os valores do serviço para o atendimento, garantindo histórico financeiro
+            atendimento.criarSnapshotFinanceiro(servico);
+
+            log.debug("Snapshot financeiro criado - Valor: {}, % Clínica: {}, % Profissional: {}",
+                    atendimento.getValorCobrado(),
+                    atendimento.getPctClinicaSnapshot(),
+                    atendimento.getPctProfissionalSnapshot());
+        }
+        return atendimento;
+    }
+
+    /**
+     * Determina os dias da semana para repetir
+     * Se diasSemana for null ou vazio, usa o dia da semana da dataHoraInicio
+     */
+    private Set<DayOfWeek> determinarDiasSemana(LocalDateTime dataHoraInicio, List<Integer> diasSemana) {
+        Set<DayOfWeek> dias = new HashSet<>();
+
+        if (diasSemana == null || diasSemana.isEmpty()) {
+            // Se não especificado, usa o dia da semana da data inicial
+            dias.add(dataHoraInicio.getDayOfWeek());
+            log.debug("Nenhum dia da semana especificado. Usando: {}", dataHoraInicio.getDayOfWeek());
+        } else {
+            // Converte os inteiros para DayOfWeek
+            for (Integer diaInt : diasSemana) {
+                if (diaInt < 1 || diaInt > 7) {
+                    throw new IllegalArgumentException("Dia da semana inválido: " + diaInt + ". Deve estar entre 1 (Segunda) e 7 (Domingo)");
+                }
+                // DayOfWeek: MONDAY=1, TUESDAY=2, ..., SUNDAY=7
+                dias.add(DayOfWeek.of(diaInt));
+            }
+            log.debug("Dias da semana especificados: {}", dias);
+        }
+
+        return dias;
+    }
+
+    /**
+     * Gera lista de datas para agendamento baseado nos dias da semana
+     */
+    private List<LocalDate> gerarDatasRecorrencia(
+            LocalDate dataInicio,
+            LocalDate dataFim,
+            Set<DayOfWeek> diasSemana) {
+
+        List<LocalDate> datas = new ArrayList<>();
+        LocalDate dataAtual = dataInicio;
+
+        while (!dataAtual.isAfter(dataFim)) {
+            if (diasSemana.contains(dataAtual.getDayOfWeek())) {
+                datas.add(dataAtual);
+            }
+            dataAtual = dataAtual.plusDays(1);
+        }
+
+        return datas;
+    }
+}
@@ -0,0 +1,229 @@
+package com.physio.application.service;
+
+import com.physio.domain.event.AtendimentoAtualizadoEvent;
+import com.physio.domain.event.AtendimentoRemovidoEvent;
+import com.physio.domain.model.Atendimento;
+import com.physio.domain.model.ConflitoAgenda;
+import com.physio.domain.model.ExcecaoSerie;
+import com.physio.domain.model.IntervaloAgenda;
+import com.physio.domain.model.OcupacaoAgenda;
+import com.physio.domain.model.ResultadoOperacaoSerie;
+import com.physio.domain.model.SerieRecorrente;
+import com.physio.domain.model.ServicoConfig;
+import com.physio.domain.ports.in.ReagendarSerieUseCase;
+import com.physio.domain.ports.out.AtendimentoRepositoryPort;
+import com.physio.domain.ports.out.SerieRecorrenteRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Muda a regra de uma série a partir de uma data, tratando todas as sessões de uma vez:
+ * - só o horário: um UPDATE para as sessões que couberem no novo horário (as demais ficam como estão e voltam como conflito);
+ * - dias da semana: um DELETE das sessões a partir da data e nova materialização com a regra nova;
+ * - data ainda não materializada: a série é dividida, e a nova série segue com a regra nova.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReagendarSerieService implements ReagendarSerieUseCase {
+
+    private final SerieRecorrenteRepositoryPort serieRecorrenteRepositoryPort;
+    private final AtendimentoRepositoryPort atendimentoRepositoryPort;
+    private final PoliticaAgendamento politicaAgendamento;
+    private final MaterializadorSerie materializadorSerie;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    public ResultadoOperacaoSerie reagendarAPartirDe(
+            Long serieId,
+            LocalDate aPartirDe,
+            LocalTime novoHorario,
+            List<Integer> novosDiasSemana) {
+
+        if (aPartirDe == null) {
+            throw new IllegalArgumentException("Informe a data a partir da qual a série será reagendada");
+        }
+        log.info("Reagendando série {} a partir de {} - Horário: {}, Dias: {}", serieId, aPartirDe, novoHorario, novosDiasSemana);
+
+        SerieRecorrente serie = serieRecorrenteRepositoryPort.buscarPorIdParaAtualizacao(serieId)
+                .orElseThrow(() -> new jakarta.persistence.EntityNotFoundException("Série recorrente não encontrada: " + serieId));
+        if (!Boolean.TRUE.equals(serie.getAtiva())) {
+            throw new IllegalArgumentException("Série recorrente " + serieId + " não está ativa");
+        }
+
+        LocalTime horario = novoHorario != null ? novoHorario : serie.getHorario();
+        List<Integer> dias = novosDiasSemana != null && !novosDiasSemana.isEmpty()
+                ? politicaAgendamento.diasSemanaDaRecorrencia(aPartirDe.atTime(horario), novosDiasSemana)
+                : serie.getDiasSemana();
+
+        boolean mudaHorario = !horario.equals(serie.getHorario());
+        boolean mudaDias = !dias.equals(serie.getDiasSemana());
+        if (!mudaHorario && !mudaDias) {
+            throw new IllegalArgumentException("Nenhuma alteração informada para a série " + serieId);
+        }
+
+        // Datas antes de aPartirDe ainda não geradas seguem a regra antiga: a série é dividida
+        if (aPartirDe.isAfter(serie.getMaterializadoAte().plusDays(1))) {
+            return dividirSerie(serie, aPartirDe, horario, dias, mudaDias);
+        }
+
+        return mudaDias
+                ? regerarSessoes(serie, aPartirDe, horario, dias)
+                : moverHorario(serie, aPartirDe, horario);
+    }
+
+    /**
+     * Só o horário muda: as sessões que seguem a regra recebem o novo horário em um único UPDATE.
+     * Sessões remarcadas individualmente não são tocadas.
+     */
+    private ResultadoOperacaoSerie moverHorario(SerieRecorrente serie, LocalDate aPartirDe, LocalTime novoHorario) {
+        ServicoConfig servico = serie.getServico();
+        List<IntervaloAgenda> sessoes = atendimentoRepositoryPort
+                .listarSessoesAgendadasDaSerie(Long.valueOf(serie.getId()), aPartirDe.atStartOfDay()).stream()
+                .filter(s -> s.inicio().toLocalTime().equals(serie.getHorario()))
+                .toList();
+
+        Map<LocalDateTime, IntervaloAgenda> sessaoPorNovoHorario = sessoes.stream()
+                .collect(Collectors.toMap(s -> s.inicio().toLocalDate().atTime(novoHorario), Function.identity()));
+        List<LocalDateTime> novosHorarios = sessaoPorNovoHorario.keySet().stream().sorted().toList();
+
+        // As próprias sessões saem do horário antigo: não contam na ocupação
+        Set<Integer> movidas = sessoes.stream().map(IntervaloAgenda::atendimentoId).collect(Collectors.toSet());
+        OcupacaoAgenda ocupacao = politicaAgendamento.carregarOcupacao(novosHorarios, servico, movidas);
+
+        List<ConflitoAgenda> conflitos = new ArrayList<>();
+        List<LocalDateTime> validos = new ArrayList<>();
+        for (LocalDateTime horario : novosHorarios) {
+            try {
+                politicaAgendamento.validarQuantidadePacientes(horario, servico, 1, ocupacao);
+                politicaAgendamento.registrarOcupacao(horario, servico, 1, ocupacao);
+                validos.add(horario);
+            } catch (IllegalArgumentException e) {
+                conflitos.add(new ConflitoAgenda(sessaoPorNovoHorario.get(horario).atendimentoId(), horario, e.getMessage()));
+            }
+        }
+
+        // Devolve antes as vagas do horário antigo: o novo pode dividir células com ele (ex.: 14:00 -> 14:30)
+        politicaAgendamento.liberarVagas(servico, validos.stream().map(h -> sessaoPorNovoHorario.get(h).inicio()).toList());
+        Set<LocalDateTime> reservados = politicaAgendamento.reservarVagas(servico, validos, 1);
+        List<IntervaloAgenda> aMover = new ArrayList<>();
+        List<LocalDateTime> mantidas = new ArrayList<>();
+        for (LocalDateTime horario : validos) {
+            IntervaloAgenda sessao = sessaoPorNovoHorario.get(horario);
+            if (reservados.contains(horario)) {
+                aMover.add(sessao);
+            } else {
+                mantidas.add(sessao.inicio());
+                conflitos.add(new ConflitoAgenda(sessao.atendimentoId(), horario, "Horário sem vagas no momento da reserva"));
+            }
+        }
+        // Sessões que não couberam continuam no horário antigo, cujas células seguem bloqueadas por esta transação
+        politicaAgendamento.reservarVagas(servico, mantidas, 1);
+
+        atendimentoRepositoryPort.alterarHorario(aMover.stream().map(IntervaloAgenda::atendimentoId).toList(), novoHorario);
+
+        serie.setHorario(novoHorario);
+        serieRecorrenteRepositoryPort.salvar(serie);
+
+        aMover.forEach(s -> {
+            LocalDateTime novoInicio = s.inicio().toLocalDate().atTime(novoHorario);
+            LocalDateTime novoFim = s.fim() != null ? novoInicio.plus(Duration.between(s.inicio(), s.fim())) : null;
+            eventPublisher.publishEvent(new AtendimentoAtualizadoEvent(
+                    sessaoDaSerie(serie, s.atendimentoId(), s.inicio(), s.fim()),
+                    sessaoDaSerie(serie, s.atendimentoId(), novoInicio, novoFim)));
+        });
+
+        log.info("Série {}: {} sessão(ões) movida(s) para {}, {} conflito(s)", serie.getId(), aMover.size(), novoHorario, conflitos.size());
+        return new ResultadoOperacaoSerie(serie.getId(), aMover.size(), conflitos);
+    }
+
+    /**
+     * Dias da semana mudam: remove as sessões a partir da data (um DELETE) e gera de novo,
+     * com a regra nova, até onde a série já estava materializada
+     */
+    private ResultadoOperacaoSerie regerarSessoes(SerieRecorrente serie, LocalDate aPartirDe, LocalTime horario, List<Integer> dias) {
+        List<IntervaloAgenda> sessoes = atendimentoRepositoryPort
+                .listarSessoesAgendadasDaSerie(Long.valueOf(serie.getId()), aPartirDe.atStartOfDay());
+        List<Integer> removidas = sessoes.stream().map(IntervaloAgenda::atendimentoId).toList();
+
+        atendimentoRepositoryPort.deletarTodos(removidas);
+        politicaAgendamento.liberarVagas(serie.getServico(), sessoes.stream().map(IntervaloAgenda::inicio).toList());
+
+        LocalDate materializadoAte = serie.getMaterializadoAte();
+        serie.setHorario(horario);
+        serie.setDiasSemana(dias);
+        serie.removerExcecoesAPartirDe(aPartirDe);
+        serie.setMaterializadoAte(aPartirDe.minusDays(1));
+
+        ResultadoOperacaoSerie gerados = materializadorSerie.materializar(serie, materializadoAte, Set.copyOf(removidas));
+        serieRecorrenteRepositoryPort.salvar(serie);
+
+        sessoes.forEach(s -> eventPublisher.publishEvent(
+                new AtendimentoRemovidoEvent(sessaoDaSerie(serie, s.atendimentoId(), s.inicio(), s.fim()))));
+
+        log.info("Série {}: {} sessão(ões) removida(s), {} gerada(s) com a nova regra, {} conflito(s)",
+                serie.getId(), sessoes.size(), gerados.afetados(), gerados.conflitos().size());
+        return gerados;
+    }
+
+    /**
+     * A data ainda não foi materializada: encerra a série na véspera e cria uma nova a partir dela
+     */
+    private ResultadoOperacaoSerie dividirSerie(SerieRecorrente serie, LocalDate aPartirDe, LocalTime horario, List<Integer> dias, boolean mudaDias) {
+        List<ExcecaoSerie> excecoesFuturas = serie.removerExcecoesAPartirDe(aPartirDe);
+
+        SerieRecorrente nova = SerieRecorrente.builder()
+                .paciente(serie.getPaciente())
+                .servico(serie.getServico())
+                .diasSemana(dias)
+                .horario(horario)
+                .dataInicio(aPartirDe)
+                .dataFim(serie.getDataFim())
+                .materializadoAte(aPartirDe.minusDays(1))
+                .ativa(true)
+                .dataCriacao(LocalDateTime.now())
+                .build();
+
+        // Com os mesmos dias, cancelamentos e remarcações já registrados continuam valendo
+        if (!mudaDias) {
+            excecoesFuturas.forEach(e -> nova.getExcecoes().add(ExcecaoSerie.builder()
+                    .dataOriginal(e.getDataOriginal())
+                    .tipo(e.getTipo())
+                    .novaDataHora(e.getNovaDataHora())
+                    .build()));
+        }
+
+        serie.setDataFim(aPartirDe.minusDays(1));
+        serieRecorrenteRepositoryPort.salvar(serie);
+        SerieRecorrente salva = serieRecorrenteRepositoryPort.salvar(nova);
+
+        log.info("Série {} dividida em {}: nova regra a partir de {}", serie.getId(), salva.getId(), aPartirDe);
+        return new ResultadoOperacaoSerie(salva.getId(), 0, List.of());
+    }
+
+    private Atendimento sessaoDaSerie(SerieRecorrente serie, Integer id, LocalDateTime inicio, LocalDateTime fim) {
+        return Atendimento.builder()
+                .id(id)
+                .paciente(serie.getPaciente())
+                .servicoBase(serie.getServico())
+                .dataHoraInicio(inicio)
+                .dataHoraFim(fim)
+                .serieId(serie.getId())
+                .build();
+    }
+}
@@ -0,0 +1,191 @@
+package com.physio.application.service;
+
+import com.physio.domain.event.AtendimentosCriadosEvent;
+import com.physio.domain.model.Atendimento;
+import com.physio.domain.model.ConflitoAgenda;
+import com.physio.domain.model.OcupacaoAgenda;
+import com.physio.domain.model.Paciente;
+import com.physio.domain.model.ResultadoAgendamento;
+import com.physio.domain.model.SerieRecorrente;
+import com.physio.domain.model.ServicoConfig;
+import com.physio.domain.ports.in.RealizarAgendamentoEmGrupoUseCase;
+import com.physio.domain.ports.out.AssinaturaRepositoryPort;
+import com.physio.domain.ports.out.AtendimentoRepositoryPort;
+import com.physio.domain.ports.out.PacienteRepositoryPort;
+import com.physio.domain.ports.out.SerieRecorrenteRepositoryPort;
+import com.physio.domain.ports.out.ServicoRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RealizarAgendamentoEmGrupoService implements RealizarAgendamentoEmGrupoUseCase {
+
+    private final AtendimentoRepositoryPort atendimentoRepositoryPort;
+    private final PacienteRepositoryPort pacienteRepositoryPort;
+    private final ServicoRepositoryPort servicoRepositoryPort;
+    private final AssinaturaRepositoryPort assinaturaRepositoryPort;
+    private final SerieRecorrenteRepositoryPort serieRecorrenteRepositoryPort;
+    private final PoliticaAgendamento politicaAgendamento;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    public List<Atendimento> realizarAgendamentoEmGrupo(
+            List<Long> pacienteIds,
+            Long servicoId,
+            LocalDateTime dataHora,
+            LocalDate dataFimRecorrencia,
+            List<Integer> diasSemana) {
+
+        ResultadoAgendamento resultado = realizarAgendamentoEmGrupoDetalhado(
+                pacienteIds, servicoId, dataHora, dataFimRecorrencia, diasSemana);
+
+        if (resultado.atendimentos().isEmpty()) {
+            throw new IllegalStateException("Nenhum agendamento foi criado. Verifique os conflitos de horário.");
+        }
+        return resultado.atendimentos();
+    }
+
+    @Override
+    @Transactional
+    public ResultadoAgendamento realizarAgendamentoEmGrupoDetalhado(
+            List<Long> pacienteIds,
+            Long servicoId,
+            LocalDateTime dataHora,
+            LocalDate dataFimRecorrencia,
+            List<Integer> diasSemana) {
+
+        if (pacienteIds == null || pacienteIds.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um paciente para o agendamento");
+        }
+
+        // Remove IDs repetidos mantendo a ordem informada
+        List<Long> idsGrupo = pacienteIds.stream().distinct().toList();
+
+        log.info("Iniciando agendamento em grupo - Pacientes: {}, Serviço: {}, Data/Hora: {}, Recorrente: {}",
+                idsGrupo, servicoId, dataHora, dataFimRecorrencia != null);
+
+        ServicoConfig servico = servicoRepositoryPort.buscarPorIdEAtivo(servicoId)
+                .orElseThrow(() -> new jakarta.persistence.EntityNotFoundException("Serviço não encontrado ou inativo: " + servicoId));
+
+        // Uma consulta (IN) para todos os pacientes do grupo
+        List<Paciente> pacientes = buscarPacientes(idsGrupo);
+
+        // Uma consulta (IN) para as assinaturas ativas do grupo neste serviço
+        Set<Long> comAssinaturaAtiva = new HashSet<>(
+                assinaturaRepositoryPort.listarPacientesComAssinaturaAtiva(idsGrupo, servicoId));
+
+        // Séries longas: só as datas dentro do horizonte viram atendimentos agora; o restante fica
+        // com a série e é materializado aos poucos pelo job (MaterializarSeriesService)
+        LocalDate materializarAte = dataFimRecorrencia != null
+                ? politicaAgendamento.limiteMaterializacao(dataHora.toLocalDate(), dataFimRecorrencia)
+                : null;
+
+        List<LocalDateTime> horarios = politicaAgendamento.gerarHorarios(dataHora, materializarAte, diasSemana);
+        log.info("Serão validados {} horário(s) para {} paciente(s)", horarios.size(), pacientes.size());
+
+        // Uma única consulta para toda a janela; cada horário é validado em memória, uma vez para o grupo
+        OcupacaoAgenda ocupacao = politicaAgendamento.carregarOcupacao(horarios, servico);
+
+        List<LocalDateTime> horariosValidos = new ArrayList<>();
+        List<ConflitoAgenda> conflitos = new ArrayList<>();
+
+        for (LocalDateTime horario : horarios) {
+            try {
+                politicaAgendamento.validarQuantidadePacientes(horario, servico, pacientes.size(), ocupacao);
+                politicaAgendamento.registrarOcupacao(horario, servico, pacientes.size(), ocupacao);
+                horariosValidos.add(horario);
+            } catch (IllegalArgumentException e) {
+                // Agendamento único: o conflito é devolvido ao cliente
+                if (dataFimRecorrencia == null) {
+                    throw e;
+                }
+                conflitos.add(new ConflitoAgenda(null, horario, e.getMessage()));
+                log.warn("Falha ao agendar grupo na data {}: {}", horario.toLocalDate(), e.getMessage());
+                // Continua a tentar os demais horários
+            }
+        }
+
+        // Reserva atômica das vagas do grupo em cada horário (UPDATE condicional em agenda_slots)
+        if (!horariosValidos.isEmpty()) {
+            Set<LocalDateTime> reservados = politicaAgendamento.reservarVagas(servico, horariosValidos, pacientes.size());
+            List<LocalDateTime> recusados = horariosValidos.stream()
+                    .filter(h -> !reservados.contains(h))
+                    .toList();
+            if (!recusados.isEmpty()) {
+                if (dataFimRecorrencia == null) {
+                    throw new IllegalArgumentException("Horário " + dataHora + " sem vagas disponíveis para o grupo");
+                }
+                recusados.forEach(h -> {
+                    log.warn("Falha ao agendar grupo na data {}: horário sem vagas no momento da reserva", h.toLocalDate());
+                    conflitos.add(new ConflitoAgenda(null, h, "Horário sem vagas no momento da reserva"));
+                });
+                horariosValidos.removeAll(recusados);
+            }
+        }
+
+        log.info("Validação do agendamento em grupo concluída - Horários válidos: {}, Falhas: {}",
+                horariosValidos.size(), conflitos.size());
+
+        if (horariosValidos.isEmpty()) {
+            return new ResultadoAgendamento(List.of(), conflitos);
+        }
+
+        // Recorrência: uma série por paciente guarda a regra completa (até dataFimRecorrencia)
+        Map<Integer, Integer> seriePorPaciente = new HashMap<>();
+        if (dataFimRecorrencia != null) {
+            for (Paciente paciente : pacientes) {
+                SerieRecorrente serie = serieRecorrenteRepositoryPort.salvar(politicaAgendamento.montarSerie(
+                        paciente, servico, dataHora, dataFimRecorrencia, diasSemana, materializarAte));
+                seriePorPaciente.put(paciente.getId(), serie.getId());
+            }
+        }
+
+        // Agrupado por paciente (na ordem informada) e depois por data, como na resposta original
+        List<Atendimento> atendimentos = new ArrayList<>();
+        for (Paciente paciente : pacientes) {
+            boolean temAssinaturaAtiva = comAssinaturaAtiva.contains(Long.valueOf(paciente.getId()));
+            for (LocalDateTime horario : horariosValidos) {
+                Atendimento atendimento = politicaAgendamento.montarAtendimento(paciente, servico, horario, temAssinaturaAtiva);
+                atendimento.setSerieId(seriePorPaciente.get(paciente.getId()));
+                atendimentos.add(atendimento);
+            }
+        }
+
+        // Gravação em lote de todos os atendimentos do grupo
+        List<Atendimento> salvos = atendimentoRepositoryPort.salvarTodos(atendimentos);
+        eventPublisher.publishEvent(new AtendimentosCriadosEvent(salvos));
+        log.info("Agendamento em grupo concluído - {} atendimento(s) criado(s)", salvos.size());
+        return new ResultadoAgendamento(salvos, conflitos);
+    }
+
+    private List<Paciente> buscarPacientes(List<Long> ids) {
+        Map<Long, Paciente> encontrados = pacienteRepositoryPort.buscarPorIds(ids).stream()
+                .collect(Collectors.toMap(p -> Long.valueOf(p.getId()), Function.identity()));
+
+        List<Long> naoEncontrados = ids.stream()
+                .filter(id -> !encontrados.containsKey(id))
+                .toList();
+        if (!naoEncontrados.isEmpty()) {
+            throw new jakarta.persistence.EntityNotFoundException("Paciente(s) não encontrado(s) ou inativo(s): " + naoEncontrados);
+        }
+
+        return ids.stream().map(encontrados::get).toList();
+    }
+}
@@ -0,0 +1,29 @@
+package com.physio.application.service;
+
+import com.physio.domain.event.ResumoMensalReconstruidoEvent;
+import com.physio.domain.ports.in.ReconstruirResumoMensalUseCase;
+import com.physio.domain.ports.out.ResumoMensalRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReconstruirResumoMensalService implements ReconstruirResumoMensalUseCase {
+
+    private final ResumoMensalRepositoryPort resumoMensalRepositoryPort;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    public int reconstruir() {
+        log.info("Reconstruindo o resumo mensal do dashboard");
+        int linhas = resumoMensalRepositoryPort.reconstruir();
+        log.info("Resumo mensal reconstruído - {} linha(s) (ano, mês, serviço)", linhas);
+        eventPublisher.publishEvent(new ResumoMensalReconstruidoEvent());
+        return linhas;
+    }
+}
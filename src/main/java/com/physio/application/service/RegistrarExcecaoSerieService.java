@@ -0,0 +1,46 @@
+package com.physio.application.service;
+
+import com.physio.domain.model.SerieRecorrente;
+import com.physio.domain.ports.in.RegistrarExcecaoSerieUseCase;
+import com.physio.domain.ports.out.SerieRecorrenteRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RegistrarExcecaoSerieService implements RegistrarExcecaoSerieUseCase {
+
+    private final SerieRecorrenteRepositoryPort serieRecorrenteRepositoryPort;
+
+    @Override
+    @Transactional
+    public SerieRecorrente registrarExcecao(Long serieId, LocalDate dataOriginal, LocalDateTime novaDataHora) {
+        log.info("Registrando exceção na série {} - Data: {}, Nova data/hora: {}", serieId, dataOriginal, novaDataHora);
+
+        SerieRecorrente serie = serieRecorrenteRepositoryPort.buscarPorId(serieId)
+                .orElseThrow(() -> new jakarta.persistence.EntityNotFoundException("Série recorrente não encontrada: " + serieId));
+
+        if (!serie.prevista(dataOriginal)) {
+            throw new IllegalArgumentException("A data " + dataOriginal + " não faz parte da série " + serieId);
+        }
+        // Sessões já materializadas são atendimentos: alterar/excluir pelo endpoint de agendamentos
+        if (serie.materializada(dataOriginal)) {
+            throw new IllegalArgumentException("A sessão de " + dataOriginal + " já foi gerada; altere ou exclua o atendimento correspondente");
+        }
+
+        LocalDateTime sessao = dataOriginal.atTime(serie.getHorario());
+        if (novaDataHora == null) {
+            serie.registrarCancelamento(sessao);
+        } else {
+            serie.registrarRemarcacao(sessao, novaDataHora);
+        }
+
+        return serieRecorrenteRepositoryPort.salvar(serie);
+    }
+}
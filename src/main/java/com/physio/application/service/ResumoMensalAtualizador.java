@@ -0,0 +1,192 @@
+package com.physio.application.service;
+
+import com.physio.domain.event.AtendimentoAtualizadoEvent;
+import com.physio.domain.event.AtendimentoRemovidoEvent;
+import com.physio.domain.event.AtendimentosCriadosEvent;
+import com.physio.domain.event.CobrancasAlteradasEvent;
+import com.physio.domain.model.Atendimento;
+import com.physio.domain.model.SituacaoCobranca;
+import com.physio.domain.model.StatusCobranca;
+import com.physio.domain.model.VariacaoResumoMensal;
+import com.physio.domain.ports.out.ResumoMensalRepositoryPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mantém a tabela resumo_mensal em dia a partir dos eventos de atendimentos e cobranças.
+ *
+ * Cada evento vira variações com sinal (estado atual menos o anterior) por (ano, mês, serviço). As variações
+ * de uma transação são somadas em memória e gravadas uma vez, no beforeCommit da própria transação, com
+ * INSERT ... ON CONFLICT DO UPDATE somando à linha existente: o resumo é gravado (ou desfeito) junto com a
+ * alteração que o motivou e a linha só fica travada do UPSERT até o commit. O recálculo completo a partir
+ * das tabelas de origem fica para a reconstrução (ReconstruirResumoMensalService).
+ * Publicações fora de transação gravam as variações em uma transação própria.
+ */
+@Slf4j
+@Component
+public class ResumoMensalAtualizador {
+
+    private static final String STATUS_CONCLUIDO = "CONCLUIDO";
+    private static final BigDecimal CEM = BigDecimal.valueOf(100);
+
+    // Ordem das chaves na gravação: transações concorrentes travam as linhas na mesma ordem
+    private static final Comparator<VariacaoResumoMensal> ORDEM_CHAVE = Comparator
+            .comparingInt(VariacaoResumoMensal::ano)
+            .thenComparingInt(VariacaoResumoMensal::mes)
+            .thenComparingInt(VariacaoResumoMensal::servicoId);
+
+    private final ResumoMensalRepositoryPort resumoMensalRepositoryPort;
+    private final TransactionTemplate transactionTemplate;
+
+    // Chave do recurso da transação com as variações pendentes
+    private final Object chaveVariacoesPendentes = new Object();
+
+    public ResumoMensalAtualizador(ResumoMensalRepositoryPort resumoMensalRepositoryPort, PlatformTransactionManager transactionManager) {
+        this.resumoMensalRepositoryPort = resumoMensalRepositoryPort;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener
+    public void aoCriar(AtendimentosCriadosEvent event) {
+        List<VariacaoResumoMensal> variacoes = new ArrayList<>();
+        event.atendimentos().forEach(a -> incluir(contribuicao(a), false, variacoes));
+        registrar(variacoes);
+    }
+
+    @EventListener
+    public void aoAtualizar(AtendimentoAtualizadoEvent event) {
+        List<VariacaoResumoMensal> variacoes = new ArrayList<>();
+        incluir(contribuicao(event.anterior()), true, variacoes);
+        incluir(contribuicao(event.atual()), false, variacoes);
+        registrar(variacoes);
+    }
+
+    @EventListener
+    public void aoRemover(AtendimentoRemovidoEvent event) {
+        List<VariacaoResumoMensal> variacoes = new ArrayList<>();
+        incluir(contribuicao(event.atendimento()), true, variacoes);
+        registrar(variacoes);
+    }
+
+    @EventListener
+    public void aoAlterarCobrancas(CobrancasAlteradasEvent event) {
+        List<VariacaoResumoMensal> variacoes = new ArrayList<>();
+        for (CobrancasAlteradasEvent.Alteracao alteracao : event.alteracoes()) {
+            incluir(contribuicao(alteracao.anterior()), true, variacoes);
+            incluir(contribuicao(alteracao.atual()), false, variacoes);
+        }
+        registrar(variacoes);
+    }
+
+    /**
+     * Parte do atendimento no resumo: só concluídos contam; valores apenas quando cobrado (avulso).
+     * Eventos das operações de série vêm sem status (sessões agendadas) e não contam.
+     */
+    private static VariacaoResumoMensal contribuicao(Atendimento atendimento) {
+        if (atendimento == null || !STATUS_CONCLUIDO.equals(atendimento.getStatus())
+                || atendimento.getDataHoraInicio() == null || atendimento.getServicoBase() == null) {
+            return null;
+        }
+        BigDecimal valor = atendimento.getValorCobrado();
+        boolean cobrado = valor != null && valor.signum() > 0;
+        return new VariacaoResumoMensal(
+                atendimento.getDataHoraInicio().getYear(),
+                atendimento.getDataHoraInicio().getMonthValue(),
+                atendimento.getServicoBase().getId(),
+                1,
+                cobrado ? valor : BigDecimal.ZERO,
+                cobrado ? parte(valor, atendimento.getPctProfissionalSnapshot()) : BigDecimal.ZERO,
+                cobrado ? parte(valor, atendimento.getPctClinicaSnapshot()) : BigDecimal.ZERO,
+                BigDecimal.ZERO);
+    }
+
+    // Parte da cobrança no resumo: pagas entram no faturamento, pendentes no valor em aberto
+    private static VariacaoResumoMensal contribuicao(SituacaoCobranca cobranca) {
+        if (cobranca == null) return null;
+        boolean paga = cobranca.status() == StatusCobranca.PAGO;
+        boolean pendente = cobranca.status() == StatusCobranca.PENDENTE;
+        if (!paga && !pendente) return null;
+        return new VariacaoResumoMensal(
+                cobranca.anoReferencia(),
+                cobranca.mesReferencia(),
+                cobranca.servicoId(),
+                0,
+                paga ? cobranca.valor() : BigDecimal.ZERO,
+                paga ? parte(cobranca.valor(), cobranca.pctProfissionalSnapshot()) : BigDecimal.ZERO,
+                paga ? parte(cobranca.valor(), cobranca.pctClinicaSnapshot()) : BigDecimal.ZERO,
+                pendente ? cobranca.valor() : BigDecimal.ZERO);
+    }
+
+    // Mesmo arredondamento por linha da reconstrução (ROUND(x, 2) do Postgres, HALF_UP)
+    private static BigDecimal parte(BigDecimal valor, BigDecimal percentual) {
+        if (percentual == null) return BigDecimal.ZERO;
+        return valor.multiply(percentual).divide(CEM, 2, RoundingMode.HALF_UP);
+    }
+
+    private static void incluir(VariacaoResumoMensal variacao, boolean desfazer, List<VariacaoResumoMensal> variacoes) {
+        if (variacao != null) {
+            variacoes.add(desfazer ? variacao.negar() : variacao);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void registrar(List<VariacaoResumoMensal> variacoes) {
+        if (variacoes.isEmpty()) return;
+
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            Map<VariacaoResumoMensal, VariacaoResumoMensal> acumuladas = new TreeMap<>(ORDEM_CHAVE);
+            acumular(variacoes, acumuladas);
+            transactionTemplate.executeWithoutResult(status -> gravar(acumuladas));
+            return;
+        }
+
+        Map<VariacaoResumoMensal, VariacaoResumoMensal> pendentes =
+                (Map<VariacaoResumoMensal, VariacaoResumoMensal>) TransactionSynchronizationManager.getResource(chaveVariacoesPendentes);
+        if (pendentes == null) {
+            Map<VariacaoResumoMensal, VariacaoResumoMensal> novas = new TreeMap<>(ORDEM_CHAVE);
+            TransactionSynchronizationManager.bindResource(chaveVariacoesPendentes, novas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    gravar(novas);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(chaveVariacoesPendentes);
+                }
+            });
+            pendentes = novas;
+        }
+        acumular(variacoes, pendentes);
+    }
+
+    // O mapa é ordenado só pela chave (ano, mês, serviço): variações da mesma linha são somadas
+    private static void acumular(List<VariacaoResumoMensal> variacoes, Map<VariacaoResumoMensal, VariacaoResumoMensal> acumuladas) {
+        for (VariacaoResumoMensal variacao : variacoes) {
+            acumuladas.merge(variacao, variacao, VariacaoResumoMensal::somar);
+        }
+    }
+
+    private void gravar(Map<VariacaoResumoMensal, VariacaoResumoMensal> acumuladas) {
+        List<VariacaoResumoMensal> variacoes = acumuladas.values().stream()
+                .filter(v -> !v.nula())
+                .toList();
+        resumoMensalRepositoryPort.aplicarVariacoes(variacoes);
+        log.debug("Resumo mensal: {} linha(s) (ano, mês, serviço) atualizada(s)", variacoes.size());
+    }
+}
@@ -0,0 +1,48 @@
+package com.physio.application.service;
+
+import com.physio.domain.ports.in.MaterializarSeriesUseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Serviço agendado que estende diariamente os atendimentos das séries recorrentes
+ * até o horizonte configurado (agenda.serie.horizonte-semanas).
+ * Com várias instâncias, só a que obtiver a trava MATERIALIZAR_SERIES executa cada disparo.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SerieRecorrenteSchedulerService {
+
+    private final MaterializarSeriesUseCase materializarSeriesUseCase;
+    private final PoliticaAgendamento politicaAgendamento;
+    private final TravaJobAgendado travaJobAgendado;
+
+    @Value("${scheduler.trava.series.duracao-maxima:PT1H}")
+    private Duration duracaoMaximaTrava;
+
+    @Value("${scheduler.trava.duracao-minima:PT1M}")
+    private Duration duracaoMinimaTrava;
+
+    /**
+     * Cron expression: todo dia às 01:00:00 (configurável em agenda.serie.cron)
+     */
+    @Scheduled(cron = "${agenda.serie.cron:0 0 1 * * ?}")
+    public void materializarSeries() {
+        travaJobAgendado.executar("MATERIALIZAR_SERIES", duracaoMaximaTrava, duracaoMinimaTrava, () -> {
+            LocalDate ate = politicaAgendamento.horizonteMaterializacao();
+            try {
+                materializarSeriesUseCase.materializarAte(ate);
+            } catch (Exception e) {
+                log.error("Erro ao materializar séries recorrentes até {}", ate, e);
+                // Não relança a exceção para não quebrar o scheduler
+            }
+        });
+    }
+}
@@ -0,0 +1,121 @@
+package com.physio.application.service;
+
+import com.physio.domain.ports.out.TravaDistribuidaPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Garante que um job agendado rode em uma única instância por disparo (lease em scheduler_trava).
+ *
+ * Enquanto a tarefa roda, o lease é renovado a cada terço da duração máxima: um job mais longo que
+ * ela continua com a trava, e outra instância só assume se esta parar de renovar (caiu no meio do job).
+ *
+ * Métricas:
+ * - scheduler.trava.aquisicao (timer; tags job e resultado=adquirida|ocupada|erro): tempo para tentar a trava;
+ * - scheduler.trava.renovacao (contador; tags job e resultado=renovada|perdida|erro): renovações do lease;
+ * - scheduler.trava.retencao (timer; tag job): quanto tempo a trava ficou com esta instância.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TravaJobAgendado {
+
+    // Identifica esta instância: host/pid do processo mais um sufixo aleatório por subida
+    private static final String DONO = ManagementFactory.getRuntimeMXBean().getName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+
+    private final TravaDistribuidaPort travaDistribuidaPort;
+    private final MeterRegistry meterRegistry;
+
+    private final ScheduledExecutorService renovacao = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "scheduler-trava-renovacao");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    void encerrar() {
+        renovacao.shutdownNow();
+    }
+
+    /**
+     * Executa a tarefa se esta instância conseguir a trava do job.
+     *
+     * @param duracaoMaxima lease, renovado enquanto a tarefa roda: outra instância só assume se esta ficar
+     *                      esse tempo sem renovar
+     * @param duracaoMinima a trava continua tomada ao menos por esse tempo, mesmo que o job termine antes
+     * @return true se a tarefa foi executada nesta instância
+     */
+    public boolean executar(String job, Duration duracaoMaxima, Duration duracaoMinima, Runnable tarefa) {
+        boolean adquirida;
+        Timer.Sample aquisicao = Timer.start(meterRegistry);
+        try {
+            adquirida = travaDistribuidaPort.adquirir(job, DONO, duracaoMaxima);
+        } catch (Exception e) {
+            aquisicao.stop(meterRegistry.timer("scheduler.trava.aquisicao", "job", job, "resultado", "erro"));
+            log.error("Erro ao obter a trava do job {} - execução ignorada nesta instância", job, e);
+            return false;
+        }
+        aquisicao.stop(meterRegistry.timer("scheduler.trava.aquisicao", "job", job, "resultado", adquirida ? "adquirida" : "ocupada"));
+
+        if (!adquirida) {
+            log.info("Job {} já está em execução (ou acabou de rodar) em outra instância", job);
+            return false;
+        }
+
+        Timer.Sample retencao = Timer.start(meterRegistry);
+        AtomicBoolean emExecucao = new AtomicBoolean(true);
+        long intervalo = Math.max(1000, duracaoMaxima.toMillis() / 3);
+        ScheduledFuture<?> renovacaoLease = renovacao.scheduleAtFixedRate(
+                () -> renovar(job, duracaoMaxima, emExecucao), intervalo, intervalo, TimeUnit.MILLISECONDS);
+        try {
+            tarefa.run();
+            return true;
+        } finally {
+            // Uma renovação em andamento termina antes da liberação (não estende o lease depois dela)
+            synchronized (emExecucao) {
+                emExecucao.set(false);
+                renovacaoLease.cancel(false);
+            }
+            try {
+                travaDistribuidaPort.liberar(job, DONO, duracaoMinima);
+            } catch (Exception e) {
+                // O lease expira sozinho em duracaoMaxima
+                log.error("Erro ao liberar a trava do job {}", job, e);
+            }
+            retencao.stop(meterRegistry.timer("scheduler.trava.retencao", "job", job));
+        }
+    }
+
+    private void renovar(String job, Duration duracaoMaxima, AtomicBoolean emExecucao) {
+        synchronized (emExecucao) {
+            if (!emExecucao.get()) return;
+            String resultado;
+            try {
+                if (travaDistribuidaPort.renovar(job, DONO, duracaoMaxima)) {
+                    resultado = "renovada";
+                } else {
+                    resultado = "perdida";
+                    log.error("Job {} perdeu a trava (lease expirado e tomado por outra instância); pode estar rodando em paralelo", job);
+                }
+            } catch (Exception e) {
+                // Nova tentativa no próximo intervalo, ainda dentro do lease atual
+                resultado = "erro";
+                log.warn("Erro ao renovar a trava do job {}", job, e);
+            }
+            meterRegistry.counter("scheduler.trava.renovacao", "job", job, "resultado", resultado).increment();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.physio.domain.event;
+
+import com.physio.domain.model.Atendimento;
+
+/**
+ * Publicado quando um atendimento é alterado; carrega o estado anterior e o atual
+ */
+public record AtendimentoAtualizadoEvent(Atendimento anterior, Atendimento atual) {
+}
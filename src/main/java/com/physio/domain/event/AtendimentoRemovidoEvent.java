@@ -0,0 +1,9 @@
+package com.physio.domain.event;
+
+import com.physio.domain.model.Atendimento;
+
+/**
+ * Publicado quando um atendimento é removido
+ */
+public record AtendimentoRemovidoEvent(Atendimento atendimento) {
+}
@@ -0,0 +1,11 @@
+package com.physio.domain.event;
+
+import com.physio.domain.model.Atendimento;
+
+import java.util.List;
+
+/**
+ * Publicado quando um ou mais atendimentos são criados (agendamento único, recorrente ou em grupo)
+ */
+public record AtendimentosCriadosEvent(List<Atendimento> atendimentos) {
+}
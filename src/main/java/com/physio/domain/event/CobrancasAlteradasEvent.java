@@ -0,0 +1,19 @@
+package com.physio.domain.event;
+
+import com.physio.domain.model.SituacaoCobranca;
+
+import java.util.List;
+
+/**
+ * Publicado quando cobranças são geradas ou têm o status alterado, com o estado anterior e o atual de cada uma
+ */
+public record CobrancasAlteradasEvent(List<Alteracao> alteracoes) {
+
+    // anterior é null para cobranças recém-geradas
+    public record Alteracao(SituacaoCobranca anterior, SituacaoCobranca atual) {
+    }
+
+    public static CobrancasAlteradasEvent geradas(List<SituacaoCobranca> geradas) {
+        return new CobrancasAlteradasEvent(geradas.stream().map(c -> new Alteracao(null, c)).toList());
+    }
+}
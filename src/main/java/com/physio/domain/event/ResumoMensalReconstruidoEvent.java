@@ -0,0 +1,7 @@
+package com.physio.domain.event;
+
+/**
+ * Publicado quando o resumo mensal é reconstruído por inteiro
+ */
+public record ResumoMensalReconstruidoEvent() {
+}
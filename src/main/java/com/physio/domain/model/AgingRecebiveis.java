@@ -0,0 +1,15 @@
+package com.physio.domain.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Aging das cobranças pendentes em uma data base, por paciente e por serviço
+ */
+public record AgingRecebiveis(
+        LocalDate dataBase,
+        LinhaAgingRecebiveis total,
+        List<LinhaAgingRecebiveis> porPaciente,
+        List<LinhaAgingRecebiveis> porServico
+) {
+}
@@ -10,7 +10,7 @@ import java.math.BigInteger;
 import java.time.LocalDateTime;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Atendimento {
@@ -26,6 +26,8 @@ public class Atendimento {
     private String evolucao;
     private Recebedor recebedor;
     private TipoPagamento tipoPagamento;
+    // Série recorrente de origem (null para agendamentos avulsos)
+    private Integer serieId;
     
     // Método de negócio para criar snapshot financeiro
     public void criarSnapshotFinanceiro(ServicoConfig servico) {
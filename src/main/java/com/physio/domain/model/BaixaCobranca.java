@@ -0,0 +1,15 @@
+package com.physio.domain.model;
+
+import java.time.LocalDate;
+
+/**
+ * Alteração de status de uma cobrança aplicada em lote (UPDATE direto, sem carregar a entidade)
+ */
+public record BaixaCobranca(
+        Long cobrancaId,
+        StatusCobranca status,
+        LocalDate dataPagamento,
+        Recebedor recebedor,
+        TipoPagamento tipoPagamento
+) {
+}
@@ -0,0 +1,24 @@
+package com.physio.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Cobrança com os nomes do paciente e do serviço já resolvidos na consulta (leitura para respostas da API)
+ */
+public record CobrancaMensalResumo(
+        Integer id,
+        Integer assinaturaId,
+        String pacienteNome,
+        String servicoNome,
+        Integer mesReferencia,
+        Integer anoReferencia,
+        BigDecimal valor,
+        StatusCobranca status,
+        LocalDate dataPagamento,
+        Recebedor recebedor,
+        TipoPagamento tipoPagamento,
+        BigDecimal pctClinicaSnapshot,
+        BigDecimal pctProfissionalSnapshot
+) {
+}
@@ -0,0 +1,16 @@
+package com.physio.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Dados mínimos de uma cobrança pendente para conciliação (sem carregar assinatura e paciente)
+ */
+public record CobrancaPendente(
+        Long id,
+        BigDecimal valor,
+        Integer mesReferencia,
+        Integer anoReferencia,
+        String cpfPaciente,
+        String nomePaciente
+) {
+}
@@ -0,0 +1,14 @@
+package com.physio.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Sessão que não pôde ser criada ou movida por falta de vaga / conflito de tipo no horário
+ * (atendimentoId nulo quando a sessão ainda não existia)
+ */
+public record ConflitoAgenda(
+        Integer atendimentoId,
+        LocalDateTime dataHora,
+        String motivo
+) {
+}
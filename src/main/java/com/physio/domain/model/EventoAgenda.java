@@ -0,0 +1,16 @@
+package com.physio.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Atendimento reduzido ao necessário para exportar a agenda (feed iCalendar)
+ */
+public record EventoAgenda(
+        Integer atendimentoId,
+        LocalDateTime inicio,
+        LocalDateTime fim,
+        String status,
+        String paciente,
+        String servico
+) {
+}
@@ -0,0 +1,23 @@
+package com.physio.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Sessão de uma série recorrente que foge da regra: cancelada ou remarcada para outra data/hora
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExcecaoSerie {
+    private Integer id;
+    private LocalDate dataOriginal;
+    private TipoExcecaoSerie tipo;
+    private LocalDateTime novaDataHora;
+}
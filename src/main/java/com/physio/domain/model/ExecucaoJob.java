@@ -0,0 +1,33 @@
+package com.physio.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Execução de um job em lote, identificada por nome e chave (ex.: GERAR_COBRANCAS / 2026-10)
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExecucaoJob {
+    private Integer id;
+    private String nome;
+    private String chave;
+    private StatusJob status;
+    private LocalDateTime iniciadoEm;
+    private LocalDateTime atualizadoEm;
+    private LocalDateTime concluidoEm;
+    private Integer processados;
+    private Integer falhas;
+    private String erro;
+
+    @Builder.Default
+    private List<ParticaoJob> particoes = new ArrayList<>();
+}
@@ -0,0 +1,6 @@
+package com.physio.domain.model;
+
+public enum FormatoRetorno {
+    CNAB240,
+    OFX
+}
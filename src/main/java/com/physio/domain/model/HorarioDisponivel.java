@@ -0,0 +1,13 @@
+package com.physio.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Horário livre na agenda, com quantas vagas ainda comporta para o serviço consultado
+ */
+public record HorarioDisponivel(
+        LocalDateTime inicio,
+        LocalDateTime fim,
+        int vagasRestantes
+) {
+}
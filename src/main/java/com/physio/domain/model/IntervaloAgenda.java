@@ -0,0 +1,15 @@
+package com.physio.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Intervalo ocupado na agenda, com apenas o necessário para as regras de capacidade
+ * (sem carregar paciente, snapshot financeiro etc.)
+ */
+public record IntervaloAgenda(
+        Integer atendimentoId,
+        LocalDateTime inicio,
+        LocalDateTime fim,
+        TipoServico tipo
+) {
+}
@@ -0,0 +1,21 @@
+package com.physio.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Resultado da conciliação de uma linha do retorno: a cobrança baixada, as candidatas (ambíguo)
+ * ou o motivo de não ter sido conciliada
+ */
+public record ItemConciliacao(
+        long linha,
+        BigDecimal valor,
+        LocalDate dataPagamento,
+        String referencia,
+        String pagador,
+        Long cobrancaId,
+        List<Long> candidatos,
+        String motivo
+) {
+}
@@ -0,0 +1,31 @@
+package com.physio.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Agendamento executado em segundo plano: situação atual e, ao final, o resultado por data
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobAgendamento {
+    private String id;
+    private StatusJob status;
+    private LocalDateTime criadoEm;
+    private LocalDateTime iniciadoEm;
+    private LocalDateTime concluidoEm;
+    private List<Atendimento> atendimentos;
+    private List<ConflitoAgenda> conflitos;
+    private String erro;
+
+    public boolean finalizado() {
+        return status == StatusJob.CONCLUIDO || status == StatusJob.FALHOU;
+    }
+}
@@ -0,0 +1,20 @@
+package com.physio.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Valores pendentes de um paciente, de um serviço ou do total, por faixa de dias em atraso
+ * contados a partir do vencimento (dia_vencimento da assinatura no mês de referência)
+ */
+public record LinhaAgingRecebiveis(
+        Long id,
+        String nome,
+        BigDecimal aVencer,
+        BigDecimal ate30Dias,
+        BigDecimal de31a60Dias,
+        BigDecimal de61a90Dias,
+        BigDecimal acima90Dias,
+        BigDecimal total,
+        long quantidade
+) {
+}
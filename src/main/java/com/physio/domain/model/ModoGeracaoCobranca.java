@@ -0,0 +1,9 @@
+package com.physio.domain.model;
+
+/**
+ * MENSAL: todas as cobranças do mês no dia 1º; DIARIA: cada cobrança alguns dias antes do seu vencimento
+ */
+public enum ModoGeracaoCobranca {
+    MENSAL,
+    DIARIA
+}
@@ -0,0 +1,84 @@
+package com.physio.domain.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Ocupação da agenda em memória: intervalos ordenados pelo início.
+ *
+ * Usa o mesmo critério de sobreposição da consulta de conflitos
+ * (inicio < fimConsulta AND fim > inicioConsulta), de forma que o resultado
+ * é idêntico ao de consultar o banco para cada horário.
+ * Intervalos sem data de fim são ignorados, assim como no SQL.
+ */
+public class OcupacaoAgenda {
+
+    private static final Comparator<IntervaloAgenda> POR_INICIO = Comparator.comparing(IntervaloAgenda::inicio);
+
+    private final List<IntervaloAgenda> intervalos = new ArrayList<>();
+
+    // Maior duração conhecida: limita quanto antes do horário consultado um intervalo pode começar
+    private Duration maiorDuracao = Duration.ZERO;
+
+    public OcupacaoAgenda(Collection<IntervaloAgenda> intervalos) {
+        intervalos.forEach(this::registrarDuracao);
+        intervalos.stream()
+                .filter(i -> i.inicio() != null && i.fim() != null)
+                .sorted(POR_INICIO)
+                .forEach(this.intervalos::add);
+    }
+
+    public void adicionar(IntervaloAgenda intervalo) {
+        if (intervalo.inicio() == null || intervalo.fim() == null) return;
+        registrarDuracao(intervalo);
+        intervalos.add(primeiroIndiceComInicioApos(intervalo.inicio()), intervalo);
+    }
+
+    /**
+     * Retorna os intervalos que se sobrepõem a [inicio, fim)
+     */
+    public List<IntervaloAgenda> sobrepostos(LocalDateTime inicio, LocalDateTime fim) {
+        List<IntervaloAgenda> resultado = new ArrayList<>();
+        int indice = primeiroIndiceComInicioApos(inicio.minus(maiorDuracao));
+
+        for (int i = indice; i < intervalos.size(); i++) {
+            IntervaloAgenda intervalo = intervalos.get(i);
+            if (!intervalo.inicio().isBefore(fim)) break;
+            if (intervalo.fim().isAfter(inicio)) {
+                resultado.add(intervalo);
+            }
+        }
+        return resultado;
+    }
+
+    public List<IntervaloAgenda> intervalos() {
+        return List.copyOf(intervalos);
+    }
+
+    private void registrarDuracao(IntervaloAgenda intervalo) {
+        if (intervalo.inicio() == null || intervalo.fim() == null) return;
+        Duration duracao = Duration.between(intervalo.inicio(), intervalo.fim());
+        if (duracao.compareTo(maiorDuracao) > 0) {
+            maiorDuracao = duracao;
+        }
+    }
+
+    // Busca binária pelo primeiro intervalo com início estritamente posterior ao instante informado
+    private int primeiroIndiceComInicioApos(LocalDateTime instante) {
+        int baixo = 0;
+        int alto = intervalos.size();
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (intervalos.get(meio).inicio().isAfter(instante)) {
+                alto = meio;
+            } else {
+                baixo = meio + 1;
+            }
+        }
+        return baixo;
+    }
+}
@@ -0,0 +1,18 @@
+package com.physio.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Pagamento (crédito) lido de um arquivo de retorno bancário.
+ * A referência é o texto livre que o banco devolve (seu número, uso da empresa, memo...).
+ */
+public record PagamentoRetorno(
+        long linha,
+        BigDecimal valor,
+        LocalDate dataPagamento,
+        String referencia,
+        String documentoPagador,
+        String nomePagador
+) {
+}
@@ -0,0 +1,39 @@
+package com.physio.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Faixa de ids [inicioId, fimId] de uma execução; ultimoId é o checkpoint do último chunk gravado
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParticaoJob {
+    private Integer id;
+    private Integer execucaoId;
+    private Integer numero;
+    private Integer inicioId;
+    private Integer fimId;
+    private Integer ultimoId;
+    private StatusJob status;
+    private Integer processados;
+    private Integer falhas;
+    private String erro;
+    private LocalDateTime atualizadoEm;
+    // Ids já passados pelo checkpoint que falharam: refeitos no início da próxima execução
+    @Builder.Default
+    private List<Integer> idsComFalha = new ArrayList<>();
+
+    // Próximo chunk começa após este id
+    public int retomarApos() {
+        return ultimoId != null ? ultimoId : inicioId - 1;
+    }
+}
@@ -0,0 +1,12 @@
+package com.physio.domain.model;
+
+import java.util.List;
+
+/**
+ * Resultado de um agendamento (único ou recorrente): atendimentos criados e horários que falharam
+ */
+public record ResultadoAgendamento(
+        List<Atendimento> atendimentos,
+        List<ConflitoAgenda> conflitos
+) {
+}
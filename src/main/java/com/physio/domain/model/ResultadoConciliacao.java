@@ -0,0 +1,11 @@
+package com.physio.domain.model;
+
+import java.util.List;
+
+public record ResultadoConciliacao(
+        long pagamentosLidos,
+        List<ItemConciliacao> conciliados,
+        List<ItemConciliacao> naoConciliados,
+        List<ItemConciliacao> ambiguos
+) {
+}
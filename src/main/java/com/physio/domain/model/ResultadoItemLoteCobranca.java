@@ -0,0 +1,11 @@
+package com.physio.domain.model;
+
+/**
+ * Resultado de um item da atualização de cobranças em lote
+ */
+public record ResultadoItemLoteCobranca(
+        Long cobrancaId,
+        SituacaoItemLote situacao,
+        String mensagem
+) {
+}
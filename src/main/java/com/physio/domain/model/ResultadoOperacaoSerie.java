@@ -0,0 +1,14 @@
+package com.physio.domain.model;
+
+import java.util.List;
+
+/**
+ * Resumo de uma operação em massa sobre uma série recorrente: a série que segue com a regra,
+ * quantas sessões foram canceladas/movidas/geradas e quais ficaram em conflito
+ */
+public record ResultadoOperacaoSerie(
+        Integer serieId,
+        int afetados,
+        List<ConflitoAgenda> conflitos
+) {
+}
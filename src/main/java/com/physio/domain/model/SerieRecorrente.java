@@ -0,0 +1,88 @@
+package com.physio.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Regra de um agendamento recorrente. Os atendimentos concretos existem apenas até
+ * 'materializadoAte'; as datas seguintes são geradas aos poucos pelo job de materialização.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SerieRecorrente {
+    private Integer id;
+    private Paciente paciente;
+    private ServicoConfig servico;
+    private List<Integer> diasSemana;
+    private LocalTime horario;
+    private LocalDate dataInicio;
+    private LocalDate dataFim;
+    private LocalDate materializadoAte;
+    private Boolean ativa;
+    private LocalDateTime dataCriacao;
+
+    @Builder.Default
+    private List<ExcecaoSerie> excecoes = new ArrayList<>();
+
+    public Optional<ExcecaoSerie> excecaoDaData(LocalDate dataOriginal) {
+        return excecoes.stream()
+                .filter(e -> e.getDataOriginal().equals(dataOriginal))
+                .findFirst();
+    }
+
+    // Verifica se a data pertence à regra (dia da semana e vigência da série)
+    public boolean prevista(LocalDate data) {
+        return !data.isBefore(dataInicio)
+                && (dataFim == null || !data.isAfter(dataFim))
+                && diasSemana.contains(data.getDayOfWeek().getValue());
+    }
+
+    public boolean materializada(LocalDate data) {
+        return !data.isAfter(materializadoAte);
+    }
+
+    // Exceções a partir da data deixam de valer (a regra mudou ou a série foi encerrada)
+    public List<ExcecaoSerie> removerExcecoesAPartirDe(LocalDate data) {
+        List<ExcecaoSerie> removidas = excecoes.stream()
+                .filter(e -> !e.getDataOriginal().isBefore(data))
+                .toList();
+        excecoes.removeAll(removidas);
+        return removidas;
+    }
+
+    public void registrarCancelamento(LocalDateTime sessao) {
+        ExcecaoSerie excecao = excecaoDaSessao(sessao);
+        excecao.setTipo(TipoExcecaoSerie.CANCELADA);
+        excecao.setNovaDataHora(null);
+    }
+
+    public void registrarRemarcacao(LocalDateTime sessao, LocalDateTime novaDataHora) {
+        ExcecaoSerie excecao = excecaoDaSessao(sessao);
+        excecao.setTipo(TipoExcecaoSerie.REMARCADA);
+        excecao.setNovaDataHora(novaDataHora);
+    }
+
+    // Uma sessão já remarcada reaproveita a exceção existente, preservando a data original da regra
+    private ExcecaoSerie excecaoDaSessao(LocalDateTime sessao) {
+        return excecoes.stream()
+                .filter(e -> sessao.equals(e.getNovaDataHora()))
+                .findFirst()
+                .or(() -> excecaoDaData(sessao.toLocalDate()))
+                .orElseGet(() -> {
+                    ExcecaoSerie nova = ExcecaoSerie.builder().dataOriginal(sessao.toLocalDate()).build();
+                    excecoes.add(nova);
+                    return nova;
+                });
+    }
+}
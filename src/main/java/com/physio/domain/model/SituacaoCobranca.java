@@ -0,0 +1,22 @@
+package com.physio.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Estado de uma cobrança no que interessa ao resumo mensal (serviço, competência, valor, percentuais e status)
+ */
+public record SituacaoCobranca(
+        Long id,
+        Integer servicoId,
+        Integer mesReferencia,
+        Integer anoReferencia,
+        BigDecimal valor,
+        BigDecimal pctProfissionalSnapshot,
+        BigDecimal pctClinicaSnapshot,
+        StatusCobranca status
+) {
+    public SituacaoCobranca comStatus(StatusCobranca novoStatus) {
+        return new SituacaoCobranca(id, servicoId, mesReferencia, anoReferencia, valor,
+                pctProfissionalSnapshot, pctClinicaSnapshot, novoStatus);
+    }
+}
@@ -0,0 +1,8 @@
+package com.physio.domain.model;
+
+public enum SituacaoItemLote {
+    ATUALIZADA,
+    INVALIDA,
+    NAO_ENCONTRADA,
+    DUPLICADA
+}
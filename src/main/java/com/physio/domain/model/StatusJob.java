@@ -0,0 +1,8 @@
+package com.physio.domain.model;
+
+public enum StatusJob {
+    PENDENTE,
+    EM_EXECUCAO,
+    CONCLUIDO,
+    FALHOU
+}
@@ -0,0 +1,17 @@
+package com.physio.domain.model;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Totais de um mês lidos do resumo mensal (somados entre os serviços)
+ */
+public record TotaisResumoMensal(
+        YearMonth mes,
+        long atendimentosConcluidos,
+        BigDecimal valorBruto,
+        BigDecimal valorProfissional,
+        BigDecimal valorClinica,
+        BigDecimal valorPendente
+) {
+}
@@ -0,0 +1,39 @@
+package com.physio.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Variação (com sinal) a somar em uma linha (ano, mês, serviço) do resumo mensal
+ */
+public record VariacaoResumoMensal(
+        int ano,
+        int mes,
+        int servicoId,
+        long atendimentosConcluidos,
+        BigDecimal valorBruto,
+        BigDecimal valorProfissional,
+        BigDecimal valorClinica,
+        BigDecimal valorPendente
+) {
+    public VariacaoResumoMensal somar(VariacaoResumoMensal outra) {
+        return new VariacaoResumoMensal(ano, mes, servicoId,
+                atendimentosConcluidos + outra.atendimentosConcluidos,
+                valorBruto.add(outra.valorBruto),
+                valorProfissional.add(outra.valorProfissional),
+                valorClinica.add(outra.valorClinica),
+                valorPendente.add(outra.valorPendente));
+    }
+
+    public VariacaoResumoMensal negar() {
+        return new VariacaoResumoMensal(ano, mes, servicoId, -atendimentosConcluidos,
+                valorBruto.negate(), valorProfissional.negate(), valorClinica.negate(), valorPendente.negate());
+    }
+
+    public boolean nula() {
+        return atendimentosConcluidos == 0
+                && valorBruto.signum() == 0
+                && valorProfissional.signum() == 0
+                && valorClinica.signum() == 0
+                && valorPendente.signum() == 0;
+    }
+}
@@ -0,0 +1,18 @@
+package com.physio.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Versão da agenda de um serviço em uma janela: muda sempre que algum atendimento
+ * da janela é criado, alterado ou removido (quantidade + soma das versões das linhas)
+ * e quando muda o nome de um paciente ou do serviço exibido nos eventos (soma dos hashes dos nomes)
+ */
+public record VersaoAgenda(
+        Long servicoId,
+        LocalDateTime inicio,
+        LocalDateTime fim,
+        long quantidade,
+        long somaVersoes,
+        long somaNomes
+) {
+}
@@ -1,13 +1,22 @@
 package com.physio.domain.ports.in;
 
+import com.physio.domain.model.BaixaCobranca;
 import com.physio.domain.model.CobrancaMensal;
 import com.physio.domain.model.Recebedor;
+import com.physio.domain.model.ResultadoItemLoteCobranca;
 import com.physio.domain.model.StatusCobranca;
 import com.physio.domain.model.TipoPagamento;
 
 import java.time.LocalDate;
+import java.util.List;
 
 public interface AtualizarCobrancaUseCase {
     CobrancaMensal atualizarCobranca(Long cobrancaId, StatusCobranca status, LocalDate dataPagamento, Recebedor recebedor, TipoPagamento tipoPagamento);
+
+    /**
+     * Atualiza várias cobranças em uma transação (UPDATEs em lote), com as mesmas validações da
+     * atualização individual; itens inválidos não impedem os demais. Retorna o resultado de cada item, na ordem recebida.
+     */
+    List<ResultadoItemLoteCobranca> atualizarCobrancasEmLote(List<BaixaCobranca> atualizacoes);
 }
 
@@ -0,0 +1,9 @@
+package com.physio.domain.ports.in;
+
+import com.physio.domain.model.SerieRecorrente;
+
+import java.util.Optional;
+
+public interface BuscarSerieRecorrenteUseCase {
+    Optional<SerieRecorrente> buscarPorId(Long id);
+}
@@ -0,0 +1,10 @@
+package com.physio.domain.ports.in;
+
+import com.physio.domain.model.ResultadoOperacaoSerie;
+
+import java.time.LocalDate;
+
+public interface CancelarSerieUseCase {
+    // Encerra a série na véspera de 'aPartirDe' e remove, em um único comando, as sessões agendadas a partir dessa data
+    ResultadoOperacaoSerie cancelarAPartirDe(Long serieId, LocalDate aPartirDe);
+}
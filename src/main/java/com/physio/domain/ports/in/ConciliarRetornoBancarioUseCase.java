@@ -0,0 +1,16 @@
+package com.physio.domain.ports.in;
+
+import com.physio.domain.model.PagamentoRetorno;
+import com.physio.domain.model.Recebedor;
+import com.physio.domain.model.ResultadoConciliacao;
+import com.physio.domain.model.TipoPagamento;
+
+import java.util.stream.Stream;
+
+public interface ConciliarRetornoBancarioUseCase {
+    /**
+     * Concilia os pagamentos do retorno com as cobranças pendentes (valor + referência e/ou pagador)
+     * e marca as conciliadas como PAGO. O stream é consumido uma única vez, sem ser materializado.
+     */
+    ResultadoConciliacao conciliar(Stream<PagamentoRetorno> pagamentos, Recebedor recebedor, TipoPagamento tipoPagamento);
+}
@@ -0,0 +1,13 @@
+package com.physio.domain.ports.in;
+
+import com.physio.domain.model.AgingRecebiveis;
+
+import java.time.LocalDate;
+
+public interface ConsultarAgingRecebiveisUseCase {
+    /**
+     * Cobranças pendentes agrupadas por faixa de atraso (0-30, 31-60, 61-90, 90+ dias) na data base,
+     * por paciente e por serviço
+     */
+    AgingRecebiveis consultarAging(LocalDate dataBase);
+}
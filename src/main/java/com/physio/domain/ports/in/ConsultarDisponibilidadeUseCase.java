@@ -0,0 +1,11 @@
+package com.physio.domain.ports.in;
+
+import com.physio.domain.model.HorarioDisponivel;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ConsultarDisponibilidadeUseCase {
+    // Próximos horários entre 'de' e 'ate' que ainda comportam 'quantidade' pacientes do serviço
+    List<HorarioDisponivel> consultarDisponibilidade(Long servicoId, LocalDateTime de, LocalDateTime ate, int quantidade, int limite);
+}
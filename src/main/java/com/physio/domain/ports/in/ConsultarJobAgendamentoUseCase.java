@@ -0,0 +1,9 @@
+package com.physio.domain.ports.in;
+
+import com.physio.domain.model.JobAgendamento;
+
+import java.util.Optional;
+
+public interface ConsultarJobAgendamentoUseCase {
+    Optional<JobAgendamento> buscarPorId(String id);
+}
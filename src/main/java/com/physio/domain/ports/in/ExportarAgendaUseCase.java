@@ -0,0 +1,33 @@
+package com.physio.domain.ports.in;
+
+import com.physio.domain.model.EventoAgenda;
+import com.physio.domain.model.VersaoAgenda;
+
+import java.util.function.Consumer;
+
+public interface ExportarAgendaUseCase {
+    /**
+     * Versão atual da agenda do serviço na janela exportada (consulta barata, para respostas condicionais)
+     */
+    VersaoAgenda versaoDaAgenda(Long servicoId);
+
+    /**
+     * Percorre os atendimentos da janela da versão informada, em ordem de início, sem carregar a lista inteira
+     */
+    void exportarAgenda(VersaoAgenda versao, Consumer<EventoAgenda> consumidor);
+
+    /**
+     * Gera (ou troca) o token secreto da URL pública do feed do serviço; o token anterior deixa de valer
+     */
+    String gerarTokenAgenda(Long servicoId);
+
+    /**
+     * Desliga o feed público do serviço (o feed autenticado continua disponível)
+     */
+    void revogarTokenAgenda(Long servicoId);
+
+    /**
+     * Confere o token da URL pública; token inválido ou revogado responde como serviço não encontrado
+     */
+    void validarTokenAgenda(Long servicoId, String token);
+}
@@ -0,0 +1,15 @@
+package com.physio.domain.ports.in;
+
+import com.physio.domain.model.ExecucaoJob;
+
+import java.util.Optional;
+
+public interface GerarCobrancasEmLoteUseCase {
+    /**
+     * Gera as cobranças do mês em chunks com checkpoint; chamar de novo para o mesmo mês
+     * retoma uma execução interrompida (ou não faz nada, se ela já foi concluída)
+     */
+    ExecucaoJob gerarCobrancasDoMesEmLote(int mes, int ano);
+
+    Optional<ExecucaoJob> buscarExecucao(int mes, int ano);
+}
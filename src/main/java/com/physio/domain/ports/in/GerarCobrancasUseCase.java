@@ -1,6 +1,16 @@
 package com.physio.domain.ports.in;
 
+import java.time.LocalDate;
+
 public interface GerarCobrancasUseCase {
     int gerarCobrancasDoMes(int mes, int ano);
+
+    /**
+     * Geração diária escalonada: cria as cobranças que vencem até 'diasAntecedencia' dias após 'data'
+     * (pelo dia_vencimento de cada assinatura), incluindo as de dias anteriores ainda não geradas desde o
+     * mês da última execução concluída (cobre a aplicação parada na virada do mês).
+     * Idempotente com gerarCobrancasDoMes: cobranças já existentes são ignoradas.
+     */
+    int gerarCobrancasAVencer(LocalDate data, int diasAntecedencia);
 }
 
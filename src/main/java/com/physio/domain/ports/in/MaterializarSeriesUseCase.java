@@ -0,0 +1,8 @@
+package com.physio.domain.ports.in;
+
+import java.time.LocalDate;
+
+public interface MaterializarSeriesUseCase {
+    // Gera os atendimentos das séries recorrentes ativas até a data informada; retorna quantos foram criados
+    int materializarAte(LocalDate ate);
+}
@@ -0,0 +1,12 @@
+package com.physio.domain.ports.in;
+
+import com.physio.domain.model.ResultadoOperacaoSerie;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+public interface ReagendarSerieUseCase {
+    // Muda o horário e/ou os dias da semana da série a partir de 'aPartirDe', revalidando a capacidade em lote
+    ResultadoOperacaoSerie reagendarAPartirDe(Long serieId, LocalDate aPartirDe, LocalTime novoHorario, List<Integer> novosDiasSemana);
+}
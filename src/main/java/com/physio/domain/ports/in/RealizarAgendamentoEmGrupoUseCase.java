@@ -0,0 +1,44 @@
+package com.physio.domain.ports.in;
+
+import com.physio.domain.model.Atendimento;
+import com.physio.domain.model.ResultadoAgendamento;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RealizarAgendamentoEmGrupoUseCase {
+    /**
+     * Realiza agendamento único ou recorrente para um grupo de pacientes no mesmo horário.
+     * Cada horário é validado uma única vez para o grupo inteiro: ou todos os pacientes
+     * são agendados naquele horário, ou nenhum.
+     *
+     * @param pacienteIds IDs dos pacientes do grupo
+     * @param servicoId ID do serviço
+     * @param dataHora Data e hora do agendamento (ou data inicial se recorrente)
+     * @param dataFimRecorrencia Data final da recorrência (null para agendamento único)
+     * @param diasSemana Lista de dias da semana para repetir (1=Segunda, 2=Terça, ..., 7=Domingo).
+     *                   Se null e dataFimRecorrencia estiver presente, usa o dia da semana da dataHora
+     * @return Lista de atendimentos criados, agrupados por paciente na ordem informada
+     */
+    List<Atendimento> realizarAgendamentoEmGrupo(
+            List<Long> pacienteIds,
+            Long servicoId,
+            LocalDateTime dataHora,
+            LocalDate dataFimRecorrencia,
+            List<Integer> diasSemana
+    );
+
+    /**
+     * Mesmo agendamento de realizarAgendamentoEmGrupo, devolvendo também os horários que falharam.
+     * Não lança exceção quando nenhum horário da recorrência pôde ser agendado: devolve a lista vazia
+     * com os conflitos de cada data.
+     */
+    ResultadoAgendamento realizarAgendamentoEmGrupoDetalhado(
+            List<Long> pacienteIds,
+            Long servicoId,
+            LocalDateTime dataHora,
+            LocalDate dataFimRecorrencia,
+            List<Integer> diasSemana
+    );
+}
@@ -0,0 +1,8 @@
+package com.physio.domain.ports.in;
+
+public interface ReconstruirResumoMensalUseCase {
+    /**
+     * Refaz todo o resumo mensal a partir de atendimentos e cobranças (reparo); retorna o número de linhas gravadas
+     */
+    int reconstruir();
+}
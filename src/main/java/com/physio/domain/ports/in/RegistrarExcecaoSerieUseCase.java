@@ -0,0 +1,11 @@
+package com.physio.domain.ports.in;
+
+import com.physio.domain.model.SerieRecorrente;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public interface RegistrarExcecaoSerieUseCase {
+    // Cancela (novaDataHora nula) ou remarca uma sessão futura, ainda não materializada, da série
+    SerieRecorrente registrarExcecao(Long serieId, LocalDate dataOriginal, LocalDateTime novaDataHora);
+}
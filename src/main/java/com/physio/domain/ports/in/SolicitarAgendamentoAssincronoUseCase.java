@@ -0,0 +1,18 @@
+package com.physio.domain.ports.in;
+
+import com.physio.domain.model.JobAgendamento;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SolicitarAgendamentoAssincronoUseCase {
+    // Enfileira o agendamento em grupo (mesmos parâmetros de RealizarAgendamentoEmGrupoUseCase) e retorna o job criado
+    JobAgendamento solicitar(
+            List<Long> pacienteIds,
+            Long servicoId,
+            LocalDateTime dataHora,
+            LocalDate dataFimRecorrencia,
+            List<Integer> diasSemana
+    );
+}
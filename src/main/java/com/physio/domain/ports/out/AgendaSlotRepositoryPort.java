@@ -0,0 +1,17 @@
+package com.physio.domain.ports.out;
+
+import com.physio.domain.model.IntervaloAgenda;
+import com.physio.domain.model.TipoServico;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Set;
+
+public interface AgendaSlotRepositoryPort {
+    // Reserva atomicamente 'quantidade' vagas em cada intervalo (em todas as células que ele cobre, ou em nenhuma);
+    // retorna o início dos intervalos efetivamente reservados
+    Set<LocalDateTime> reservar(TipoServico tipo, Collection<IntervaloAgenda> intervalos, int quantidade, int limite);
+
+    // Devolve 'quantidade' vagas de cada intervalo informado (atendimentos removidos ou remarcados)
+    void liberar(Collection<IntervaloAgenda> intervalos, int quantidade);
+}
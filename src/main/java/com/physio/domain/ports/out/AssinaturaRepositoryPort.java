@@ -2,6 +2,7 @@ package com.physio.domain.ports.out;
 
 import com.physio.domain.model.Assinatura;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,11 +14,18 @@ public interface AssinaturaRepositoryPort {
     
     // Buscar assinatura ativa de um paciente para um serviço específico
     Optional<Assinatura> buscarAtivaPorPacienteEServico(Long pacienteId, Long servicoId);
+
+    // IDs dos pacientes (entre os informados) que possuem assinatura ativa para o serviço
+    List<Long> listarPacientesComAssinaturaAtiva(Collection<Long> pacienteIds, Long servicoId);
     
     // Buscar todas as assinaturas ativas
     List<Assinatura> listarAtivas();
     
     // Buscar assinaturas de um paciente
     List<Assinatura> listarPorPaciente(Long pacienteId);
-}
 
+    // Faixa e leitura por keyset dos ids de assinaturas ativas (jobs em lote particionados por id)
+    Optional<Long> menorIdAtivo();
+    Optional<Long> maiorIdAtivo();
+    List<Long> listarIdsAtivos(Long aposId, Long ateId, int limite);
+}
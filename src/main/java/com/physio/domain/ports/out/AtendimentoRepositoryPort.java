@@ -1,16 +1,36 @@
 package com.physio.domain.ports.out;
 
 import com.physio.domain.model.Atendimento;
+import com.physio.domain.model.EventoAgenda;
+import com.physio.domain.model.IntervaloAgenda;
+import com.physio.domain.model.VersaoAgenda;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface AtendimentoRepositoryPort {
     Atendimento salvar(Atendimento atendimento);
+    List<Atendimento> salvarTodos(List<Atendimento> atendimentos);
     Atendimento buscarPorId(Long id);
+    // Mesma busca travando a linha até o fim da transação (estado anterior estável para o resumo mensal)
+    Atendimento buscarPorIdParaAtualizacao(Long id);
     List<Atendimento> listarTodos();
     void deletar(Long id);
 
     List<Atendimento> listarPorPeriodo(LocalDateTime inicio, LocalDateTime fim);
     List<Atendimento> listarPorPaciente(Long pacienteId);
-    List<Atendimento> listarConflitosPorPeriodo(LocalDateTime inicio, LocalDateTime fim);
-}
\ No newline at end of file
+
+    // Intervalos ocupados que se sobrepõem ao período, ordenados pelo início (uma única consulta por janela)
+    List<IntervaloAgenda> listarOcupacaoPorPeriodo(LocalDateTime inicio, LocalDateTime fim);
+
+    // Operações em massa de séries recorrentes (um único comando SQL cada)
+    List<IntervaloAgenda> listarSessoesAgendadasDaSerie(Long serieId, LocalDateTime aPartirDe);
+    int alterarHorario(Collection<Integer> ids, LocalTime novoHorario);
+    int deletarTodos(Collection<Integer> ids);
+
+    // Feed da agenda por serviço: versão barata da janela [inicio, fim) e leitura em streaming (exige transação)
+    VersaoAgenda versaoDaAgenda(Long servicoId, LocalDateTime inicio, LocalDateTime fim);
+    void percorrerAgenda(Long servicoId, LocalDateTime inicio, LocalDateTime fim, Consumer<EventoAgenda> consumidor);
+}
@@ -1,9 +1,18 @@
 package com.physio.domain.ports.out;
 
+import com.physio.domain.model.AgingRecebiveis;
+import com.physio.domain.model.BaixaCobranca;
 import com.physio.domain.model.CobrancaMensal;
+import com.physio.domain.model.CobrancaMensalResumo;
+import com.physio.domain.model.CobrancaPendente;
+import com.physio.domain.model.SituacaoCobranca;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public interface CobrancaMensalRepositoryPort {
     CobrancaMensal salvar(CobrancaMensal cobrancaMensal);
@@ -19,5 +28,28 @@ public interface CobrancaMensalRepositoryPort {
     
     // Buscar cobranças de uma assinatura
     List<CobrancaMensal> listarPorAssinatura(Long assinaturaId);
-}
 
+    // Leituras com nomes do paciente e do serviço resolvidos em uma única consulta
+    Optional<CobrancaMensalResumo> buscarResumoPorId(Long id);
+    List<CobrancaMensalResumo> listarResumosPorAssinatura(Long assinaturaId);
+
+    // Gera de uma vez as cobranças do mês (todas as assinaturas ativas ou só as informadas); retorna as que foram criadas
+    List<SituacaoCobranca> gerarCobrancasDasAssinaturasAtivas(Integer mes, Integer ano);
+    List<SituacaoCobranca> gerarCobrancasDasAssinaturas(Collection<Long> assinaturaIds, Integer mes, Integer ano);
+    List<SituacaoCobranca> gerarCobrancasComVencimentoAte(Integer mes, Integer ano, Integer diaLimite);
+
+    // Aging das cobranças pendentes na data base, calculado no banco (por paciente, por serviço e total)
+    AgingRecebiveis calcularAgingPendentes(LocalDate dataBase);
+
+    // Pendentes com os dados do paciente usados na conciliação de retornos bancários
+    List<CobrancaPendente> listarPendentesParaConciliacao();
+
+    // UPDATEs em lote (batch JDBC), só sobre cobranças ainda pendentes; retorna os IDs efetivamente alterados
+    Set<Long> baixarEmLote(List<BaixaCobranca> baixas);
+
+    // Mesmo UPDATE em lote, sem restringir o status atual (baixas e estornos manuais)
+    Set<Long> atualizarStatusEmLote(List<BaixaCobranca> atualizacoes);
+
+    // Estado atual das cobranças (serviço, competência, valores e status), travando-as até o fim da transação
+    Map<Long, SituacaoCobranca> buscarSituacoesParaAtualizacao(Collection<Long> ids);
+}
@@ -0,0 +1,16 @@
+package com.physio.domain.ports.out;
+
+import com.physio.domain.model.ExecucaoJob;
+import com.physio.domain.model.ParticaoJob;
+
+import java.util.Optional;
+
+public interface ExecucaoJobRepositoryPort {
+    // Execução com as partições, ordenadas pelo número
+    Optional<ExecucaoJob> buscarPorNomeEChave(String nome, String chave);
+
+    // Grava a execução e, quando novas, as partições
+    ExecucaoJob salvar(ExecucaoJob execucao);
+
+    ParticaoJob salvarParticao(ParticaoJob particao);
+}
@@ -0,0 +1,18 @@
+package com.physio.domain.ports.out;
+
+import com.physio.domain.model.JobAgendamento;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface JobAgendamentoRepositoryPort {
+    JobAgendamento salvar(JobAgendamento job);
+    Optional<JobAgendamento> buscarPorId(String id);
+    void remover(String id);
+
+    // Remove jobs finalizados antes do instante informado; retorna quantos foram removidos
+    int removerFinalizadosAntesDe(LocalDateTime instante);
+
+    // Marca como FALHOU os jobs criados antes do instante que não terminaram (instância parada no meio)
+    int marcarInterrompidosAntesDe(LocalDateTime instante, String erro);
+}
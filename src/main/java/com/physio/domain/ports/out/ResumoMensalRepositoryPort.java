@@ -0,0 +1,17 @@
+package com.physio.domain.ports.out;
+
+import com.physio.domain.model.TotaisResumoMensal;
+import com.physio.domain.model.VariacaoResumoMensal;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public interface ResumoMensalRepositoryPort {
+    // Soma as variações às linhas (ano, mês, serviço), criando as que faltam, na transação corrente
+    void aplicarVariacoes(List<VariacaoResumoMensal> variacoes);
+
+    // Reconstrói o resumo inteiro; retorna quantas linhas (ano, mês, serviço) foram gravadas
+    int reconstruir();
+
+    TotaisResumoMensal buscarTotais(YearMonth mes);
+}
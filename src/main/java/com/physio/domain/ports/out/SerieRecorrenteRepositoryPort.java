@@ -0,0 +1,20 @@
+package com.physio.domain.ports.out;
+
+import com.physio.domain.model.SerieRecorrente;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface SerieRecorrenteRepositoryPort {
+    SerieRecorrente salvar(SerieRecorrente serie);
+
+    // Carrega a série com paciente, serviço e exceções
+    Optional<SerieRecorrente> buscarPorId(Long id);
+
+    // Igual a buscarPorId, bloqueando a linha da série até o fim da transação
+    Optional<SerieRecorrente> buscarPorIdParaAtualizacao(Long id);
+
+    // IDs (maiores que aposId, em ordem) das séries ativas que ainda têm datas a materializar até 'ate'
+    List<Long> listarIdsPendentesDeMaterializacao(LocalDate ate, Long aposId, int limite);
+}
@@ -12,4 +12,8 @@ public interface ServicoRepositoryPort {
     ServicoConfig salvar(ServicoConfig servico);
     List<ServicoConfig> listarTodos();
     void desativar(Long id);
+
+    // Token da URL pública do feed iCalendar (null desliga o feed público do serviço)
+    void definirTokenAgendaIcs(Long id, String token);
+    boolean tokenAgendaIcsValido(Long id, String token);
 }
@@ -0,0 +1,22 @@
+package com.physio.domain.ports.out;
+
+import java.time.Duration;
+
+public interface TravaDistribuidaPort {
+    /**
+     * Tenta tomar a trava por até 'duracaoMaxima'; falha se outra instância a detém com lease ainda válido
+     */
+    boolean adquirir(String nome, String dono, Duration duracaoMaxima);
+
+    /**
+     * Estende o lease por mais 'duracao' a partir de agora, se a trava ainda é de 'dono';
+     * false quando o lease já expirou e outra instância o tomou
+     */
+    boolean renovar(String nome, String dono, Duration duracao);
+
+    /**
+     * Libera a trava, mantendo-a até 'duracaoMinima' após a aquisição (evita que outra instância,
+     * com o relógio um pouco atrasado, execute o mesmo disparo logo em seguida)
+     */
+    void liberar(String nome, String dono, Duration duracaoMinima);
+}
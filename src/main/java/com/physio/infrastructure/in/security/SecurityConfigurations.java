@@ -2,6 +2,7 @@ package com.physio.infrastructure.in.security;
 
 import io.swagger.v3.oas.annotations.enums.SecuritySchemeType;
 import io.swagger.v3.oas.annotations.security.SecurityScheme;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -65,6 +66,12 @@ public class SecurityConfigurations {
                 .authorizeHttpRequests(req -> {
                     req.requestMatchers(HttpMethod.POST, "/api/auth/login").permitAll();
                     req.requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll();
+                    // Probes do orquestrador/balanceador: só o status agregado (sem detalhes para anônimos)
+                    req.requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/health/**").permitAll();
+                    // Feed iCalendar por URL de assinatura: o token secreto do serviço na URL faz o papel do login
+                    req.requestMatchers(HttpMethod.GET, "/api/v1/servicos/*/agenda/*.ics").permitAll();
+                    // Redespacho interno ao encerrar respostas assíncronas (SSE); a requisição original já foi autorizada
+                    req.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll();
                     req.anyRequest().authenticated();
                 })
                 .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class)
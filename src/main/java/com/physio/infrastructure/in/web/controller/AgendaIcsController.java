@@ -0,0 +1,149 @@
+package com.physio.infrastructure.in.web.controller;
+
+import com.physio.domain.model.VersaoAgenda;
+import com.physio.domain.ports.in.ExportarAgendaUseCase;
+import com.physio.infrastructure.in.web.dto.LinkAgendaIcsResponseDTO;
+import com.physio.infrastructure.in.web.ics.AgendaIcsWriter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/servicos")
+@Tag(name = "Agenda (iCalendar)", description = "Feed somente leitura da agenda para aplicativos de calendário")
+@RequiredArgsConstructor
+public class AgendaIcsController {
+
+    private static final MediaType TEXT_CALENDAR = new MediaType("text", "calendar", StandardCharsets.UTF_8);
+
+    private final ExportarAgendaUseCase exportarAgendaUseCase;
+
+    @Value("${agenda.ics.fuso:America/Sao_Paulo}")
+    private String fuso;
+
+    @Value("${agenda.ics.duracao-padrao-minutos:60}")
+    private long duracaoPadraoMinutos;
+
+    @Operation(
+            summary = "Feed iCalendar da agenda do serviço",
+            description = "Atendimentos do serviço de agenda.ics.dias-passados antes de hoje até agenda.ics.dias-futuros depois. " +
+                         "Responde 304 quando o If-None-Match coincide com a versão atual da agenda. " +
+                         "Exige o token de acesso; para aplicativos de calendário use a URL gerada em POST /{servicoId}/agenda.ics/link."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Agenda no formato text/calendar"),
+            @ApiResponse(responseCode = "304", description = "Agenda não mudou desde o ETag informado"),
+            @ApiResponse(responseCode = "404", description = "Serviço não encontrado")
+    })
+    @GetMapping(value = "/{servicoId}/agenda.ics", produces = "text/calendar")
+    public ResponseEntity<StreamingResponseBody> exportarAgenda(
+            @Parameter(description = "ID do serviço", example = "1") @PathVariable Long servicoId,
+            WebRequest request) {
+        return responderAgenda(servicoId, request);
+    }
+
+    @Operation(
+            summary = "Feed iCalendar da agenda do serviço (URL de assinatura)",
+            description = "Mesmo conteúdo do feed autenticado, sem login: aplicativos de calendário não enviam o header Authorization. " +
+                         "O acesso é dado pelo token secreto da URL, gerado em POST /{servicoId}/agenda.ics/link. " +
+                         "Token inválido ou revogado responde 404."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Agenda no formato text/calendar"),
+            @ApiResponse(responseCode = "304", description = "Agenda não mudou desde o ETag informado"),
+            @ApiResponse(responseCode = "404", description = "Serviço não encontrado ou token inválido")
+    })
+    @GetMapping(value = "/{servicoId}/agenda/{token}.ics", produces = "text/calendar")
+    public ResponseEntity<StreamingResponseBody> exportarAgendaPorToken(
+            @Parameter(description = "ID do serviço", example = "1") @PathVariable Long servicoId,
+            @Parameter(description = "Token secreto do feed do serviço") @PathVariable String token,
+            WebRequest request) {
+        exportarAgendaUseCase.validarTokenAgenda(servicoId, token);
+        return responderAgenda(servicoId, request);
+    }
+
+    @Operation(
+            summary = "Gerar URL de assinatura do feed iCalendar",
+            description = "Gera um token secreto para o serviço e devolve a URL para assinar no calendário do celular. " +
+                         "Chamar de novo troca o token: a URL anterior deixa de funcionar."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "URL de assinatura gerada"),
+            @ApiResponse(responseCode = "404", description = "Serviço não encontrado")
+    })
+    @PostMapping("/{servicoId}/agenda.ics/link")
+    public ResponseEntity<LinkAgendaIcsResponseDTO> gerarLinkAgenda(
+            @Parameter(description = "ID do serviço", example = "1") @PathVariable Long servicoId) {
+        String token = exportarAgendaUseCase.gerarTokenAgenda(servicoId);
+        String url = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/v1/servicos/{servicoId}/agenda/{token}.ics")
+                .buildAndExpand(servicoId, token)
+                .toUriString();
+        return ResponseEntity.ok(LinkAgendaIcsResponseDTO.builder().servicoId(servicoId).url(url).build());
+    }
+
+    @Operation(
+            summary = "Revogar URL de assinatura do feed iCalendar",
+            description = "Desliga o acesso sem login ao feed do serviço; o feed autenticado continua disponível"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "URL revogada"),
+            @ApiResponse(responseCode = "404", description = "Serviço não encontrado")
+    })
+    @DeleteMapping("/{servicoId}/agenda.ics/link")
+    public ResponseEntity<Void> revogarLinkAgenda(
+            @Parameter(description = "ID do serviço", example = "1") @PathVariable Long servicoId) {
+        exportarAgendaUseCase.revogarTokenAgenda(servicoId);
+        return ResponseEntity.noContent().build();
+    }
+
+    private ResponseEntity<StreamingResponseBody> responderAgenda(Long servicoId, WebRequest request) {
+        VersaoAgenda versao = exportarAgendaUseCase.versaoDaAgenda(servicoId);
+        String etag = "\"" + versao.servicoId() + "-" + versao.inicio().toLocalDate() + "-"
+                + versao.quantidade() + "-" + versao.somaVersoes() + "-" + versao.somaNomes() + "\"";
+
+        // Sem mudanças: responde 304 sem abrir o cursor. checkNotModified também grava o ETag na resposta
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        ZoneId zona = ZoneId.of(fuso);
+        StreamingResponseBody corpo = saida -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+            AgendaIcsWriter ics = new AgendaIcsWriter(writer, zona, duracaoPadraoMinutos);
+            ics.inicio("Agenda - serviço " + servicoId);
+            exportarAgendaUseCase.exportarAgenda(versao, ics::evento);
+            ics.fim();
+            writer.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(TEXT_CALENDAR)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(corpo);
+    }
+}
@@ -1,9 +1,16 @@
 package com.physio.infrastructure.in.web.controller;
 
 import com.physio.domain.model.Atendimento;
-import com.physio.domain.ports.in.RealizarAgendamentoUseCase;
+import com.physio.domain.model.JobAgendamento;
+import com.physio.domain.ports.in.ConsultarDisponibilidadeUseCase;
+import com.physio.domain.ports.in.ConsultarJobAgendamentoUseCase;
+import com.physio.domain.ports.in.RealizarAgendamentoEmGrupoUseCase;
+import com.physio.domain.ports.in.SolicitarAgendamentoAssincronoUseCase;
 import com.physio.infrastructure.in.web.dto.AgendamentoRequestDTO;
 import com.physio.infrastructure.in.web.dto.AtendimentoResponseDTO;
+import com.physio.infrastructure.in.web.dto.HorarioDisponivelResponseDTO;
+import com.physio.infrastructure.in.web.dto.JobAgendamentoResponseDTO;
+import com.physio.infrastructure.in.web.sse.AgendaSseBroadcaster;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,9 +21,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.net.URI;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -27,7 +38,14 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AgendamentoController {
 
-    private final RealizarAgendamentoUseCase realizarAgendamentoUseCase;
+    // Limita o snapshot inicial do stream
+    private static final long JANELA_MAXIMA_STREAM_DIAS = 31;
+
+    private final RealizarAgendamentoEmGrupoUseCase realizarAgendamentoEmGrupoUseCase;
+    private final ConsultarDisponibilidadeUseCase consultarDisponibilidadeUseCase;
+    private final SolicitarAgendamentoAssincronoUseCase solicitarAgendamentoAssincronoUseCase;
+    private final ConsultarJobAgendamentoUseCase consultarJobAgendamentoUseCase;
+    private final AgendaSseBroadcaster agendaSseBroadcaster;
     private final com.physio.domain.ports.in.BuscarAtendimentoUseCase buscarAtendimentoUseCase;
     private final com.physio.domain.ports.in.ListarAtendimentosUseCase listarAtendimentosUseCase;
     private final com.physio.domain.ports.in.AtualizarAtendimentoUseCase atualizarAtendimentoUseCase;
@@ -54,17 +72,14 @@ public class AgendamentoController {
                 request.getPacienteIds(), request.getServicoId(), request.getDataHora(),
                 request.getDataFimRecorrencia() != null);
 
-        // Chamar o use case (agora sempre retorna lista)
-        var atendimentos = request.getPacienteIds().stream()
-                .flatMap(pacienteId -> realizarAgendamentoUseCase.realizarAgendamento(
-                        pacienteId,
-                        request.getServicoId(),
-                        request.getDataHora(),
-                        request.getDataFimRecorrencia(),
-                        request.getDiasSemana(),
-                        request.getPacienteIds().size()
-                ).stream())
-                .toList();
+        // Um único use case para o grupo: cada horário é validado uma vez para todos os pacientes
+        var atendimentos = realizarAgendamentoEmGrupoUseCase.realizarAgendamentoEmGrupo(
+                request.getPacienteIds(),
+                request.getServicoId(),
+                request.getDataHora(),
+                request.getDataFimRecorrencia(),
+                request.getDiasSemana()
+        );
 
         // Converter para DTOs
         var dtos = atendimentos.stream()
@@ -77,6 +92,7 @@ public class AgendamentoController {
                         .pctClinicaSnapshot(a.getPctClinicaSnapshot())
                         .pctProfissionalSnapshot(a.getPctProfissionalSnapshot())
                         .status(a.getStatus())
+                        .serieId(a.getSerieId())
                         .build())
                 .toList();
 
@@ -84,6 +100,50 @@ public class AgendamentoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(dtos);
     }
 
+    @Operation(
+            summary = "Realizar agendamento em segundo plano",
+            description = "Mesmo pedido de POST /api/v1/agendamentos, indicado para recorrências longas. " +
+                         "Retorna 202 com o job; o resultado de cada data é consultado em GET /api/v1/agendamentos/jobs/{jobId}."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Agendamento aceito para processamento"),
+            @ApiResponse(responseCode = "400", description = "Requisição inválida"),
+            @ApiResponse(responseCode = "503", description = "Fila de agendamentos cheia")
+    })
+    @PostMapping("/async")
+    public ResponseEntity<JobAgendamentoResponseDTO> realizarAgendamentoAssincrono(
+            @Valid @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Dados necessários para criar um agendamento (único ou recorrente)")
+            @RequestBody AgendamentoRequestDTO request) {
+
+        log.info("Recebendo requisição de agendamento assíncrono - Pacientes: {}, Serviço: {}, Data/Hora: {}, Recorrente: {}",
+                request.getPacienteIds(), request.getServicoId(), request.getDataHora(),
+                request.getDataFimRecorrencia() != null);
+
+        var job = solicitarAgendamentoAssincronoUseCase.solicitar(
+                request.getPacienteIds(),
+                request.getServicoId(),
+                request.getDataHora(),
+                request.getDataFimRecorrencia(),
+                request.getDiasSemana()
+        );
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/agendamentos/jobs/" + job.getId()))
+                .body(toJobResponse(job));
+    }
+
+    @Operation(summary = "Consultar job de agendamento", description = "Situação do job e, ao final, os atendimentos criados e as datas que falharam")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Job encontrado"),
+            @ApiResponse(responseCode = "404", description = "Job não encontrado ou expirado")
+    })
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<JobAgendamentoResponseDTO> consultarJob(@Parameter(description = "ID do job") @PathVariable String jobId) {
+        var job = consultarJobAgendamentoUseCase.buscarPorId(jobId)
+                .orElseThrow(() -> new jakarta.persistence.EntityNotFoundException("Job de agendamento não encontrado: " + jobId));
+        return ResponseEntity.ok(toJobResponse(job));
+    }
+
     @Operation(summary = "Listar atendimentos", description = "Lista com filtros opcionais de data ou paciente")
     @GetMapping
     public ResponseEntity<List<AtendimentoResponseDTO>> listarAtendimentos(
@@ -105,10 +165,83 @@ public class AgendamentoController {
                 .evolucao(a.getEvolucao())
                 .recebedor(a.getRecebedor() != null ? a.getRecebedor().name() : null)
                 .tipoPagamento(a.getTipoPagamento() !=  null ? a.getTipoPagamento().name() : null)
+                .serieId(a.getSerieId())
                 .build()).toList();
 
         return ResponseEntity.ok(dtos);
     }
+    @Operation(
+            summary = "Acompanhar a agenda em tempo real (SSE)",
+            description = "Envia uma vez os atendimentos da janela (evento 'snapshot') e depois apenas as alterações " +
+                         "que caem nela: 'criado' e 'atualizado' com a lista de atendimentos, 'removido' com os ids. " +
+                         "Sem 'de'/'ate', a janela é o dia atual. Ao reconectar, um novo snapshot é enviado."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Conexão aberta (text/event-stream)"),
+            @ApiResponse(responseCode = "400", description = "Janela inválida")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter acompanharAgenda(
+            @RequestParam(required = false) @Parameter(description = "Data/hora inicial (formato: yyyy-MM-dd'T'HH:mm:ss)", example = "2025-12-01T00:00:00") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime de,
+            @RequestParam(required = false) @Parameter(description = "Data/hora final (formato: yyyy-MM-dd'T'HH:mm:ss)", example = "2025-12-01T23:59:59") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ate
+    ) {
+        LocalDateTime inicio = de != null ? de : LocalDate.now().atStartOfDay();
+        LocalDateTime fim = ate != null ? ate : inicio.toLocalDate().plusDays(1).atStartOfDay().minusNanos(1);
+        if (fim.isBefore(inicio)) {
+            throw new IllegalArgumentException("'ate' deve ser posterior a 'de'");
+        }
+        if (inicio.plusDays(JANELA_MAXIMA_STREAM_DIAS).isBefore(fim)) {
+            throw new IllegalArgumentException("A janela acompanhada deve ter no máximo " + JANELA_MAXIMA_STREAM_DIAS + " dias");
+        }
+
+        return agendaSseBroadcaster.conectar(inicio, fim, () -> listarAtendimentosUseCase.listar(inicio, fim, null).stream()
+                .map(a -> AtendimentoResponseDTO.builder()
+                        .id(a.getId())
+                        .pacienteId(a.getPaciente().getId())
+                        .servicoBaseId(a.getServicoBase().getId())
+                        .dataHoraInicio(a.getDataHoraInicio())
+                        .valorCobrado(a.getValorCobrado())
+                        .pctClinicaSnapshot(a.getPctClinicaSnapshot())
+                        .pctProfissionalSnapshot(a.getPctProfissionalSnapshot())
+                        .status(a.getStatus())
+                        .evolucao(a.getEvolucao())
+                        .recebedor(a.getRecebedor() != null ? a.getRecebedor().name() : null)
+                        .tipoPagamento(a.getTipoPagamento() != null ? a.getTipoPagamento().name() : null)
+                        .serieId(a.getSerieId())
+                        .build())
+                .toList());
+    }
+
+    @Operation(
+            summary = "Consultar horários disponíveis",
+            description = "Retorna os próximos horários do período que ainda comportam 'quantidade' pacientes do serviço, " +
+                         "pelas mesmas regras de capacidade e de mistura de tipos usadas no agendamento. " +
+                         "O período aceito é limitado (agenda.disponibilidade.janela-maxima-dias, padrão 62 dias)."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Horários disponíveis"),
+            @ApiResponse(responseCode = "400", description = "Parâmetros inválidos"),
+            @ApiResponse(responseCode = "404", description = "Serviço não encontrado")
+    })
+    @GetMapping("/disponibilidade")
+    public ResponseEntity<List<HorarioDisponivelResponseDTO>> consultarDisponibilidade(
+            @RequestParam @Parameter(description = "ID do serviço", example = "1") Long servicoId,
+            @RequestParam @Parameter(description = "Data/hora inicial (formato: yyyy-MM-dd'T'HH:mm:ss)", example = "2025-12-01T07:00:00") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime de,
+            @RequestParam @Parameter(description = "Data/hora final (formato: yyyy-MM-dd'T'HH:mm:ss)", example = "2025-12-14T21:00:00") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ate,
+            @RequestParam(defaultValue = "1") @Parameter(description = "Quantidade de pacientes a encaixar", example = "1") int quantidade,
+            @RequestParam(defaultValue = "10") @Parameter(description = "Quantidade máxima de horários retornados", example = "10") int limite
+    ) {
+        var dtos = consultarDisponibilidadeUseCase.consultarDisponibilidade(servicoId, de, ate, quantidade, limite).stream()
+                .map(h -> HorarioDisponivelResponseDTO.builder()
+                        .dataHoraInicio(h.inicio())
+                        .dataHoraFim(h.fim())
+                        .vagasRestantes(h.vagasRestantes())
+                        .build())
+                .toList();
+
+        return ResponseEntity.ok(dtos);
+    }
+
     @Operation(summary = "Buscar atendimento por ID")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Atendimento encontrado"),
@@ -127,6 +260,7 @@ public class AgendamentoController {
                 .pctClinicaSnapshot(atendimento.getPctClinicaSnapshot())
                 .pctProfissionalSnapshot(atendimento.getPctProfissionalSnapshot())
                 .status(atendimento.getStatus())
+                .serieId(atendimento.getSerieId())
                 .build();
         return ResponseEntity.ok(dto);
     }
@@ -158,6 +292,7 @@ public class AgendamentoController {
                 .pctClinicaSnapshot(atualizado.getPctClinicaSnapshot())
                 .pctProfissionalSnapshot(atualizado.getPctProfissionalSnapshot())
                 .status(atualizado.getStatus())
+                .serieId(atualizado.getSerieId())
                 .build();
         return ResponseEntity.ok(dto);
     }
@@ -172,4 +307,34 @@ public class AgendamentoController {
         deletarAtendimentoUseCase.deletar(id);
         return ResponseEntity.noContent().build();
     }
+
+    private JobAgendamentoResponseDTO toJobResponse(JobAgendamento job) {
+        return JobAgendamentoResponseDTO.builder()
+                .id(job.getId())
+                .status(job.getStatus())
+                .criadoEm(job.getCriadoEm())
+                .iniciadoEm(job.getIniciadoEm())
+                .concluidoEm(job.getConcluidoEm())
+                .atendimentos(job.getAtendimentos().stream()
+                        .map(a -> AtendimentoResponseDTO.builder()
+                                .id(a.getId())
+                                .pacienteId(a.getPaciente().getId())
+                                .servicoBaseId(a.getServicoBase().getId())
+                                .dataHoraInicio(a.getDataHoraInicio())
+                                .valorCobrado(a.getValorCobrado())
+                                .pctClinicaSnapshot(a.getPctClinicaSnapshot())
+                                .pctProfissionalSnapshot(a.getPctProfissionalSnapshot())
+                                .status(a.getStatus())
+                                .serieId(a.getSerieId())
+                                .build())
+                        .toList())
+                .conflitos(job.getConflitos().stream()
+                        .map(c -> JobAgendamentoResponseDTO.Conflito.builder()
+                                .dataHora(c.dataHora())
+                                .motivo(c.motivo())
+                                .build())
+                        .toList())
+                .erro(job.getErro())
+                .build();
+    }
 }
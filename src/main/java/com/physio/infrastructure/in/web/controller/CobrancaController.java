@@ -1,10 +1,23 @@
 package com.physio.infrastructure.in.web.controller;
 
+import com.physio.domain.model.BaixaCobranca;
 import com.physio.domain.model.CobrancaMensal;
+import com.physio.domain.model.CobrancaMensalResumo;
+import com.physio.domain.model.FormatoRetorno;
+import com.physio.domain.model.ItemConciliacao;
+import com.physio.domain.model.Recebedor;
+import com.physio.domain.model.ResultadoConciliacao;
+import com.physio.domain.model.TipoPagamento;
 import com.physio.domain.ports.in.AtualizarCobrancaUseCase;
+import com.physio.domain.ports.in.ConciliarRetornoBancarioUseCase;
 import com.physio.domain.ports.out.CobrancaMensalRepositoryPort;
+import com.physio.infrastructure.in.web.dto.CobrancaLoteItemRequestDTO;
 import com.physio.infrastructure.in.web.dto.CobrancaMensalResponseDTO;
 import com.physio.infrastructure.in.web.dto.CobrancaMensalUpdateRequestDTO;
+import com.physio.infrastructure.in.web.dto.ResultadoConciliacaoResponseDTO;
+import com.physio.infrastructure.in.web.dto.ResultadoItemLoteCobrancaResponseDTO;
+import com.physio.infrastructure.in.web.mapper.CobrancaMensalResponseMapper;
+import com.physio.infrastructure.in.web.retorno.LeitorRetornoBancario;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -13,11 +26,16 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Slf4j
 @RestController
@@ -28,6 +46,8 @@ public class CobrancaController {
 
     private final AtualizarCobrancaUseCase atualizarCobrancaUseCase;
     private final CobrancaMensalRepositoryPort cobrancaMensalRepositoryPort;
+    private final ConciliarRetornoBancarioUseCase conciliarRetornoBancarioUseCase;
+    private final CobrancaMensalResponseMapper cobrancaMensalResponseMapper;
 
     @Operation(summary = "Atualizar cobrança mensal", description = "Atualiza o status de uma cobrança (marcar como paga)")
     @ApiResponses({
@@ -51,23 +71,38 @@ public class CobrancaController {
                 request.getTipoPagamento()
         );
 
-        CobrancaMensalResponseDTO dto = CobrancaMensalResponseDTO.builder()
-                .id(cobranca.getId())
-                .assinaturaId(cobranca.getAssinatura().getId())
-                .descricao(cobranca.getAssinatura().getPaciente().getNome() + " - " +
-                          cobranca.getAssinatura().getServico().getNome())
-                .mesReferencia(cobranca.getMesReferencia())
-                .anoReferencia(cobranca.getAnoReferencia())
-                .valor(cobranca.getValor())
-                .status(cobranca.getStatus())
-                .dataPagamento(cobranca.getDataPagamento())
-                .recebedor(cobranca.getRecebedor())
-                .tipoPagamento(cobranca.getTipoPagamento())
-                .pctClinicaSnapshot(cobranca.getPctClinicaSnapshot())
-                .pctProfissionalSnapshot(cobranca.getPctProfissionalSnapshot())
-                .build();
+        return ResponseEntity.ok(cobrancaMensalResponseMapper.toResponse(cobranca));
+    }
+
+    @Operation(
+            summary = "Atualizar cobranças em lote",
+            description = "Aplica status, data de pagamento, recebedor e forma de pagamento a várias cobranças em uma " +
+                         "única transação, com as mesmas validações da atualização individual. Retorna o resultado de cada item."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Lote processado; veja a situação de cada item"),
+            @ApiResponse(responseCode = "400", description = "Lote vazio ou acima do limite")
+    })
+    @PostMapping("/lote")
+    public ResponseEntity<List<ResultadoItemLoteCobrancaResponseDTO>> atualizarEmLote(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Cobranças a atualizar")
+            @RequestBody List<CobrancaLoteItemRequestDTO> request) {
+        log.info("Atualizando {} cobrança(s) em lote", request != null ? request.size() : 0);
 
-        return ResponseEntity.ok(dto);
+        List<BaixaCobranca> atualizacoes = request == null ? List.of() : request.stream()
+                .map(item -> new BaixaCobranca(item.getId(), item.getStatus(), item.getDataPagamento(),
+                        item.getRecebedor(), item.getTipoPagamento()))
+                .toList();
+
+        List<ResultadoItemLoteCobrancaResponseDTO> resultados = atualizarCobrancaUseCase.atualizarCobrancasEmLote(atualizacoes).stream()
+                .map(r -> ResultadoItemLoteCobrancaResponseDTO.builder()
+                        .id(r.cobrancaId())
+                        .situacao(r.situacao())
+                        .mensagem(r.mensagem())
+                        .build())
+                .toList();
+
+        return ResponseEntity.ok(resultados);
     }
 
     @Operation(summary = "Buscar cobrança por ID")
@@ -79,26 +114,10 @@ public class CobrancaController {
     public ResponseEntity<CobrancaMensalResponseDTO> buscarPorId(
             @Parameter(description = "ID da cobrança", example = "1")
             @PathVariable Long id) {
-        CobrancaMensal cobranca = cobrancaMensalRepositoryPort.buscarPorId(id)
+        CobrancaMensalResumo cobranca = cobrancaMensalRepositoryPort.buscarResumoPorId(id)
                 .orElseThrow(() -> new jakarta.persistence.EntityNotFoundException("Cobrança não encontrada: " + id));
 
-        CobrancaMensalResponseDTO dto = CobrancaMensalResponseDTO.builder()
-                .id(cobranca.getId())
-                .assinaturaId(cobranca.getAssinatura().getId())
-                .descricao(cobranca.getAssinatura().getPaciente().getNome() + " - " +
-                          cobranca.getAssinatura().getServico().getNome())
-                .mesReferencia(cobranca.getMesReferencia())
-                .anoReferencia(cobranca.getAnoReferencia())
-                .valor(cobranca.getValor())
-                .status(cobranca.getStatus())
-                .dataPagamento(cobranca.getDataPagamento())
-                .recebedor(cobranca.getRecebedor())
-                .tipoPagamento(cobranca.getTipoPagamento())
-                .pctClinicaSnapshot(cobranca.getPctClinicaSnapshot())
-                .pctProfissionalSnapshot(cobranca.getPctProfissionalSnapshot())
-                .build();
-
-        return ResponseEntity.ok(dto);
+        return ResponseEntity.ok(cobrancaMensalResponseMapper.toResponse(cobranca));
     }
 
     @Operation(summary = "Listar cobranças de uma assinatura")
@@ -107,24 +126,68 @@ public class CobrancaController {
     public ResponseEntity<List<CobrancaMensalResponseDTO>> listarPorAssinatura(
             @Parameter(description = "ID da assinatura", example = "1")
             @PathVariable Long assinaturaId) {
-        List<CobrancaMensal> cobrancas = cobrancaMensalRepositoryPort.listarPorAssinatura(assinaturaId);
-        List<CobrancaMensalResponseDTO> dtos = cobrancas.stream()
-                .map(c -> CobrancaMensalResponseDTO.builder()
-                        .id(c.getId())
-                        .assinaturaId(c.getAssinatura().getId())
-                        .descricao(c.getAssinatura().getPaciente().getNome() + " - " +
-                                  c.getAssinatura().getServico().getNome())
-                        .mesReferencia(c.getMesReferencia())
-                        .anoReferencia(c.getAnoReferencia())
-                        .valor(c.getValor())
-                        .status(c.getStatus())
-                        .dataPagamento(c.getDataPagamento())
-                        .recebedor(c.getRecebedor())
-                        .tipoPagamento(c.getTipoPagamento())
-                        .pctClinicaSnapshot(c.getPctClinicaSnapshot())
-                        .pctProfissionalSnapshot(c.getPctProfissionalSnapshot())
-                        .build())
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+        List<CobrancaMensalResumo> cobrancas = cobrancaMensalRepositoryPort.listarResumosPorAssinatura(assinaturaId);
+        return ResponseEntity.ok(cobrancaMensalResponseMapper.toResponse(cobrancas));
+    }
+
+    @Operation(
+            summary = "Conciliar retorno bancário",
+            description = "Lê um arquivo de retorno CNAB 240 ou um extrato OFX em stream e marca como PAGO as cobranças " +
+                         "pendentes que conferem em valor e referência (COB<id> ou MM/AAAA) e/ou pagador (CPF ou nome). " +
+                         "Retorna os pagamentos conciliados, não conciliados e ambíguos."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Arquivo processado"),
+            @ApiResponse(responseCode = "400", description = "Arquivo inválido ou parâmetros inválidos")
+    })
+    @PostMapping(value = "/retorno", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ResultadoConciliacaoResponseDTO> conciliarRetorno(
+            @Parameter(description = "Arquivo de retorno (CNAB 240 ou OFX)")
+            @RequestPart("arquivo") MultipartFile arquivo,
+            @Parameter(description = "Formato do arquivo (padrão: OFX para .ofx, senão CNAB240)")
+            @RequestParam(required = false) FormatoRetorno formato,
+            @Parameter(description = "Quem recebeu os valores", example = "CLINICA")
+            @RequestParam(defaultValue = "CLINICA") Recebedor recebedor,
+            @Parameter(description = "Forma de pagamento registrada nas cobranças", example = "PIX")
+            @RequestParam(defaultValue = "PIX") TipoPagamento tipoPagamento,
+            @Parameter(description = "Codificação do arquivo", example = "ISO-8859-1")
+            @RequestParam(defaultValue = "ISO-8859-1") String charset) throws IOException {
+        if (arquivo.isEmpty()) {
+            throw new IllegalArgumentException("Arquivo de retorno vazio");
+        }
+        FormatoRetorno formatoArquivo = formato != null ? formato
+                : arquivo.getOriginalFilename() != null && arquivo.getOriginalFilename().toLowerCase().endsWith(".ofx")
+                ? FormatoRetorno.OFX
+                : FormatoRetorno.CNAB240;
+        log.info("Conciliando retorno bancário {} ({}, {} bytes)", arquivo.getOriginalFilename(), formatoArquivo, arquivo.getSize());
+
+        // O multipart fica em disco temporário; a leitura é incremental.
+        // O reader é fechado aqui mesmo se a conciliação falhar antes de consumir o stream
+        Charset codificacao = Charset.forName(charset);
+        ResultadoConciliacao resultado;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(arquivo.getInputStream(), codificacao))) {
+            resultado = conciliarRetornoBancarioUseCase.conciliar(
+                    LeitorRetornoBancario.para(formatoArquivo, reader).stream(), recebedor, tipoPagamento);
+        }
+
+        return ResponseEntity.ok(ResultadoConciliacaoResponseDTO.builder()
+                .pagamentosLidos(resultado.pagamentosLidos())
+                .conciliados(resultado.conciliados().stream().map(this::toItem).toList())
+                .naoConciliados(resultado.naoConciliados().stream().map(this::toItem).toList())
+                .ambiguos(resultado.ambiguos().stream().map(this::toItem).toList())
+                .build());
+    }
+
+    private ResultadoConciliacaoResponseDTO.Item toItem(ItemConciliacao item) {
+        return ResultadoConciliacaoResponseDTO.Item.builder()
+                .linha(item.linha())
+                .valor(item.valor())
+                .dataPagamento(item.dataPagamento())
+                .referencia(item.referencia())
+                .pagador(item.pagador())
+                .cobrancaId(item.cobrancaId())
+                .candidatos(item.candidatos())
+                .motivo(item.motivo())
+                .build();
     }
 }
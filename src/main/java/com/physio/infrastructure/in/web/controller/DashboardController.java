@@ -1,7 +1,9 @@
 package com.physio.infrastructure.in.web.controller;
 
 import com.physio.application.service.DashboardService;
+import com.physio.domain.ports.in.ReconstruirResumoMensalUseCase;
 import com.physio.infrastructure.in.web.dto.DashboardStatsDTO;
+import com.physio.infrastructure.in.web.dto.PacienteInadimplenteDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -10,9 +12,14 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Slf4j
 @RestController
 @RequestMapping("/api/v1/dashboard")
@@ -21,6 +28,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final ReconstruirResumoMensalUseCase reconstruirResumoMensalUseCase;
 
     @Operation(
             summary = "Obter resumo do dashboard",
@@ -43,6 +51,37 @@ public class DashboardController {
 
         return ResponseEntity.ok(resumo);
     }
-}
 
+    @Operation(
+            summary = "Listar pacientes inadimplentes",
+            description = "Pacientes com cobranças pendentes do mês atual ou anteriores, com meses em aberto, " +
+                         "total devido e a pendência mais antiga (maiores dívidas primeiro)"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Lista retornada com sucesso")
+    })
+    @GetMapping("/inadimplentes")
+    public ResponseEntity<List<PacienteInadimplenteDTO>> listarInadimplentes() {
+        return ResponseEntity.ok(dashboardService.listarPacientesInadimplentes());
+    }
 
+    @Operation(
+            summary = "Reconstruir resumo mensal",
+            description = "Refaz a tabela resumo_mensal (totais por mês e serviço usados no dashboard) a partir de " +
+                         "atendimentos e cobranças. Uso para reparo: as escritas normais já mantêm o resumo em dia."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Resumo reconstruído com sucesso")
+    })
+    @PostMapping("/resumo-mensal/reconstruir")
+    public ResponseEntity<Map<String, Object>> reconstruirResumoMensal() {
+        log.info("Recebendo requisição de reconstrução do resumo mensal");
+
+        int linhas = reconstruirResumoMensalUseCase.reconstruir();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("linhasGravadas", linhas);
+        response.put("mensagem", String.format("Resumo mensal reconstruído com %d linha(s)", linhas));
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,17 +1,24 @@
 package com.physio.infrastructure.in.web.controller;
 
+import com.physio.domain.model.AgingRecebiveis;
+import com.physio.domain.model.LinhaAgingRecebiveis;
+import com.physio.domain.ports.in.ConsultarAgingRecebiveisUseCase;
 import com.physio.domain.ports.in.GerarCobrancasUseCase;
+import com.physio.infrastructure.in.web.dto.AgingRecebiveisResponseDTO;
 import com.physio.infrastructure.in.web.dto.GerarCobrancasRequestDTO;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -23,6 +30,7 @@ import java.util.Map;
 public class FinanceiroController {
 
     private final GerarCobrancasUseCase gerarCobrancasUseCase;
+    private final ConsultarAgingRecebiveisUseCase consultarAgingRecebiveisUseCase;
 
     @Operation(
             summary = "Gerar cobranças mensais",
@@ -50,5 +58,40 @@ public class FinanceiroController {
 
         return ResponseEntity.ok(response);
     }
-}
 
+    @Operation(
+            summary = "Aging de recebíveis",
+            description = "Soma das cobranças pendentes por faixa de dias em atraso (0-30, 31-60, 61-90 e acima de 90), " +
+                         "por paciente e por serviço. O vencimento é o dia de vencimento da assinatura no mês de referência."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Aging calculado com sucesso")
+    })
+    @GetMapping("/aging")
+    public ResponseEntity<AgingRecebiveisResponseDTO> aging(
+            @Parameter(description = "Data base para contar os dias em atraso (padrão: hoje)", example = "2024-06-30")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataBase) {
+        AgingRecebiveis aging = consultarAgingRecebiveisUseCase.consultarAging(dataBase);
+
+        return ResponseEntity.ok(AgingRecebiveisResponseDTO.builder()
+                .dataBase(aging.dataBase())
+                .total(toLinha(aging.total()))
+                .porPaciente(aging.porPaciente().stream().map(this::toLinha).toList())
+                .porServico(aging.porServico().stream().map(this::toLinha).toList())
+                .build());
+    }
+
+    private AgingRecebiveisResponseDTO.Linha toLinha(LinhaAgingRecebiveis linha) {
+        return AgingRecebiveisResponseDTO.Linha.builder()
+                .id(linha.id())
+                .nome(linha.nome())
+                .aVencer(linha.aVencer())
+                .ate30Dias(linha.ate30Dias())
+                .de31a60Dias(linha.de31a60Dias())
+                .de61a90Dias(linha.de61a90Dias())
+                .acima90Dias(linha.acima90Dias())
+                .total(linha.total())
+                .quantidade(linha.quantidade())
+                .build();
+    }
+}
@@ -0,0 +1,144 @@
+package com.physio.infrastructure.in.web.controller;
+
+import com.physio.domain.model.ResultadoOperacaoSerie;
+import com.physio.domain.model.SerieRecorrente;
+import com.physio.domain.ports.in.BuscarSerieRecorrenteUseCase;
+import com.physio.domain.ports.in.CancelarSerieUseCase;
+import com.physio.domain.ports.in.ReagendarSerieUseCase;
+import com.physio.domain.ports.in.RegistrarExcecaoSerieUseCase;
+import com.physio.infrastructure.in.web.dto.ExcecaoSerieRequestDTO;
+import com.physio.infrastructure.in.web.dto.ReagendarSerieRequestDTO;
+import com.physio.infrastructure.in.web.dto.ResultadoOperacaoSerieResponseDTO;
+import com.physio.infrastructure.in.web.dto.SerieRecorrenteResponseDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/series")
+@Tag(name = "Séries recorrentes", description = "Regras de agendamento recorrente e suas exceções")
+@RequiredArgsConstructor
+public class SerieRecorrenteController {
+
+    private final BuscarSerieRecorrenteUseCase buscarSerieRecorrenteUseCase;
+    private final RegistrarExcecaoSerieUseCase registrarExcecaoSerieUseCase;
+    private final ReagendarSerieUseCase reagendarSerieUseCase;
+    private final CancelarSerieUseCase cancelarSerieUseCase;
+
+    @Operation(summary = "Buscar série recorrente por ID")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Série encontrada"),
+            @ApiResponse(responseCode = "404", description = "Série não encontrada")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<SerieRecorrenteResponseDTO> buscarPorId(@Parameter(description = "ID da série", example = "1") @PathVariable Long id) {
+        var serie = buscarSerieRecorrenteUseCase.buscarPorId(id)
+                .orElseThrow(() -> new jakarta.persistence.EntityNotFoundException("Série recorrente não encontrada: " + id));
+        return ResponseEntity.ok(toResponse(serie));
+    }
+
+    @Operation(
+            summary = "Cancelar ou remarcar uma sessão futura da série",
+            description = "Registra uma exceção para uma data da série que ainda não virou atendimento. " +
+                         "Sem 'novaDataHora' a sessão é cancelada; com ela, a sessão é remarcada."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Exceção registrada"),
+            @ApiResponse(responseCode = "400", description = "Data fora da série ou já materializada"),
+            @ApiResponse(responseCode = "404", description = "Série não encontrada")
+    })
+    @PostMapping("/{id}/excecoes")
+    public ResponseEntity<SerieRecorrenteResponseDTO> registrarExcecao(
+            @Parameter(description = "ID da série", example = "1") @PathVariable Long id,
+            @Valid @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Sessão a cancelar ou remarcar")
+            @RequestBody ExcecaoSerieRequestDTO request) {
+
+        var serie = registrarExcecaoSerieUseCase.registrarExcecao(id, request.getDataOriginal(), request.getNovaDataHora());
+        return ResponseEntity.ok(toResponse(serie));
+    }
+
+    @Operation(
+            summary = "Reagendar a série a partir de uma data",
+            description = "Muda o horário e/ou os dias da semana de todas as sessões agendadas a partir de 'aPartirDe', " +
+                         "revalidando a capacidade em lote. Sessões que não couberem na nova regra ficam como estão e são " +
+                         "devolvidas em 'conflitos'."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Série reagendada; resumo das sessões afetadas e dos conflitos"),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos ou nenhuma alteração informada"),
+            @ApiResponse(responseCode = "404", description = "Série não encontrada")
+    })
+    @PutMapping("/{id}/regra")
+    public ResponseEntity<ResultadoOperacaoSerieResponseDTO> reagendar(
+            @Parameter(description = "ID da série", example = "1") @PathVariable Long id,
+            @Valid @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Nova regra da série")
+            @RequestBody ReagendarSerieRequestDTO request) {
+
+        var resultado = reagendarSerieUseCase.reagendarAPartirDe(id, request.getAPartirDe(), request.getHorario(), request.getDiasSemana());
+        return ResponseEntity.ok(toResponse(resultado));
+    }
+
+    @Operation(
+            summary = "Cancelar a série a partir de uma data",
+            description = "Remove todas as sessões agendadas a partir de 'aPartirDe' e encerra a série na véspera"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Série cancelada; resumo das sessões removidas"),
+            @ApiResponse(responseCode = "404", description = "Série não encontrada")
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ResultadoOperacaoSerieResponseDTO> cancelar(
+            @Parameter(description = "ID da série", example = "1") @PathVariable Long id,
+            @RequestParam @Parameter(description = "Data inicial do cancelamento (formato: yyyy-MM-dd)", example = "2026-03-02")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate aPartirDe) {
+
+        var resultado = cancelarSerieUseCase.cancelarAPartirDe(id, aPartirDe);
+        return ResponseEntity.ok(toResponse(resultado));
+    }
+
+    private ResultadoOperacaoSerieResponseDTO toResponse(ResultadoOperacaoSerie resultado) {
+        return ResultadoOperacaoSerieResponseDTO.builder()
+                .serieId(resultado.serieId())
+                .afetados(resultado.afetados())
+                .conflitos(resultado.conflitos().stream()
+                        .map(c -> ResultadoOperacaoSerieResponseDTO.Conflito.builder()
+                                .atendimentoId(c.atendimentoId())
+                                .dataHora(c.dataHora())
+                                .motivo(c.motivo())
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    private SerieRecorrenteResponseDTO toResponse(SerieRecorrente serie) {
+        return SerieRecorrenteResponseDTO.builder()
+                .id(serie.getId())
+                .pacienteId(serie.getPaciente().getId())
+                .servicoId(serie.getServico().getId())
+                .diasSemana(serie.getDiasSemana())
+                .horario(serie.getHorario())
+                .dataInicio(serie.getDataInicio())
+                .dataFim(serie.getDataFim())
+                .materializadoAte(serie.getMaterializadoAte())
+                .ativa(serie.getAtiva())
+                .excecoes(serie.getExcecoes().stream()
+                        .map(e -> SerieRecorrenteResponseDTO.Excecao.builder()
+                                .dataOriginal(e.getDataOriginal())
+                                .tipo(e.getTipo().name())
+                                .novaDataHora(e.getNovaDataHora())
+                                .build())
+                        .toList())
+                .build();
+    }
+}
@@ -0,0 +1,51 @@
+package com.physio.infrastructure.in.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Aging das cobranças pendentes por faixa de dias em atraso")
+public class AgingRecebiveisResponseDTO {
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    @Schema(description = "Data base usada para contar os dias em atraso", example = "2024-06-30")
+    private LocalDate dataBase;
+
+    private Linha total;
+
+    private List<Linha> porPaciente;
+
+    private List<Linha> porServico;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Linha {
+        @Schema(description = "ID do paciente ou do serviço (nulo no total)")
+        private Long id;
+        private String nome;
+        @JsonProperty("aVencer")
+        @Schema(description = "Pendentes ainda não vencidas")
+        private BigDecimal aVencer;
+        private BigDecimal ate30Dias;
+        private BigDecimal de31a60Dias;
+        private BigDecimal de61a90Dias;
+        private BigDecimal acima90Dias;
+        private BigDecimal total;
+        @Schema(description = "Quantidade de cobranças pendentes")
+        private Long quantidade;
+    }
+}
@@ -31,4 +31,7 @@ public class AtendimentoResponseDTO {
     private String evolucao;
     private String recebedor;
     private String tipoPagamento;
+
+    @Schema(description = "Série recorrente de origem (nulo para agendamentos avulsos)")
+    private Integer serieId;
 }
@@ -0,0 +1,28 @@
+package com.physio.infrastructure.in.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExcecaoSerieRequestDTO {
+    @NotNull(message = "A data original da sessão é obrigatória")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    @Schema(description = "Data da sessão na regra da série", example = "2026-03-02")
+    private LocalDate dataOriginal;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    @Schema(description = "Nova data/hora da sessão (opcional). Se não informada, a sessão é cancelada",
+            example = "2026-03-03T10:00:00")
+    private LocalDateTime novaDataHora;
+}
@@ -0,0 +1,28 @@
+package com.physio.infrastructure.in.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HorarioDisponivelResponseDTO {
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    @Schema(example = "2025-12-01T10:00:00")
+    private LocalDateTime dataHoraInicio;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    @Schema(example = "2025-12-01T11:00:00")
+    private LocalDateTime dataHoraFim;
+
+    @Schema(description = "Vagas ainda livres no horário", example = "3")
+    private Integer vagasRestantes;
+}
@@ -0,0 +1,51 @@
+package com.physio.infrastructure.in.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.physio.domain.model.StatusJob;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobAgendamentoResponseDTO {
+    private String id;
+
+    @Schema(description = "PENDENTE, EM_EXECUCAO, CONCLUIDO ou FALHOU")
+    private StatusJob status;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime criadoEm;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime iniciadoEm;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime concluidoEm;
+
+    @Schema(description = "Atendimentos criados (preenchido quando CONCLUIDO)")
+    private List<AtendimentoResponseDTO> atendimentos;
+
+    @Schema(description = "Datas que não puderam ser agendadas e o motivo")
+    private List<Conflito> conflitos;
+
+    @Schema(description = "Motivo da falha do pedido como um todo (preenchido quando FALHOU)")
+    private String erro;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Conflito {
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        private LocalDateTime dataHora;
+        private String motivo;
+    }
+}
@@ -0,0 +1,21 @@
+package com.physio.infrastructure.in.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LinkAgendaIcsResponseDTO {
+
+    @Schema(example = "1")
+    private Long servicoId;
+
+    @Schema(description = "URL para assinar no aplicativo de calendário (dá acesso à agenda sem login: trate como senha)",
+            example = "https://clinica.exemplo/api/v1/servicos/1/agenda/3q2-7wYt...kQ.ics")
+    private String url;
+}
@@ -0,0 +1,35 @@
+package com.physio.infrastructure.in.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Paciente com cobranças pendentes vencidas")
+public class PacienteInadimplenteDTO {
+
+    @Schema(example = "1")
+    private Integer pacienteId;
+
+    @Schema(example = "João Silva")
+    private String nome;
+
+    @Schema(description = "Meses de referência com cobrança pendente", example = "2")
+    private Long mesesEmAberto;
+
+    @Schema(description = "Soma das cobranças pendentes vencidas", example = "300.00")
+    private BigDecimal totalDevido;
+
+    @Schema(description = "Mês de referência da pendência mais antiga", example = "9")
+    private Integer mesMaisAntigo;
+
+    @Schema(description = "Ano de referência da pendência mais antiga", example = "2025")
+    private Integer anoMaisAntigo;
+}
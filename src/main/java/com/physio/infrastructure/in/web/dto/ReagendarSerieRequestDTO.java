@@ -0,0 +1,34 @@
+package com.physio.infrastructure.in.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReagendarSerieRequestDTO {
+    @NotNull(message = "A data inicial da alteração é obrigatória")
+    // Nome explícito: o getter gerado (getAPartirDe) levaria o Jackson a usar "apartirDe"
+    @JsonProperty("aPartirDe")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    @Schema(description = "Sessões a partir desta data passam a seguir a nova regra", example = "2026-03-02")
+    private LocalDate aPartirDe;
+
+    @JsonFormat(pattern = "HH:mm:ss")
+    @Schema(description = "Novo horário das sessões (opcional)", example = "14:00:00")
+    private LocalTime horario;
+
+    @Schema(description = "Novos dias da semana (opcional). 1=Segunda ... 7=Domingo", example = "[2, 4]")
+    private List<Integer> diasSemana;
+}
@@ -0,0 +1,49 @@
+package com.physio.infrastructure.in.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado da conciliação de um arquivo de retorno bancário")
+public class ResultadoConciliacaoResponseDTO {
+
+    @Schema(description = "Pagamentos (créditos) lidos do arquivo", example = "120")
+    private Long pagamentosLidos;
+
+    @Schema(description = "Pagamentos conciliados; as cobranças foram marcadas como PAGO")
+    private List<Item> conciliados;
+
+    @Schema(description = "Pagamentos sem cobrança correspondente")
+    private List<Item> naoConciliados;
+
+    @Schema(description = "Pagamentos com mais de uma cobrança candidata (baixa manual)")
+    private List<Item> ambiguos;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        @Schema(description = "Linha do arquivo onde o pagamento começa")
+        private Long linha;
+        private BigDecimal valor;
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        private LocalDate dataPagamento;
+        private String referencia;
+        private String pagador;
+        private Long cobrancaId;
+        private List<Long> candidatos;
+        private String motivo;
+    }
+}
@@ -0,0 +1,23 @@
+package com.physio.infrastructure.in.web.dto;
+
+import com.physio.domain.model.SituacaoItemLote;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoItemLoteCobrancaResponseDTO {
+    @Schema(description = "ID da cobrança", example = "1")
+    private Long id;
+
+    @Schema(example = "ATUALIZADA")
+    private SituacaoItemLote situacao;
+
+    @Schema(description = "Motivo quando o item não foi atualizado")
+    private String mensagem;
+}
@@ -0,0 +1,36 @@
+package com.physio.infrastructure.in.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoOperacaoSerieResponseDTO {
+    @Schema(description = "Série que segue com a regra (nova série quando a alteração divide a original)")
+    private Integer serieId;
+
+    @Schema(description = "Sessões canceladas, movidas ou geradas pela operação")
+    private Integer afetados;
+
+    private List<Conflito> conflitos;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Conflito {
+        private Integer atendimentoId;
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        private LocalDateTime dataHora;
+        private String motivo;
+    }
+}
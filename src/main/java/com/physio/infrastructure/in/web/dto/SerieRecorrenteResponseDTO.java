@@ -0,0 +1,55 @@
+package com.physio.infrastructure.in.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SerieRecorrenteResponseDTO {
+    private Integer id;
+    private Integer pacienteId;
+    private Integer servicoId;
+
+    @Schema(example = "[1, 3, 5]")
+    private List<Integer> diasSemana;
+
+    @JsonFormat(pattern = "HH:mm:ss")
+    @Schema(example = "10:00:00")
+    private LocalTime horario;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate dataInicio;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate dataFim;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    @Schema(description = "Última data com atendimentos já gerados")
+    private LocalDate materializadoAte;
+
+    private Boolean ativa;
+    private List<Excecao> excecoes;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Excecao {
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        private LocalDate dataOriginal;
+        private String tipo;
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        private LocalDateTime novaDataHora;
+    }
+}
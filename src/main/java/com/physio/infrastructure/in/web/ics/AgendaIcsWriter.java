@@ -0,0 +1,102 @@
+package com.physio.infrastructure.in.web.ics;
+
+import com.physio.domain.model.EventoAgenda;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Escreve a agenda no formato iCalendar (RFC 5545), um evento por vez, direto no Writer da resposta.
+ * Horários são convertidos para UTC a partir do fuso da clínica, dispensando VTIMEZONE.
+ */
+public class AgendaIcsWriter {
+
+    private static final DateTimeFormatter UTC = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    private static final int LIMITE_LINHA_BYTES = 75;
+
+    private final Writer writer;
+    private final ZoneId fuso;
+    private final long duracaoPadraoMinutos;
+    private final String dtstamp;
+
+    public AgendaIcsWriter(Writer writer, ZoneId fuso, long duracaoPadraoMinutos) {
+        this.writer = writer;
+        this.fuso = fuso;
+        this.duracaoPadraoMinutos = duracaoPadraoMinutos;
+        this.dtstamp = UTC.format(Instant.now());
+    }
+
+    public void inicio(String nomeCalendario) {
+        linha("BEGIN:VCALENDAR");
+        linha("VERSION:2.0");
+        linha("PRODID:-//physio-manager//Agenda//PT");
+        linha("CALSCALE:GREGORIAN");
+        linha("METHOD:PUBLISH");
+        linha("X-WR-CALNAME:" + escapar(nomeCalendario));
+    }
+
+    public void evento(EventoAgenda evento) {
+        LocalDateTime fim = evento.fim() != null && evento.fim().isAfter(evento.inicio())
+                ? evento.fim()
+                : evento.inicio().plusMinutes(duracaoPadraoMinutos);
+
+        linha("BEGIN:VEVENT");
+        linha("UID:atendimento-" + evento.atendimentoId() + "@physio-manager");
+        linha("DTSTAMP:" + dtstamp);
+        linha("DTSTART:" + utc(evento.inicio()));
+        linha("DTEND:" + utc(fim));
+        linha("SUMMARY:" + escapar(evento.paciente() + " - " + evento.servico()));
+        linha("STATUS:" + ("CANCELADO".equals(evento.status()) ? "CANCELLED" : "CONFIRMED"));
+        if (evento.status() != null) {
+            linha("DESCRIPTION:" + escapar("Status: " + evento.status()));
+        }
+        linha("END:VEVENT");
+    }
+
+    public void fim() {
+        linha("END:VCALENDAR");
+    }
+
+    private String utc(LocalDateTime dataHora) {
+        return UTC.format(dataHora.atZone(fuso));
+    }
+
+    // Texto: escapa \ ; , e quebras de linha (RFC 5545, 3.3.11)
+    private static String escapar(String texto) {
+        if (texto == null) return "";
+        return texto.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n")
+                .replace("\r", "\\n");
+    }
+
+    // Linhas com mais de 75 bytes são dobradas (CRLF + espaço) sem partir caracteres UTF-8
+    private void linha(String conteudo) {
+        try {
+            int bytesNaLinha = 0;
+            int i = 0;
+            while (i < conteudo.length()) {
+                int codePoint = conteudo.codePointAt(i);
+                int tamanho = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+                if (bytesNaLinha + tamanho > LIMITE_LINHA_BYTES) {
+                    writer.write("\r\n ");
+                    bytesNaLinha = 1;
+                }
+                writer.write(Character.toChars(codePoint));
+                bytesNaLinha += tamanho;
+                i += Character.charCount(codePoint);
+            }
+            writer.write("\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
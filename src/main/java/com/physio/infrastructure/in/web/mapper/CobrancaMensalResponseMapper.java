@@ -0,0 +1,26 @@
+package com.physio.infrastructure.in.web.mapper;
+
+import com.physio.domain.model.CobrancaMensal;
+import com.physio.domain.model.CobrancaMensalResumo;
+import com.physio.infrastructure.in.web.dto.CobrancaMensalResponseDTO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+
+import java.util.List;
+
+/**
+ * Monta as respostas de cobrança; a descrição é "Paciente - Serviço"
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface CobrancaMensalResponseMapper {
+
+    @Mapping(target = "descricao", expression = "java(resumo.pacienteNome() + \" - \" + resumo.servicoNome())")
+    CobrancaMensalResponseDTO toResponse(CobrancaMensalResumo resumo);
+
+    List<CobrancaMensalResponseDTO> toResponse(List<CobrancaMensalResumo> resumos);
+
+    @Mapping(target = "assinaturaId", source = "assinatura.id")
+    @Mapping(target = "descricao", expression = "java(cobranca.getAssinatura().getPaciente().getNome() + \" - \" + cobranca.getAssinatura().getServico().getNome())")
+    CobrancaMensalResponseDTO toResponse(CobrancaMensal cobranca);
+}
@@ -0,0 +1,73 @@
+package com.physio.infrastructure.in.web.retorno;
+
+import com.physio.domain.model.FormatoRetorno;
+import com.physio.domain.model.PagamentoRetorno;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Leitura incremental de um arquivo de retorno: cada chamada a proximo() avança só até o próximo
+ * pagamento, de modo que o arquivo nunca fica inteiro em memória.
+ */
+public abstract class LeitorRetornoBancario implements Iterator<PagamentoRetorno> {
+
+    protected final BufferedReader reader;
+    private PagamentoRetorno seguinte;
+    private boolean terminou;
+
+    protected LeitorRetornoBancario(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    public static LeitorRetornoBancario para(FormatoRetorno formato, BufferedReader reader) {
+        return switch (formato) {
+            case CNAB240 -> new LeitorRetornoCnab240(reader);
+            case OFX -> new LeitorRetornoOfx(reader);
+        };
+    }
+
+    /**
+     * Próximo pagamento do arquivo, ou null ao final
+     */
+    protected abstract PagamentoRetorno proximo() throws IOException;
+
+    public Stream<PagamentoRetorno> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (seguinte == null && !terminou) {
+            try {
+                seguinte = proximo();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            terminou = seguinte == null;
+        }
+        return seguinte != null;
+    }
+
+    @Override
+    public PagamentoRetorno next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        PagamentoRetorno atual = seguinte;
+        seguinte = null;
+        return atual;
+    }
+}
@@ -0,0 +1,98 @@
+package com.physio.infrastructure.in.web.retorno;
+
+import com.physio.domain.model.PagamentoRetorno;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+
+/**
+ * Retorno de cobrança CNAB 240 (FEBRABAN): cada título vem em um par de segmentos T (identificação
+ * do título e do pagador) e U (valores e datas). Só movimentos de liquidação viram pagamento.
+ * Posições conforme o layout padrão FEBRABAN (1-based, inclusivas).
+ */
+public class LeitorRetornoCnab240 extends LeitorRetornoBancario {
+
+    private static final int TAMANHO_REGISTRO = 240;
+    private static final DateTimeFormatter DATA = DateTimeFormatter.ofPattern("ddMMyyyy");
+    // 06 = liquidação, 17 = liquidação após baixa ou título não registrado
+    private static final Set<String> MOVIMENTOS_LIQUIDACAO = Set.of("06", "17");
+
+    private long numeroLinha;
+    private SegmentoT segmentoT;
+
+    private record SegmentoT(long linha, String referencia, String documentoPagador, String nomePagador) {
+    }
+
+    LeitorRetornoCnab240(BufferedReader reader) {
+        super(reader);
+    }
+
+    @Override
+    protected PagamentoRetorno proximo() throws IOException {
+        String linha;
+        while ((linha = reader.readLine()) != null) {
+            numeroLinha++;
+            if (linha.isBlank()) continue;
+            if (linha.length() < TAMANHO_REGISTRO) {
+                throw new IllegalArgumentException("Linha " + numeroLinha + " do retorno CNAB 240 com " + linha.length()
+                        + " posições (esperado " + TAMANHO_REGISTRO + ")");
+            }
+            if (numeroLinha == 1 && campo(linha, 8, 8).charAt(0) != '0') {
+                throw new IllegalArgumentException("Arquivo não é um retorno CNAB 240 (header de arquivo ausente)");
+            }
+
+            // Tipo de registro 3 = detalhe; segmentos T e U
+            if (campo(linha, 8, 8).charAt(0) != '3') continue;
+            String segmento = campo(linha, 14, 14);
+            String movimento = campo(linha, 16, 17);
+
+            if ("T".equals(segmento)) {
+                segmentoT = MOVIMENTOS_LIQUIDACAO.contains(movimento)
+                        ? new SegmentoT(numeroLinha,
+                                (campo(linha, 106, 130) + " " + campo(linha, 59, 73)).trim(),
+                                campo(linha, 133, 133).equals("1") ? campo(linha, 134, 148) : null,
+                                campo(linha, 149, 188))
+                        : null;
+            } else if ("U".equals(segmento) && segmentoT != null) {
+                SegmentoT t = segmentoT;
+                segmentoT = null;
+                LocalDate data = data(campo(linha, 138, 145));
+                return new PagamentoRetorno(
+                        t.linha(),
+                        valor(campo(linha, 78, 92)),
+                        data != null ? data : data(campo(linha, 146, 153)),
+                        t.referencia(),
+                        t.documentoPagador(),
+                        t.nomePagador().isEmpty() ? null : t.nomePagador());
+            }
+        }
+        return null;
+    }
+
+    private static String campo(String linha, int inicio, int fim) {
+        return linha.substring(inicio - 1, fim).trim();
+    }
+
+    // Valores numéricos sem separador, duas casas decimais implícitas
+    private BigDecimal valor(String texto) {
+        try {
+            return new BigDecimal(texto).movePointLeft(2);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido na linha " + numeroLinha + " do retorno CNAB 240: " + texto);
+        }
+    }
+
+    private static LocalDate data(String texto) {
+        if (texto.isEmpty() || texto.chars().allMatch(c -> c == '0')) return null;
+        try {
+            return LocalDate.parse(texto, DATA);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
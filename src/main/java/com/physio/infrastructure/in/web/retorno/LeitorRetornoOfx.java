@@ -0,0 +1,154 @@
+package com.physio.infrastructure.in.web.retorno;
+
+import com.physio.domain.model.PagamentoRetorno;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extrato OFX (1.x SGML ou 2.x XML): lê tag a tag e devolve cada STMTTRN de crédito como pagamento.
+ * Elementos sem tag de fechamento (SGML) são aceitos; só a transação corrente fica em memória.
+ */
+public class LeitorRetornoOfx extends LeitorRetornoBancario {
+
+    private static final DateTimeFormatter DATA = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final Pattern CPF = Pattern.compile("\\b(\\d{3}\\.?\\d{3}\\.?\\d{3}-?\\d{2})\\b");
+    private static final int TAMANHO_MAXIMO_TOKEN = 4096;
+
+    private long numeroLinha = 1;
+    private int devolvido = -1;
+
+    LeitorRetornoOfx(BufferedReader reader) {
+        super(reader);
+    }
+
+    @Override
+    protected PagamentoRetorno proximo() throws IOException {
+        Map<String, String> transacao = null;
+        long linhaTransacao = 0;
+        String tagAberta = null;
+
+        String token;
+        while ((token = proximoToken()) != null) {
+            if (token.startsWith("<")) {
+                String tag = token.substring(1, token.length() - 1).trim().toUpperCase();
+                if (tag.equals("STMTTRN")) {
+                    transacao = new HashMap<>();
+                    linhaTransacao = numeroLinha;
+                } else if (tag.equals("/STMTTRN") && transacao != null) {
+                    PagamentoRetorno pagamento = pagamento(transacao, linhaTransacao);
+                    transacao = null;
+                    if (pagamento != null) return pagamento;
+                }
+                tagAberta = tag.startsWith("/") ? null : tag;
+            } else if (transacao != null && tagAberta != null) {
+                String valor = decodificar(token.trim());
+                if (!valor.isEmpty()) transacao.putIfAbsent(tagAberta, valor);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Próxima tag ("<...>") ou texto entre tags; null ao final do arquivo
+     */
+    private String proximoToken() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        int c;
+        while ((c = ler()) != -1) {
+            if (c == '<') {
+                if (!sb.isEmpty()) {
+                    // O '<' pertence ao próximo token
+                    devolvido = c;
+                    return sb.toString();
+                }
+                sb.append('<');
+                while ((c = ler()) != -1 && c != '>') {
+                    sb.append((char) c);
+                    limitar(sb);
+                }
+                return sb.append('>').toString();
+            }
+            sb.append((char) c);
+            limitar(sb);
+        }
+        return sb.isEmpty() ? null : sb.toString();
+    }
+
+    private int ler() throws IOException {
+        if (devolvido != -1) {
+            int c = devolvido;
+            devolvido = -1;
+            return c;
+        }
+        int c = reader.read();
+        if (c == '\n') numeroLinha++;
+        return c;
+    }
+
+    private void limitar(StringBuilder sb) {
+        if (sb.length() > TAMANHO_MAXIMO_TOKEN) {
+            throw new IllegalArgumentException("Arquivo OFX inválido perto da linha " + numeroLinha);
+        }
+    }
+
+    // Só créditos (TRNAMT positivo) interessam para a baixa de cobranças
+    private PagamentoRetorno pagamento(Map<String, String> t, long linha) {
+        BigDecimal valor = valor(t.get("TRNAMT"), linha);
+        if (valor == null || valor.signum() <= 0) return null;
+
+        String nome = t.get("NAME");
+        String memo = t.get("MEMO");
+        String referencia = String.join(" ",
+                t.getOrDefault("CHECKNUM", ""), t.getOrDefault("REFNUM", ""), memo != null ? memo : "").trim();
+
+        return new PagamentoRetorno(
+                linha,
+                valor,
+                data(t.get("DTPOSTED")),
+                referencia.isEmpty() ? null : referencia,
+                cpf(nome, memo),
+                nome != null ? nome : memo);
+    }
+
+    private static BigDecimal valor(String texto, long linha) {
+        if (texto == null) return null;
+        try {
+            return new BigDecimal(texto.replace(",", "."));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido na transação da linha " + linha + " do OFX: " + texto);
+        }
+    }
+
+    // DTPOSTED: AAAAMMDD[HHMMSS[.XXX]][[-3:BRT]]; só a data interessa
+    private static LocalDate data(String texto) {
+        if (texto == null || texto.length() < 8) return null;
+        try {
+            return LocalDate.parse(texto.substring(0, 8), DATA);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static String cpf(String... textos) {
+        for (String texto : textos) {
+            if (texto == null) continue;
+            Matcher m = CPF.matcher(texto);
+            if (m.find()) return m.group(1);
+        }
+        return null;
+    }
+
+    private static String decodificar(String texto) {
+        return texto.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+                .replace("&apos;", "'").replace("&nbsp;", " ").replace("&amp;", "&");
+    }
+}
@@ -0,0 +1,331 @@
+package com.physio.infrastructure.in.web.sse;
+
+import com.physio.domain.event.AtendimentoAtualizadoEvent;
+import com.physio.domain.event.AtendimentoRemovidoEvent;
+import com.physio.domain.event.AtendimentosCriadosEvent;
+import com.physio.domain.model.Atendimento;
+import com.physio.domain.ports.in.BuscarAtendimentoUseCase;
+import com.physio.infrastructure.in.web.dto.AtendimentoResponseDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Conexões SSE das telas de agenda.
+ *
+ * Cada conexão recebe uma vez os atendimentos da janela (evento "snapshot") e, depois, só as
+ * alterações que caem nela ("criado", "atualizado", "removido"), vindas dos eventos de atendimento
+ * após o commit e, via AgendaSseReplicacao, das alterações feitas nas outras instâncias.
+ *
+ * Os eventos são distribuídos em ordem por uma thread própria (não atrasa a transação de origem) e
+ * entram na fila de cada conexão; cada fila é esvaziada por um pool de envio, uma conexão por vez,
+ * então um cliente lento não segura os demais. Uma fila que passa do limite encerra a conexão: o
+ * navegador reconecta e recebe um snapshot novo. Conexões encerradas ou com erro são descartadas no
+ * próximo envio ou heartbeat.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AgendaSseBroadcaster {
+
+    private final BuscarAtendimentoUseCase buscarAtendimentoUseCase;
+
+    @Value("${agenda.stream.timeout-minutos:30}")
+    private long timeoutMinutos;
+
+    @Value("${agenda.stream.threads-envio:4}")
+    private int threadsEnvio;
+
+    @Value("${agenda.stream.fila-maxima:500}")
+    private int filaMaxima;
+
+    private final List<Assinante> assinantes = new CopyOnWriteArrayList<>();
+    private final AtomicLong sequencia = new AtomicLong();
+    // Distribuição dos eventos entre as filas: uma thread, preserva a ordem de publicação
+    private ExecutorService distribuicao;
+    // Escrita nas conexões: cada fila é esvaziada por uma thread por vez
+    private ExecutorService envio;
+
+    /**
+     * Conexão e sua fila de saída. Até o snapshot entrar na fila (iniciar) as alterações ficam só
+     * acumuladas, então nenhuma delta é escrita antes do snapshot.
+     */
+    private final class Assinante {
+        private final SseEmitter emitter;
+        private final LocalDateTime de;
+        private final LocalDateTime ate;
+        private final Deque<SseEmitter.SseEventBuilder> fila = new ArrayDeque<>();
+        private boolean pronto;
+        private boolean enviando;
+        private boolean encerrado;
+
+        private Assinante(SseEmitter emitter, LocalDateTime de, LocalDateTime ate) {
+            this.emitter = emitter;
+            this.de = de;
+            this.ate = ate;
+        }
+
+        boolean cobre(Atendimento atendimento) {
+            LocalDateTime inicio = atendimento.getDataHoraInicio();
+            return inicio != null && !inicio.isBefore(de) && !inicio.isAfter(ate);
+        }
+
+        void iniciar(SseEmitter.SseEventBuilder snapshot) {
+            synchronized (this) {
+                if (encerrado) return;
+                fila.addFirst(snapshot);
+                pronto = true;
+            }
+            agendarEnvio();
+        }
+
+        void oferecer(SseEmitter.SseEventBuilder evento) {
+            boolean excedeu;
+            synchronized (this) {
+                if (encerrado) return;
+                excedeu = fila.size() >= filaMaxima;
+                if (!excedeu) fila.addLast(evento);
+            }
+            if (excedeu) {
+                log.warn("Conexão SSE {} - {} não acompanha as alterações ({} pendentes); encerrando", de, ate, filaMaxima);
+                descartar();
+                emitter.complete();
+                return;
+            }
+            agendarEnvio();
+        }
+
+        private void agendarEnvio() {
+            synchronized (this) {
+                if (!pronto || enviando || encerrado || fila.isEmpty()) return;
+                enviando = true;
+            }
+            envio.execute(this::esvaziar);
+        }
+
+        private void esvaziar() {
+            while (true) {
+                SseEmitter.SseEventBuilder evento;
+                synchronized (this) {
+                    evento = encerrado ? null : fila.pollFirst();
+                    if (evento == null) {
+                        enviando = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(evento);
+                } catch (IOException | IllegalStateException e) {
+                    // Falha de escrita: o container encerra a requisição; aqui só deixa de enviar para ela
+                    descartar();
+                    return;
+                }
+            }
+        }
+
+        void descartar() {
+            synchronized (this) {
+                encerrado = true;
+                enviando = false;
+                fila.clear();
+            }
+            assinantes.remove(this);
+        }
+    }
+
+    @PostConstruct
+    void iniciar() {
+        distribuicao = Executors.newSingleThreadExecutor(fabrica("agenda-sse"));
+        envio = Executors.newFixedThreadPool(threadsEnvio, fabrica("agenda-sse-envio"));
+    }
+
+    private static ThreadFactory fabrica(String nome) {
+        AtomicInteger contador = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, nome + "-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    void encerrar() {
+        distribuicao.shutdown();
+        envio.shutdown();
+        assinantes.forEach(a -> a.emitter.complete());
+    }
+
+    /**
+     * Abre uma conexão para a janela [de, ate] com o snapshot informado.
+     * A conexão é registrada antes do snapshot ser carregado e as alterações que chegam nesse meio
+     * tempo esperam na fila atrás dele: uma alteração concorrente pode chegar duas vezes (no snapshot
+     * e como delta, na ordem em que aconteceu), mas nunca é sobrescrita pelo snapshot.
+     */
+    public SseEmitter conectar(LocalDateTime de, LocalDateTime ate, Supplier<List<AtendimentoResponseDTO>> snapshot) {
+        SseEmitter emitter = new SseEmitter(Duration.ofMinutes(timeoutMinutos).toMillis());
+        Assinante assinante = new Assinante(emitter, de, ate);
+        emitter.onCompletion(assinante::descartar);
+        emitter.onTimeout(assinante::descartar);
+        emitter.onError(e -> assinante.descartar());
+        assinantes.add(assinante);
+
+        try {
+            assinante.iniciar(evento("snapshot", snapshot.get()));
+        } catch (RuntimeException e) {
+            assinante.descartar();
+            throw e;
+        }
+        log.debug("Conexão SSE aberta para {} - {} ({} conexão(ões) ativas)", de, ate, assinantes.size());
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoCriar(AtendimentosCriadosEvent event) {
+        difundirCriados(event.atendimentos());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAtualizar(AtendimentoAtualizadoEvent event) {
+        difundirAtualizado(event.anterior(), event.atual());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoRemover(AtendimentoRemovidoEvent event) {
+        difundirRemovido(event.atendimento());
+    }
+
+    /**
+     * Atendimentos criados. Os que vêm sem status (parciais: séries ou outra instância) são buscados
+     * completos, só quando alguma conexão os acompanha.
+     */
+    public void difundirCriados(List<Atendimento> atendimentos) {
+        if (assinantes.isEmpty()) return;
+        distribuir(() -> {
+            List<Atendimento> criados = atendimentos.stream()
+                    .filter(a -> assinantes.stream().anyMatch(assinante -> assinante.cobre(a)))
+                    .map(this::completar)
+                    .toList();
+            if (criados.isEmpty()) return;
+
+            assinantes.forEach(assinante -> {
+                List<AtendimentoResponseDTO> daJanela = criados.stream()
+                        .filter(assinante::cobre)
+                        .map(AgendaSseBroadcaster::toResponse)
+                        .toList();
+                if (!daJanela.isEmpty()) {
+                    assinante.oferecer(evento("criado", daJanela));
+                }
+            });
+        });
+    }
+
+    public void difundirAtualizado(Atendimento anterior, Atendimento atual) {
+        if (assinantes.isEmpty()) return;
+        distribuir(() -> {
+            Atendimento completo = completar(atual);
+            AtendimentoResponseDTO dto = toResponse(completo);
+
+            assinantes.forEach(assinante -> {
+                if (assinante.cobre(completo)) {
+                    assinante.oferecer(evento("atualizado", List.of(dto)));
+                } else if (anterior != null && assinante.cobre(anterior)) {
+                    // Saiu da janela: para essa tela é uma remoção
+                    assinante.oferecer(evento("removido", List.of(Map.of("id", completo.getId()))));
+                }
+            });
+        });
+    }
+
+    public void difundirRemovido(Atendimento atendimento) {
+        if (assinantes.isEmpty()) return;
+        distribuir(() -> assinantes.forEach(assinante -> {
+            if (assinante.cobre(atendimento)) {
+                assinante.oferecer(evento("removido", List.of(Map.of("id", atendimento.getId()))));
+            }
+        }));
+    }
+
+    /**
+     * Encerra todas as conexões desta instância; os navegadores reconectam e recebem um snapshot novo.
+     * Usado quando alterações de outras instâncias podem ter se perdido.
+     */
+    public void reiniciarConexoes() {
+        assinantes.forEach(assinante -> {
+            assinante.descartar();
+            assinante.emitter.complete();
+        });
+    }
+
+    /**
+     * Comentário periódico: mantém a conexão aberta em proxies e detecta clientes que já saíram
+     */
+    @Scheduled(fixedRateString = "${agenda.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        if (assinantes.isEmpty()) return;
+        distribuir(() -> assinantes.forEach(assinante ->
+                assinante.oferecer(SseEmitter.event().comment("ping"))));
+    }
+
+    // Uma falha (ex.: ao buscar o atendimento) perde só essa alteração, não a thread de distribuição
+    private void distribuir(Runnable tarefa) {
+        distribuicao.execute(() -> {
+            try {
+                tarefa.run();
+            } catch (RuntimeException e) {
+                log.error("Erro ao distribuir alteração de agenda às conexões SSE", e);
+            }
+        });
+    }
+
+    private SseEmitter.SseEventBuilder evento(String tipo, Object dados) {
+        return SseEmitter.event()
+                .id(String.valueOf(sequencia.incrementAndGet()))
+                .name(tipo)
+                .data(dados);
+    }
+
+    // Alterações em lote (séries) e de outras instâncias publicam o atendimento parcial (sem status)
+    private Atendimento completar(Atendimento atendimento) {
+        if (atendimento.getStatus() != null) return atendimento;
+        return buscarAtendimentoUseCase.buscarPorId(atendimento.getId().longValue()).orElse(atendimento);
+    }
+
+    private static AtendimentoResponseDTO toResponse(Atendimento a) {
+        return AtendimentoResponseDTO.builder()
+                .id(a.getId())
+                .pacienteId(a.getPaciente() != null ? a.getPaciente().getId() : null)
+                .servicoBaseId(a.getServicoBase() != null ? a.getServicoBase().getId() : null)
+                .dataHoraInicio(a.getDataHoraInicio())
+                .valorCobrado(a.getValorCobrado())
+                .pctClinicaSnapshot(a.getPctClinicaSnapshot())
+                .pctProfissionalSnapshot(a.getPctProfissionalSnapshot())
+                .status(a.getStatus())
+                .evolucao(a.getEvolucao())
+                .recebedor(a.getRecebedor() != null ? a.getRecebedor().name() : null)
+                .tipoPagamento(a.getTipoPagamento() != null ? a.getTipoPagamento().name() : null)
+                .serieId(a.getSerieId())
+                .build();
+    }
+}
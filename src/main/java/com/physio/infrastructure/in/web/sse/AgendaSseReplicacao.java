@@ -0,0 +1,196 @@
+package com.physio.infrastructure.in.web.sse;
+
+import com.physio.domain.event.AtendimentoAtualizadoEvent;
+import com.physio.domain.event.AtendimentoRemovidoEvent;
+import com.physio.domain.event.AtendimentosCriadosEvent;
+import com.physio.domain.model.Atendimento;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Leva as alterações de agenda entre as instâncias da aplicação, via LISTEN/NOTIFY do PostgreSQL.
+ *
+ * Cada alteração publica um aviso no canal agenda_sse com os ids e horários afetados. O pg_notify roda
+ * na transação que originou o evento, então o aviso só sai no commit (e some no rollback). Cada
+ * instância escuta o canal em uma conexão própria, ignora os próprios avisos (já difundidos
+ * localmente) e repassa os demais ao AgendaSseBroadcaster, que busca o estado completo dos
+ * atendimentos que alguma tela acompanha.
+ *
+ * Avisos enviados enquanto a escuta está caída se perdem: ao reconectar, as conexões SSE desta
+ * instância são encerradas para que os navegadores recarreguem o snapshot.
+ */
+@Slf4j
+@Component
+public class AgendaSseReplicacao {
+
+    private static final String CANAL = "agenda_sse";
+    // Limite do payload do NOTIFY é 8000 bytes; cada item ocupa ~50
+    private static final int ITENS_POR_AVISO = 100;
+    private static final String CRIADO = "C";
+    private static final String ATUALIZADO = "A";
+    private static final String REMOVIDO = "R";
+
+    private final AgendaSseBroadcaster broadcaster;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final boolean habilitada;
+    private final long intervaloReconexaoMs;
+    // Identifica os avisos desta instância
+    private final String origem = UUID.randomUUID().toString();
+
+    private volatile boolean ativa;
+    private Thread escuta;
+
+    public AgendaSseReplicacao(
+            AgendaSseBroadcaster broadcaster,
+            JdbcTemplate jdbcTemplate,
+            DataSourceProperties dataSourceProperties,
+            @Value("${agenda.stream.replicacao.habilitada:true}") boolean habilitada,
+            @Value("${agenda.stream.replicacao.reconexao-ms:5000}") long intervaloReconexaoMs) {
+        this.broadcaster = broadcaster;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.habilitada = habilitada;
+        this.intervaloReconexaoMs = intervaloReconexaoMs;
+    }
+
+    @PostConstruct
+    void iniciar() {
+        if (!habilitada) return;
+        ativa = true;
+        escuta = new Thread(this::escutar, "agenda-sse-replicacao");
+        escuta.setDaemon(true);
+        escuta.start();
+    }
+
+    @PreDestroy
+    void encerrar() {
+        ativa = false;
+        if (escuta != null) escuta.interrupt();
+    }
+
+    @EventListener
+    public void aoCriar(AtendimentosCriadosEvent event) {
+        avisar(CRIADO, event.atendimentos().stream()
+                .filter(a -> a.getId() != null)
+                .map(a -> item(a.getId(), a.getDataHoraInicio(), null))
+                .toList());
+    }
+
+    @EventListener
+    public void aoAtualizar(AtendimentoAtualizadoEvent event) {
+        LocalDateTime inicioAnterior = event.anterior() != null ? event.anterior().getDataHoraInicio() : null;
+        avisar(ATUALIZADO, List.of(item(event.atual().getId(), event.atual().getDataHoraInicio(), inicioAnterior)));
+    }
+
+    @EventListener
+    public void aoRemover(AtendimentoRemovidoEvent event) {
+        avisar(REMOVIDO, List.of(item(event.atendimento().getId(), event.atendimento().getDataHoraInicio(), null)));
+    }
+
+    // Formato: tipo;origem;id,inicio,inicioAnterior;... (campos vazios para null)
+    private static String item(Integer id, LocalDateTime inicio, LocalDateTime inicioAnterior) {
+        return id + "," + (inicio != null ? inicio : "") + "," + (inicioAnterior != null ? inicioAnterior : "");
+    }
+
+    private void avisar(String tipo, List<String> itens) {
+        if (!habilitada || itens.isEmpty()) return;
+        for (int i = 0; i < itens.size(); i += ITENS_POR_AVISO) {
+            String payload = tipo + ";" + origem + ";" + String.join(";", itens.subList(i, Math.min(i + ITENS_POR_AVISO, itens.size())));
+            // Mesma conexão/transação do JPA: o PostgreSQL só entrega o aviso no commit
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CANAL, payload);
+        }
+    }
+
+    private void escutar() {
+        boolean reconexao = false;
+        while (ativa) {
+            try (Connection conexao = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                try (Statement statement = conexao.createStatement()) {
+                    statement.execute("LISTEN " + CANAL);
+                }
+                if (reconexao) {
+                    // Avisos do período sem escuta se perderam: as telas recarregam o snapshot
+                    broadcaster.reiniciarConexoes();
+                }
+                log.info("Escutando alterações de agenda das outras instâncias (canal {})", CANAL);
+
+                PGConnection pg = conexao.unwrap(PGConnection.class);
+                while (ativa) {
+                    PGNotification[] avisos = pg.getNotifications((int) intervaloReconexaoMs);
+                    if (avisos == null) continue;
+                    for (PGNotification aviso : avisos) {
+                        try {
+                            receber(aviso.getParameter());
+                        } catch (RuntimeException e) {
+                            log.warn("Aviso de agenda ignorado ({}): {}", aviso.getParameter(), e.getMessage());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!ativa) return;
+                log.warn("Escuta de alterações de agenda caiu; reconectando em {} ms: {}", intervaloReconexaoMs, e.getMessage());
+                reconexao = true;
+                try {
+                    Thread.sleep(intervaloReconexaoMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void receber(String payload) {
+        String[] partes = payload.split(";");
+        if (partes.length < 3 || origem.equals(partes[1])) return;
+
+        List<Atendimento> atuais = new ArrayList<>();
+        List<Atendimento> anteriores = new ArrayList<>();
+        for (int i = 2; i < partes.length; i++) {
+            String[] campos = partes[i].split(",", -1);
+            Integer id = Integer.valueOf(campos[0]);
+            atuais.add(parcial(id, campos[1]));
+            anteriores.add(parcial(id, campos[2]));
+        }
+
+        switch (partes[0]) {
+            case CRIADO -> broadcaster.difundirCriados(atuais);
+            case ATUALIZADO -> {
+                for (int i = 0; i < atuais.size(); i++) {
+                    broadcaster.difundirAtualizado(anteriores.get(i), atuais.get(i));
+                }
+            }
+            case REMOVIDO -> atuais.forEach(broadcaster::difundirRemovido);
+            default -> log.warn("Aviso de agenda desconhecido: {}", partes[0]);
+        }
+    }
+
+    // Só id e horário, sem status: o broadcaster busca o estado completo quando alguma tela acompanha
+    private static Atendimento parcial(Integer id, String inicio) {
+        return Atendimento.builder()
+                .id(id)
+                .dataHoraInicio(inicio.isEmpty() ? null : LocalDateTime.parse(inicio))
+                .build();
+    }
+}
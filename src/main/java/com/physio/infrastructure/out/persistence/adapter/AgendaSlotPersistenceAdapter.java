@@ -0,0 +1,116 @@
+package com.physio.infrastructure.out.persistence.adapter;
+
+import com.physio.domain.model.IntervaloAgenda;
+import com.physio.domain.model.TipoServico;
+import com.physio.domain.ports.out.AgendaSlotRepositoryPort;
+import com.physio.infrastructure.out.persistence.projection.AgendaSlotProjection;
+import com.physio.infrastructure.out.persistence.repository.AgendaSlotJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+@Component
+@RequiredArgsConstructor
+public class AgendaSlotPersistenceAdapter implements AgendaSlotRepositoryPort {
+
+    // Tamanho da célula da grade em agenda_slots (mesma grade da carga inicial da migração V5)
+    private static final int MINUTOS_CELULA = 30;
+
+    private final AgendaSlotJpaRepository jpaRepository;
+
+    @Override
+    public Set<LocalDateTime> reservar(TipoServico tipo, Collection<IntervaloAgenda> intervalos, int quantidade, int limite) {
+        if (intervalos == null || intervalos.isEmpty()) return Set.of();
+
+        Map<LocalDateTime, List<LocalDateTime>> celulasPorInicio = new TreeMap<>();
+        intervalos.forEach(i -> celulasPorInicio.putIfAbsent(i.inicio(), celulas(i)));
+        List<LocalDateTime> todas = celulasPorInicio.values().stream()
+                .flatMap(List::stream)
+                .distinct()
+                .sorted()
+                .toList();
+
+        jpaRepository.criarSlotsInexistentes(todas, todas.get(0), todas.get(todas.size() - 1), tipo.name());
+        Map<LocalDateTime, Integer> ocupacao = new HashMap<>();
+        Map<LocalDateTime, String> tipos = new HashMap<>();
+        for (AgendaSlotProjection slot : jpaRepository.travar(todas)) {
+            ocupacao.put(slot.getDataHoraInicio(), slot.getOcupacao());
+            tipos.put(slot.getDataHoraInicio(), slot.getTipo());
+        }
+
+        // Com as células bloqueadas, cada intervalo só é reservado se couber em todas elas;
+        // os já aceitos contam para os seguintes da mesma chamada
+        Set<LocalDateTime> reservados = new HashSet<>();
+        List<LocalDateTime> ocupadas = new ArrayList<>();
+        for (Map.Entry<LocalDateTime, List<LocalDateTime>> intervalo : celulasPorInicio.entrySet()) {
+            boolean cabe = intervalo.getValue().stream().allMatch(c -> {
+                int atual = ocupacao.getOrDefault(c, 0);
+                return (atual == 0 || tipo.name().equals(tipos.get(c))) && atual + quantidade <= limite;
+            });
+            if (!cabe) continue;
+
+            intervalo.getValue().forEach(c -> {
+                ocupacao.merge(c, quantidade, Integer::sum);
+                tipos.put(c, tipo.name());
+            });
+            ocupadas.addAll(intervalo.getValue());
+            reservados.add(intervalo.getKey());
+        }
+
+        porOcorrencias(ocupadas).forEach((ocorrencias, celulas) ->
+                jpaRepository.ocupar(celulas, tipo.name(), ocorrencias * quantidade));
+        return reservados;
+    }
+
+    @Override
+    public void liberar(Collection<IntervaloAgenda> intervalos, int quantidade) {
+        if (intervalos == null || intervalos.isEmpty()) return;
+
+        List<LocalDateTime> celulas = intervalos.stream()
+                .flatMap(i -> celulas(i).stream())
+                .toList();
+        jpaRepository.travar(celulas.stream().distinct().sorted().toList());
+        porOcorrencias(celulas).forEach((ocorrencias, mesmas) ->
+                jpaRepository.liberar(mesmas, ocorrencias * quantidade));
+    }
+
+    // Agrupa as células pelo número de vezes que aparecem (intervalos da mesma chamada que dividem uma célula):
+    // um UPDATE por contagem, normalmente um só
+    private static Map<Integer, List<LocalDateTime>> porOcorrencias(List<LocalDateTime> celulas) {
+        Map<LocalDateTime, Integer> ocorrencias = new TreeMap<>();
+        celulas.forEach(c -> ocorrencias.merge(c, 1, Integer::sum));
+
+        Map<Integer, List<LocalDateTime>> porContagem = new TreeMap<>();
+        ocorrencias.forEach((c, n) -> porContagem.computeIfAbsent(n, k -> new ArrayList<>()).add(c));
+        return porContagem;
+    }
+
+    /**
+     * Células de 30 minutos cobertas pelo intervalo [inicio, fim); sem fim válido, só a célula do início
+     */
+    private static List<LocalDateTime> celulas(IntervaloAgenda intervalo) {
+        LocalDateTime inicio = intervalo.inicio();
+        LocalDateTime fim = intervalo.fim() != null && intervalo.fim().isAfter(inicio)
+                ? intervalo.fim()
+                : inicio.plusNanos(1);
+
+        List<LocalDateTime> celulas = new ArrayList<>();
+        LocalDateTime celula = inicio.truncatedTo(ChronoUnit.HOURS)
+                .plusMinutes(inicio.getMinute() - inicio.getMinute() % MINUTOS_CELULA);
+        while (celula.isBefore(fim)) {
+            celulas.add(celula);
+            celula = celula.plusMinutes(MINUTOS_CELULA);
+        }
+        return celulas;
+    }
+}
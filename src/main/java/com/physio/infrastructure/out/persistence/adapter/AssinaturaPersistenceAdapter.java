@@ -6,8 +6,10 @@ import com.physio.infrastructure.out.persistence.entity.AssinaturaEntity;
 import com.physio.infrastructure.out.persistence.mapper.AssinaturaMapper;
 import com.physio.infrastructure.out.persistence.repository.AssinaturaJpaRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -52,6 +54,17 @@ public class AssinaturaPersistenceAdapter implements AssinaturaRepositoryPort {
         ).map(mapper::toDomain);
     }
 
+    @Override
+    public List<Long> listarPacientesComAssinaturaAtiva(Collection<Long> pacienteIds, Long servicoId) {
+        if (pacienteIds == null || pacienteIds.isEmpty()) return List.of();
+        return jpaRepository.findPacientesComAssinaturaAtiva(
+                pacienteIds.stream().map(Math::toIntExact).toList(),
+                Math.toIntExact(servicoId)
+        ).stream()
+                .map(Long::valueOf)
+                .toList();
+    }
+
     @Override
     public List<Assinatura> listarAtivas() {
         return jpaRepository.findByAtivoTrue().stream()
@@ -65,5 +78,22 @@ public class AssinaturaPersistenceAdapter implements AssinaturaRepositoryPort {
                 .map(mapper::toDomain)
                 .toList();
     }
-}
 
+    @Override
+    public Optional<Long> menorIdAtivo() {
+        return Optional.ofNullable(jpaRepository.findMenorIdAtivo()).map(Long::valueOf);
+    }
+
+    @Override
+    public Optional<Long> maiorIdAtivo() {
+        return Optional.ofNullable(jpaRepository.findMaiorIdAtivo()).map(Long::valueOf);
+    }
+
+    @Override
+    public List<Long> listarIdsAtivos(Long aposId, Long ateId, int limite) {
+        return jpaRepository.findIdsAtivos(Math.toIntExact(aposId), Math.toIntExact(ateId), PageRequest.of(0, limite))
+                .stream()
+                .map(Long::valueOf)
+                .toList();
+    }
+}
@@ -1,15 +1,26 @@
 package com.physio.infrastructure.out.persistence.adapter;
 
 import com.physio.domain.model.Atendimento;
+import com.physio.domain.model.EventoAgenda;
+import com.physio.domain.model.IntervaloAgenda;
+import com.physio.domain.model.TipoServico;
+import com.physio.domain.model.VersaoAgenda;
 import com.physio.domain.ports.out.AtendimentoRepositoryPort;
 import com.physio.infrastructure.out.persistence.entity.AtendimentoEntity;
 import com.physio.infrastructure.out.persistence.mapper.AtendimentoMapper;
+import com.physio.infrastructure.out.persistence.projection.EventoAgendaProjection;
+import com.physio.infrastructure.out.persistence.projection.IntervaloAgendaProjection;
+import com.physio.infrastructure.out.persistence.projection.VersaoAgendaProjection;
 import com.physio.infrastructure.out.persistence.repository.AtendimentoJpaRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Component
 @RequiredArgsConstructor
@@ -25,6 +36,17 @@ public class AtendimentoPersistenceAdapter implements AtendimentoRepositoryPort
         return mapper.toDomain(savedEntity);
     }
 
+    @Override
+    public List<Atendimento> salvarTodos(List<Atendimento> atendimentos) {
+        // Com IDs por sequence o Hibernate agrupa os INSERTs em lote no flush
+        List<AtendimentoEntity> entities = atendimentos.stream()
+                .map(mapper::toEntity)
+                .toList();
+        return jpaRepository.saveAll(entities).stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
     @Override
     public Atendimento buscarPorId(Long id) {
         return jpaRepository.findById(Math.toIntExact(id))
@@ -32,6 +54,13 @@ public class AtendimentoPersistenceAdapter implements AtendimentoRepositoryPort
                 .orElse(null);
     }
 
+    @Override
+    public Atendimento buscarPorIdParaAtualizacao(Long id) {
+        return jpaRepository.findParaAtualizacaoById(Math.toIntExact(id))
+                .map(mapper::toDomain)
+                .orElse(null);
+    }
+
     @Override
     public java.util.List<Atendimento> listarTodos() {
         return jpaRepository.findAll().stream().map(mapper::toDomain).toList();
@@ -53,16 +82,31 @@ public class AtendimentoPersistenceAdapter implements AtendimentoRepositoryPort
     }
 
     @Override
-    public List<Atendimento> listarConflitosPorPeriodo(
-            LocalDateTime inicio,
-            LocalDateTime fim) {
+    public List<IntervaloAgenda> listarOcupacaoPorPeriodo(LocalDateTime inicio, LocalDateTime fim) {
+        return jpaRepository.findOcupacaoPeriodo(inicio, fim).stream()
+                .map(this::toIntervalo)
+                .toList();
+    }
 
-        return jpaRepository.findConflitosPeriodo(inicio, fim)
-                .stream()
-                .map(mapper::toDomain)
+    @Override
+    public List<IntervaloAgenda> listarSessoesAgendadasDaSerie(Long serieId, LocalDateTime aPartirDe) {
+        return jpaRepository.findSessoesAgendadasDaSerie(Math.toIntExact(serieId), aPartirDe).stream()
+                .map(this::toIntervalo)
                 .toList();
     }
 
+    @Override
+    public int alterarHorario(Collection<Integer> ids, LocalTime novoHorario) {
+        if (ids == null || ids.isEmpty()) return 0;
+        return jpaRepository.alterarHorario(ids, novoHorario);
+    }
+
+    @Override
+    public int deletarTodos(Collection<Integer> ids) {
+        if (ids == null || ids.isEmpty()) return 0;
+        return jpaRepository.deletarPorIds(ids);
+    }
+
     @Override
     public List<Atendimento> listarPorPaciente(Long pacienteId) {
         return jpaRepository.findByPaciente_Id(pacienteId.intValue())
@@ -71,4 +115,31 @@ public class AtendimentoPersistenceAdapter implements AtendimentoRepositoryPort
                 .toList();
     }
 
+    @Override
+    public VersaoAgenda versaoDaAgenda(Long servicoId, LocalDateTime inicio, LocalDateTime fim) {
+        VersaoAgendaProjection versao = jpaRepository.findVersaoAgenda(servicoId.intValue(), inicio, fim);
+        return new VersaoAgenda(servicoId, inicio, fim, versao.getQuantidade(), versao.getSomaVersoes(), versao.getSomaNomes());
+    }
+
+    @Override
+    public void percorrerAgenda(Long servicoId, LocalDateTime inicio, LocalDateTime fim, Consumer<EventoAgenda> consumidor) {
+        try (Stream<EventoAgendaProjection> eventos = jpaRepository.streamAgendaDoServico(servicoId.intValue(), inicio, fim)) {
+            eventos.map(p -> new EventoAgenda(
+                            p.getId(),
+                            p.getDataHoraInicio(),
+                            p.getDataHoraFim(),
+                            p.getStatus(),
+                            p.getPaciente(),
+                            p.getServico()))
+                    .forEach(consumidor);
+        }
+    }
+
+    private IntervaloAgenda toIntervalo(IntervaloAgendaProjection p) {
+        return new IntervaloAgenda(
+                p.getId(),
+                p.getDataHoraInicio(),
+                p.getDataHoraFim(),
+                p.getTipo() != null ? TipoServico.valueOf(p.getTipo()) : null);
+    }
 }
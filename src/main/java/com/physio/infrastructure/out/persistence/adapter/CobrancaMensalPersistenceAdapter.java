@@ -1,22 +1,59 @@
 package com.physio.infrastructure.out.persistence.adapter;
 
+import com.physio.domain.model.AgingRecebiveis;
+import com.physio.domain.model.BaixaCobranca;
 import com.physio.domain.model.CobrancaMensal;
+import com.physio.domain.model.CobrancaMensalResumo;
+import com.physio.domain.model.CobrancaPendente;
+import com.physio.domain.model.LinhaAgingRecebiveis;
+import com.physio.domain.model.SituacaoCobranca;
+import com.physio.domain.model.StatusCobranca;
 import com.physio.domain.ports.out.CobrancaMensalRepositoryPort;
 import com.physio.infrastructure.out.persistence.entity.CobrancaMensalEntity;
 import com.physio.infrastructure.out.persistence.mapper.CobrancaMensalMapper;
+import com.physio.infrastructure.out.persistence.projection.AgingRecebiveisProjection;
+import com.physio.infrastructure.out.persistence.projection.CobrancaMensalResumoProjection;
+import com.physio.infrastructure.out.persistence.projection.SituacaoCobrancaProjection;
 import com.physio.infrastructure.out.persistence.repository.CobrancaMensalJpaRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Component
-@RequiredArgsConstructor
 public class CobrancaMensalPersistenceAdapter implements CobrancaMensalRepositoryPort {
 
     private final CobrancaMensalJpaRepository jpaRepository;
     private final CobrancaMensalMapper mapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final String sqlAtualizacao;
+
+    public CobrancaMensalPersistenceAdapter(
+            CobrancaMensalJpaRepository jpaRepository,
+            CobrancaMensalMapper mapper,
+            JdbcTemplate jdbcTemplate,
+            @Value("${spring.jpa.properties.hibernate.default_schema:}") String schema) {
+        this.jpaRepository = jpaRepository;
+        this.mapper = mapper;
+        this.jdbcTemplate = jdbcTemplate;
+        // JdbcTemplate não conhece o default_schema do Hibernate: a tabela é qualificada aqui
+        String tabela = schema == null || schema.isBlank() ? "cobrancas_mensais" : schema + ".cobrancas_mensais";
+        this.sqlAtualizacao = "UPDATE " + tabela + " SET status = ?, data_pagamento = ?, recebedor = ?, tipo_pagamento = ? " +
+                "WHERE id = ?";
+    }
 
     @Override
     public CobrancaMensal salvar(CobrancaMensal cobrancaMensal) {
@@ -55,7 +92,9 @@ public class CobrancaMensalPersistenceAdapter implements CobrancaMensalRepositor
 
     @Override
     public List<CobrancaMensal> buscarPagasPorPeriodo(Integer anoInicio, Integer mesInicio, Integer anoFim, Integer mesFim) {
-        return jpaRepository.findPagasPorPeriodo(anoInicio, mesInicio, anoFim, mesFim).stream()
+        return jpaRepository.findPagasPorPeriodo(
+                        CobrancaMensalJpaRepository.competencia(anoInicio, mesInicio),
+                        CobrancaMensalJpaRepository.competencia(anoFim, mesFim)).stream()
                 .map(mapper::toDomain)
                 .toList();
     }
@@ -66,5 +105,128 @@ public class CobrancaMensalPersistenceAdapter implements CobrancaMensalRepositor
                 .map(mapper::toDomain)
                 .toList();
     }
-}
 
+    @Override
+    public Optional<CobrancaMensalResumo> buscarResumoPorId(Long id) {
+        return jpaRepository.findResumoById(Math.toIntExact(id)).map(this::toResumo);
+    }
+
+    @Override
+    public List<CobrancaMensalResumo> listarResumosPorAssinatura(Long assinaturaId) {
+        return jpaRepository.findResumosByAssinaturaId(Math.toIntExact(assinaturaId)).stream()
+                .map(this::toResumo)
+                .toList();
+    }
+
+    private CobrancaMensalResumo toResumo(CobrancaMensalResumoProjection p) {
+        return new CobrancaMensalResumo(p.getId(), p.getAssinaturaId(), p.getPacienteNome(), p.getServicoNome(),
+                p.getMesReferencia(), p.getAnoReferencia(), p.getValor(), p.getStatus(), p.getDataPagamento(),
+                p.getRecebedor(), p.getTipoPagamento(), p.getPctClinicaSnapshot(), p.getPctProfissionalSnapshot());
+    }
+
+    @Override
+    public List<SituacaoCobranca> gerarCobrancasDasAssinaturasAtivas(Integer mes, Integer ano) {
+        return jpaRepository.inserirCobrancasDasAssinaturasAtivas(mes, ano).stream()
+                .map(this::toSituacao)
+                .toList();
+    }
+
+    @Override
+    public List<SituacaoCobranca> gerarCobrancasDasAssinaturas(Collection<Long> assinaturaIds, Integer mes, Integer ano) {
+        if (assinaturaIds == null || assinaturaIds.isEmpty()) return List.of();
+        return jpaRepository.inserirCobrancasDasAssinaturas(
+                        assinaturaIds.stream().map(Math::toIntExact).toList(), mes, ano).stream()
+                .map(this::toSituacao)
+                .toList();
+    }
+
+    @Override
+    public List<SituacaoCobranca> gerarCobrancasComVencimentoAte(Integer mes, Integer ano, Integer diaLimite) {
+        return jpaRepository.inserirCobrancasComVencimentoAte(mes, ano, diaLimite).stream()
+                .map(this::toSituacao)
+                .toList();
+    }
+
+    private SituacaoCobranca toSituacao(SituacaoCobrancaProjection p) {
+        return new SituacaoCobranca(p.getId(), p.getServicoId(), p.getMesReferencia(), p.getAnoReferencia(), p.getValor(),
+                p.getPctProfissionalSnapshot(), p.getPctClinicaSnapshot(), StatusCobranca.valueOf(p.getStatus()));
+    }
+
+    @Override
+    public AgingRecebiveis calcularAgingPendentes(LocalDate dataBase) {
+        LinhaAgingRecebiveis total = null;
+        List<LinhaAgingRecebiveis> porPaciente = new ArrayList<>();
+        List<LinhaAgingRecebiveis> porServico = new ArrayList<>();
+
+        for (AgingRecebiveisProjection p : jpaRepository.calcularAgingPendentes(dataBase)) {
+            LinhaAgingRecebiveis linha = new LinhaAgingRecebiveis(
+                    p.getId(), p.getNome(),
+                    p.getNaoVencido(), p.getAte30(), p.getDe31a60(), p.getDe61a90(), p.getAcima90(),
+                    p.getTotal(), p.getQuantidade());
+            switch (p.getDimensao()) {
+                case "PACIENTE" -> porPaciente.add(linha);
+                case "SERVICO" -> porServico.add(linha);
+                default -> total = linha;
+            }
+        }
+
+        // O conjunto vazio do GROUPING SETS sempre devolve o total; mantém o contrato caso não venha
+        if (total == null) {
+            total = new LinhaAgingRecebiveis(null, null, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+                    BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, 0);
+        }
+        return new AgingRecebiveis(dataBase, total, porPaciente, porServico);
+    }
+
+    @Override
+    public List<CobrancaPendente> listarPendentesParaConciliacao() {
+        return jpaRepository.findPendentesParaConciliacao().stream()
+                .map(p -> new CobrancaPendente(p.getId(), p.getValor(), p.getMesReferencia(), p.getAnoReferencia(),
+                        p.getCpfPaciente(), p.getNomePaciente()))
+                .toList();
+    }
+
+    @Override
+    public Set<Long> baixarEmLote(List<BaixaCobranca> baixas) {
+        return atualizarEmLote(sqlAtualizacao + " AND status = 'PENDENTE'", baixas);
+    }
+
+    @Override
+    public Set<Long> atualizarStatusEmLote(List<BaixaCobranca> atualizacoes) {
+        return atualizarEmLote(sqlAtualizacao, atualizacoes);
+    }
+
+    @Override
+    public Map<Long, SituacaoCobranca> buscarSituacoesParaAtualizacao(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) return Map.of();
+        return jpaRepository.findSituacoesParaAtualizacao(ids.stream().map(Math::toIntExact).toList()).stream()
+                .map(this::toSituacao)
+                .collect(Collectors.toMap(SituacaoCobranca::id, Function.identity()));
+    }
+
+    private Set<Long> atualizarEmLote(String sql, List<BaixaCobranca> baixas) {
+        Set<Long> alteradas = new HashSet<>();
+        if (baixas == null || baixas.isEmpty()) return alteradas;
+
+        // Mesma conexão/transação do JPA (JpaTransactionManager expõe a conexão ao JdbcTemplate)
+        int[][] resultado = jdbcTemplate.batchUpdate(sql, baixas, baixas.size(), (ps, baixa) -> {
+            ps.setString(1, baixa.status().name());
+            if (baixa.dataPagamento() != null) ps.setDate(2, Date.valueOf(baixa.dataPagamento()));
+            else ps.setNull(2, Types.DATE);
+            if (baixa.recebedor() != null) ps.setString(3, baixa.recebedor().name());
+            else ps.setNull(3, Types.VARCHAR);
+            if (baixa.tipoPagamento() != null) ps.setString(4, baixa.tipoPagamento().name());
+            else ps.setNull(4, Types.VARCHAR);
+            ps.setInt(5, Math.toIntExact(baixa.cobrancaId()));
+        });
+
+        int i = 0;
+        for (int[] lote : resultado) {
+            for (int linhas : lote) {
+                if (linhas > 0) alteradas.add(baixas.get(i).cobrancaId());
+                i++;
+            }
+        }
+        return alteradas;
+    }
+}
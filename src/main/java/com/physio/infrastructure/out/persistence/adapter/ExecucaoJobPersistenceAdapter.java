@@ -0,0 +1,52 @@
+package com.physio.infrastructure.out.persistence.adapter;
+
+import com.physio.domain.model.ExecucaoJob;
+import com.physio.domain.model.ParticaoJob;
+import com.physio.domain.ports.out.ExecucaoJobRepositoryPort;
+import com.physio.infrastructure.out.persistence.mapper.ExecucaoJobMapper;
+import com.physio.infrastructure.out.persistence.repository.ExecucaoJobJpaRepository;
+import com.physio.infrastructure.out.persistence.repository.ParticaoJobJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class ExecucaoJobPersistenceAdapter implements ExecucaoJobRepositoryPort {
+
+    private final ExecucaoJobJpaRepository execucaoJpaRepository;
+    private final ParticaoJobJpaRepository particaoJpaRepository;
+    private final ExecucaoJobMapper mapper;
+
+    @Override
+    public Optional<ExecucaoJob> buscarPorNomeEChave(String nome, String chave) {
+        return execucaoJpaRepository.findByNomeAndChave(nome, chave)
+                .map(entity -> {
+                    ExecucaoJob execucao = mapper.toDomain(entity);
+                    execucao.setParticoes(new ArrayList<>(particaoJpaRepository.findByExecucaoIdOrderByNumero(entity.getId()).stream()
+                            .map(mapper::toDomain)
+                            .toList()));
+                    return execucao;
+                });
+    }
+
+    @Override
+    public ExecucaoJob salvar(ExecucaoJob execucao) {
+        ExecucaoJob salva = mapper.toDomain(execucaoJpaRepository.save(mapper.toEntity(execucao)));
+        salva.setParticoes(new ArrayList<>(execucao.getParticoes().stream()
+                .map(p -> {
+                    if (p.getId() != null) return p;
+                    p.setExecucaoId(salva.getId());
+                    return salvarParticao(p);
+                })
+                .toList()));
+        return salva;
+    }
+
+    @Override
+    public ParticaoJob salvarParticao(ParticaoJob particao) {
+        return mapper.toDomain(particaoJpaRepository.save(mapper.toEntity(particao)));
+    }
+}
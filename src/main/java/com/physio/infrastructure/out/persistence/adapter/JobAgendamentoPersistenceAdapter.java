@@ -0,0 +1,84 @@
+package com.physio.infrastructure.out.persistence.adapter;
+
+import com.physio.domain.model.JobAgendamento;
+import com.physio.domain.ports.out.JobAgendamentoRepositoryPort;
+import com.physio.infrastructure.out.persistence.entity.AtendimentoEntity;
+import com.physio.infrastructure.out.persistence.mapper.AtendimentoMapper;
+import com.physio.infrastructure.out.persistence.mapper.JobAgendamentoMapper;
+import com.physio.infrastructure.out.persistence.repository.AtendimentoJpaRepository;
+import com.physio.infrastructure.out.persistence.repository.JobAgendamentoConflitoJpaRepository;
+import com.physio.infrastructure.out.persistence.repository.JobAgendamentoJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class JobAgendamentoPersistenceAdapter implements JobAgendamentoRepositoryPort {
+
+    private final JobAgendamentoJpaRepository jpaRepository;
+    private final JobAgendamentoConflitoJpaRepository conflitoJpaRepository;
+    private final AtendimentoJpaRepository atendimentoJpaRepository;
+    private final JobAgendamentoMapper mapper;
+    private final AtendimentoMapper atendimentoMapper;
+
+    // Os conflitos são regravados junto com o job: só o resultado final os preenche
+    @Override
+    @Transactional
+    public JobAgendamento salvar(JobAgendamento job) {
+        jpaRepository.save(mapper.toEntity(job));
+        conflitoJpaRepository.deleteByJobId(job.getId());
+        if (job.getConflitos() != null && !job.getConflitos().isEmpty()) {
+            conflitoJpaRepository.saveAll(job.getConflitos().stream()
+                    .map(c -> mapper.toEntity(job.getId(), c))
+                    .toList());
+        }
+        return job;
+    }
+
+    // Os atendimentos são lidos pelo id guardado no job; os removidos depois da execução não aparecem
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<JobAgendamento> buscarPorId(String id) {
+        return jpaRepository.findById(id).map(entity -> {
+            JobAgendamento job = mapper.toDomain(entity);
+            Map<Integer, AtendimentoEntity> atendimentos = atendimentoJpaRepository.findAllById(entity.getAtendimentoIds()).stream()
+                    .collect(Collectors.toMap(AtendimentoEntity::getId, Function.identity()));
+            job.setAtendimentos(entity.getAtendimentoIds().stream()
+                    .map(atendimentos::get)
+                    .filter(Objects::nonNull)
+                    .map(atendimentoMapper::toDomain)
+                    .toList());
+            job.setConflitos(conflitoJpaRepository.findByJobIdOrderById(id).stream()
+                    .map(mapper::toDomain)
+                    .toList());
+            return job;
+        });
+    }
+
+    @Override
+    @Transactional
+    public void remover(String id) {
+        jpaRepository.deleteById(id);
+    }
+
+    @Override
+    @Transactional
+    public int removerFinalizadosAntesDe(LocalDateTime instante) {
+        return jpaRepository.deletarFinalizadosAntesDe(instante);
+    }
+
+    @Override
+    @Transactional
+    public int marcarInterrompidosAntesDe(LocalDateTime instante, String erro) {
+        return jpaRepository.marcarInterrompidosAntesDe(instante, erro);
+    }
+}
@@ -7,6 +7,8 @@ import com.physio.infrastructure.out.persistence.repository.PacienteJpaRepositor
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Component
@@ -24,6 +26,15 @@ public class PacientePersistenceAdapter implements PacienteRepositoryPort {
                 .map(mapper::toDomain);
     }
 
+    @Override
+    public List<Paciente> buscarPorIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) return List.of();
+        List<Integer> intIds = ids.stream().map(Long::intValue).toList();
+        return jpaRepository.findAllById(intIds).stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
     @Override
     public Optional<Paciente> buscarPorCpf(String cpf) {
         return jpaRepository.findByCpf(cpf)
@@ -0,0 +1,77 @@
+package com.physio.infrastructure.out.persistence.adapter;
+
+import com.physio.domain.model.TotaisResumoMensal;
+import com.physio.domain.model.VariacaoResumoMensal;
+import com.physio.domain.ports.out.ResumoMensalRepositoryPort;
+import com.physio.infrastructure.out.persistence.projection.TotaisResumoMensalProjection;
+import com.physio.infrastructure.out.persistence.repository.ResumoMensalJpaRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+@Component
+public class ResumoMensalPersistenceAdapter implements ResumoMensalRepositoryPort {
+
+    private final ResumoMensalJpaRepository jpaRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final String sqlVariacao;
+
+    public ResumoMensalPersistenceAdapter(
+            ResumoMensalJpaRepository jpaRepository,
+            JdbcTemplate jdbcTemplate,
+            @Value("${spring.jpa.properties.hibernate.default_schema:}") String schema) {
+        this.jpaRepository = jpaRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        // JdbcTemplate não conhece o default_schema do Hibernate: a tabela é qualificada aqui
+        String tabela = schema == null || schema.isBlank() ? "resumo_mensal" : schema + ".resumo_mensal";
+        this.sqlVariacao = "INSERT INTO " + tabela + " AS r " +
+                "(ano, mes, servico_id, atendimentos_concluidos, valor_bruto, valor_profissional, valor_clinica, valor_pendente) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+                "ON CONFLICT (ano, mes, servico_id) DO UPDATE SET " +
+                "atendimentos_concluidos = r.atendimentos_concluidos + EXCLUDED.atendimentos_concluidos, " +
+                "valor_bruto = r.valor_bruto + EXCLUDED.valor_bruto, " +
+                "valor_profissional = r.valor_profissional + EXCLUDED.valor_profissional, " +
+                "valor_clinica = r.valor_clinica + EXCLUDED.valor_clinica, " +
+                "valor_pendente = r.valor_pendente + EXCLUDED.valor_pendente, " +
+                "atualizado_em = CURRENT_TIMESTAMP";
+    }
+
+    @Override
+    public void aplicarVariacoes(List<VariacaoResumoMensal> variacoes) {
+        if (variacoes == null || variacoes.isEmpty()) return;
+
+        // Mesma conexão/transação do JPA; cada linha fica travada só do UPSERT até o commit
+        jdbcTemplate.batchUpdate(sqlVariacao, variacoes, variacoes.size(), (ps, v) -> {
+            ps.setInt(1, v.ano());
+            ps.setInt(2, v.mes());
+            ps.setInt(3, v.servicoId());
+            ps.setLong(4, v.atendimentosConcluidos());
+            ps.setBigDecimal(5, v.valorBruto());
+            ps.setBigDecimal(6, v.valorProfissional());
+            ps.setBigDecimal(7, v.valorClinica());
+            ps.setBigDecimal(8, v.valorPendente());
+        });
+    }
+
+    @Override
+    public int reconstruir() {
+        jpaRepository.travarTabela();
+        jpaRepository.deletarTodos();
+        return jpaRepository.inserirTodos();
+    }
+
+    @Override
+    public TotaisResumoMensal buscarTotais(YearMonth mes) {
+        TotaisResumoMensalProjection p = jpaRepository.findTotaisDoMes(mes.getYear(), mes.getMonthValue());
+        if (p == null) {
+            return new TotaisResumoMensal(mes, 0, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+        }
+        return new TotaisResumoMensal(mes,
+                p.getAtendimentosConcluidos() != null ? p.getAtendimentosConcluidos() : 0,
+                p.getValorBruto(), p.getValorProfissional(), p.getValorClinica(), p.getValorPendente());
+    }
+}
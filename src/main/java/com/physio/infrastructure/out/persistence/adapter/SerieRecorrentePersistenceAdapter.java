@@ -0,0 +1,53 @@
+package com.physio.infrastructure.out.persistence.adapter;
+
+import com.physio.domain.model.SerieRecorrente;
+import com.physio.domain.ports.out.SerieRecorrenteRepositoryPort;
+import com.physio.infrastructure.out.persistence.entity.SerieRecorrenteEntity;
+import com.physio.infrastructure.out.persistence.mapper.SerieRecorrenteMapper;
+import com.physio.infrastructure.out.persistence.repository.SerieRecorrenteJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class SerieRecorrentePersistenceAdapter implements SerieRecorrenteRepositoryPort {
+
+    private final SerieRecorrenteJpaRepository jpaRepository;
+    private final SerieRecorrenteMapper mapper;
+
+    @Override
+    public SerieRecorrente salvar(SerieRecorrente serie) {
+        SerieRecorrenteEntity entity = mapper.toEntity(serie);
+        // A exceção é o lado dono do relacionamento: precisa apontar para a série
+        if (entity.getExcecoes() != null) {
+            entity.getExcecoes().forEach(e -> e.setSerie(entity));
+        }
+        SerieRecorrenteEntity savedEntity = jpaRepository.save(entity);
+        return mapper.toDomain(savedEntity);
+    }
+
+    @Override
+    public Optional<SerieRecorrente> buscarPorId(Long id) {
+        return jpaRepository.findComExcecoesById(Math.toIntExact(id))
+                .map(mapper::toDomain);
+    }
+
+    @Override
+    public Optional<SerieRecorrente> buscarPorIdParaAtualizacao(Long id) {
+        return jpaRepository.findParaAtualizacaoById(Math.toIntExact(id))
+                .map(mapper::toDomain);
+    }
+
+    @Override
+    public List<Long> listarIdsPendentesDeMaterializacao(LocalDate ate, Long aposId, int limite) {
+        return jpaRepository.findIdsPendentesDeMaterializacao(ate, Math.toIntExact(aposId), PageRequest.of(0, limite))
+                .stream()
+                .map(Long::valueOf)
+                .toList();
+    }
+}
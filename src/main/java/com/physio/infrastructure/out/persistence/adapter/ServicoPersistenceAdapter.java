@@ -61,4 +61,15 @@ public class ServicoPersistenceAdapter implements ServicoRepositoryPort {
             jpaRepository.save(entity);
         });
     }
+
+    @Override
+    public void definirTokenAgendaIcs(Long id, String token) {
+        jpaRepository.definirTokenAgendaIcs(id.intValue(), token);
+    }
+
+    @Override
+    public boolean tokenAgendaIcsValido(Long id, String token) {
+        if (id == null || token == null || token.isBlank()) return false;
+        return jpaRepository.existsTokenAgendaIcs(id.intValue(), token);
+    }
 }
@@ -0,0 +1,36 @@
+package com.physio.infrastructure.out.persistence.adapter;
+
+import com.physio.domain.ports.out.TravaDistribuidaPort;
+import com.physio.infrastructure.out.persistence.repository.SchedulerTravaJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+
+@Component
+@RequiredArgsConstructor
+public class TravaDistribuidaPersistenceAdapter implements TravaDistribuidaPort {
+
+    private final SchedulerTravaJpaRepository jpaRepository;
+
+    // Transação própria: a trava precisa estar gravada (e visível às outras instâncias) antes do job começar
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean adquirir(String nome, String dono, Duration duracaoMaxima) {
+        return jpaRepository.adquirir(nome, dono, duracaoMaxima.toSeconds()) > 0;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean renovar(String nome, String dono, Duration duracao) {
+        return jpaRepository.renovar(nome, dono, duracao.toSeconds()) > 0;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void liberar(String nome, String dono, Duration duracaoMinima) {
+        jpaRepository.liberar(nome, dono, duracaoMinima.toSeconds());
+    }
+}
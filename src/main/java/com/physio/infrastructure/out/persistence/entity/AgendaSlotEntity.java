@@ -0,0 +1,29 @@
+package com.physio.infrastructure.out.persistence.entity;
+
+import com.physio.domain.model.TipoServico;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "agenda_slots")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgendaSlotEntity {
+    @Id
+    @Column(name = "data_hora_inicio", nullable = false)
+    private LocalDateTime dataHoraInicio;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo", length = 20, nullable = false)
+    private TipoServico tipo;
+
+    @Column(nullable = false)
+    private Integer ocupacao;
+}
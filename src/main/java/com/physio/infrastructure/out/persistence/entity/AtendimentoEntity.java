@@ -19,7 +19,9 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class AtendimentoEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence com otimizador pooled (allocationSize = INCREMENT BY da sequence) para permitir INSERTs em lote
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "atendimentos_seq")
+    @SequenceGenerator(name = "atendimentos_seq", sequenceName = "atendimentos_seq", allocationSize = 50)
     private Integer id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -59,6 +61,9 @@ public class AtendimentoEntity {
     @Column(name = "tipo_pagamento", length = 25)
     private TipoPagamento tipoPagamento;
 
+    @Column(name = "serie_id")
+    private Integer serieId;
+
     public PacienteEntity getPaciente() {
         return paciente;
     }
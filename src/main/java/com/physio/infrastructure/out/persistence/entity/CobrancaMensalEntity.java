@@ -33,6 +33,10 @@ public class CobrancaMensalEntity {
     @Column(name = "ano_referencia", nullable = false)
     private Integer anoReferencia;
 
+    // Coluna gerada no banco (ano * 100 + mes): só para filtros em consultas, não é atualizada em memória
+    @Column(name = "competencia", insertable = false, updatable = false)
+    private Integer competencia;
+
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal valor;
 
@@ -0,0 +1,50 @@
+package com.physio.infrastructure.out.persistence.entity;
+
+import com.physio.domain.model.StatusJob;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "job_execucao")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExecucaoJobEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(nullable = false, length = 100)
+    private String nome;
+
+    @Column(nullable = false, length = 100)
+    private String chave;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StatusJob status;
+
+    @Column(name = "iniciado_em", nullable = false)
+    private LocalDateTime iniciadoEm;
+
+    @Column(name = "atualizado_em")
+    private LocalDateTime atualizadoEm;
+
+    @Column(name = "concluido_em")
+    private LocalDateTime concluidoEm;
+
+    @Column(nullable = false)
+    private Integer processados;
+
+    @Column(nullable = false)
+    private Integer falhas;
+
+    @Column(columnDefinition = "TEXT")
+    private String erro;
+}
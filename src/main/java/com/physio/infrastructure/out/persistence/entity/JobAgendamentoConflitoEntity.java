@@ -0,0 +1,33 @@
+package com.physio.infrastructure.out.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "job_agendamento_conflito")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobAgendamentoConflitoEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "job_id", nullable = false, length = 36)
+    private String jobId;
+
+    @Column(name = "atendimento_id")
+    private Integer atendimentoId;
+
+    @Column(name = "data_hora")
+    private LocalDateTime dataHora;
+
+    @Column(columnDefinition = "TEXT")
+    private String motivo;
+}
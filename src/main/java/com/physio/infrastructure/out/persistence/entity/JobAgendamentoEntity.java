@@ -0,0 +1,47 @@
+package com.physio.infrastructure.out.persistence.entity;
+
+import com.physio.domain.model.StatusJob;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "job_agendamento")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobAgendamentoEntity {
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StatusJob status;
+
+    @Column(name = "criado_em", nullable = false)
+    private LocalDateTime criadoEm;
+
+    @Column(name = "iniciado_em")
+    private LocalDateTime iniciadoEm;
+
+    @Column(name = "concluido_em")
+    private LocalDateTime concluidoEm;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "atendimento_ids", nullable = false, columnDefinition = "integer[]")
+    @Builder.Default
+    private List<Integer> atendimentoIds = new ArrayList<>();
+
+    @Column(columnDefinition = "TEXT")
+    private String erro;
+}
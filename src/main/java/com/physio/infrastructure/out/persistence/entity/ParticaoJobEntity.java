@@ -0,0 +1,62 @@
+package com.physio.infrastructure.out.persistence.entity;
+
+import com.physio.domain.model.StatusJob;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "job_execucao_particao")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParticaoJobEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "execucao_id", nullable = false)
+    private Integer execucaoId;
+
+    @Column(nullable = false)
+    private Integer numero;
+
+    @Column(name = "inicio_id", nullable = false)
+    private Integer inicioId;
+
+    @Column(name = "fim_id", nullable = false)
+    private Integer fimId;
+
+    @Column(name = "ultimo_id")
+    private Integer ultimoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StatusJob status;
+
+    @Column(nullable = false)
+    private Integer processados;
+
+    @Column(nullable = false)
+    private Integer falhas;
+
+    @Column(columnDefinition = "TEXT")
+    private String erro;
+
+    @Column(name = "atualizado_em")
+    private LocalDateTime atualizadoEm;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "ids_com_falha", nullable = false, columnDefinition = "integer[]")
+    @Builder.Default
+    private List<Integer> idsComFalha = new ArrayList<>();
+}
@@ -0,0 +1,59 @@
+package com.physio.infrastructure.out.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Linha do resumo mensal (mantida só por comandos SQL em lote; a entidade existe para o repositório e a validação do schema)
+ */
+@Entity
+@Table(name = "resumo_mensal")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoMensalEntity {
+
+    @EmbeddedId
+    private Chave id;
+
+    @Column(name = "atendimentos_concluidos", nullable = false)
+    private Long atendimentosConcluidos;
+
+    @Column(name = "valor_bruto", nullable = false, precision = 14, scale = 2)
+    private BigDecimal valorBruto;
+
+    @Column(name = "valor_profissional", nullable = false, precision = 14, scale = 2)
+    private BigDecimal valorProfissional;
+
+    @Column(name = "valor_clinica", nullable = false, precision = 14, scale = 2)
+    private BigDecimal valorClinica;
+
+    @Column(name = "valor_pendente", nullable = false, precision = 14, scale = 2)
+    private BigDecimal valorPendente;
+
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime atualizadoEm;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Chave implements Serializable {
+        @Column(nullable = false)
+        private Integer ano;
+
+        @Column(nullable = false)
+        private Integer mes;
+
+        @Column(name = "servico_id", nullable = false)
+        private Integer servicoId;
+    }
+}
@@ -0,0 +1,30 @@
+package com.physio.infrastructure.out.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "scheduler_trava")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerTravaEntity {
+    @Id
+    @Column(length = 100)
+    private String nome;
+
+    @Column(nullable = false)
+    private String dono;
+
+    @Column(name = "bloqueado_em", nullable = false)
+    private LocalDateTime bloqueadoEm;
+
+    @Column(name = "bloqueado_ate", nullable = false)
+    private LocalDateTime bloqueadoAte;
+}
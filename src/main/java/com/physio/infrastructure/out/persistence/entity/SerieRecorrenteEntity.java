@@ -0,0 +1,59 @@
+package com.physio.infrastructure.out.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "serie_recorrente")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SerieRecorrenteEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "paciente_id", nullable = false)
+    private PacienteEntity paciente;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "servico_id", nullable = false)
+    private ServicoConfigEntity servico;
+
+    // Dias da semana (1=Segunda ... 7=Domingo) separados por vírgula, ex.: "1,3,5"
+    @Column(name = "dias_semana", nullable = false, length = 20)
+    private String diasSemana;
+
+    @Column(nullable = false)
+    private LocalTime horario;
+
+    @Column(name = "data_inicio", nullable = false)
+    private LocalDate dataInicio;
+
+    @Column(name = "data_fim")
+    private LocalDate dataFim;
+
+    @Column(name = "materializado_ate", nullable = false)
+    private LocalDate materializadoAte;
+
+    @Column(nullable = false)
+    private Boolean ativa;
+
+    @Column(name = "data_criacao", nullable = false)
+    private LocalDateTime dataCriacao;
+
+    @Builder.Default
+    @OneToMany(mappedBy = "serie", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<SerieRecorrenteExcecaoEntity> excecoes = new ArrayList<>();
+}
@@ -0,0 +1,41 @@
+package com.physio.infrastructure.out.persistence.entity;
+
+import com.physio.domain.model.TipoExcecaoSerie;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "serie_recorrente_excecao")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SerieRecorrenteExcecaoEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "serie_id", nullable = false)
+    private SerieRecorrenteEntity serie;
+
+    @Column(name = "data_original", nullable = false)
+    private LocalDate dataOriginal;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TipoExcecaoSerie tipo;
+
+    @Column(name = "nova_data_hora")
+    private LocalDateTime novaDataHora;
+}
@@ -0,0 +1,21 @@
+package com.physio.infrastructure.out.persistence.mapper;
+
+import com.physio.domain.model.ExecucaoJob;
+import com.physio.domain.model.ParticaoJob;
+import com.physio.infrastructure.out.persistence.entity.ExecucaoJobEntity;
+import com.physio.infrastructure.out.persistence.entity.ParticaoJobEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface ExecucaoJobMapper {
+    @Mapping(target = "particoes", ignore = true)
+    ExecucaoJob toDomain(ExecucaoJobEntity entity);
+
+    ExecucaoJobEntity toEntity(ExecucaoJob domain);
+
+    ParticaoJob toDomain(ParticaoJobEntity entity);
+
+    ParticaoJobEntity toEntity(ParticaoJob domain);
+}
@@ -0,0 +1,45 @@
+package com.physio.infrastructure.out.persistence.mapper;
+
+import com.physio.domain.model.Atendimento;
+import com.physio.domain.model.ConflitoAgenda;
+import com.physio.domain.model.JobAgendamento;
+import com.physio.infrastructure.out.persistence.entity.JobAgendamentoConflitoEntity;
+import com.physio.infrastructure.out.persistence.entity.JobAgendamentoEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface JobAgendamentoMapper {
+    @Mapping(target = "atendimentos", ignore = true)
+    @Mapping(target = "conflitos", ignore = true)
+    JobAgendamento toDomain(JobAgendamentoEntity entity);
+
+    @Mapping(target = "atendimentoIds", source = "atendimentos")
+    JobAgendamentoEntity toEntity(JobAgendamento domain);
+
+    default List<Integer> atendimentosToIds(List<Atendimento> atendimentos) {
+        if (atendimentos == null) return new ArrayList<>();
+        return new ArrayList<>(atendimentos.stream()
+                .map(Atendimento::getId)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    default ConflitoAgenda toDomain(JobAgendamentoConflitoEntity entity) {
+        return new ConflitoAgenda(entity.getAtendimentoId(), entity.getDataHora(), entity.getMotivo());
+    }
+
+    default JobAgendamentoConflitoEntity toEntity(String jobId, ConflitoAgenda conflito) {
+        return JobAgendamentoConflitoEntity.builder()
+                .jobId(jobId)
+                .atendimentoId(conflito.atendimentoId())
+                .dataHora(conflito.dataHora())
+                .motivo(conflito.motivo())
+                .build();
+    }
+}
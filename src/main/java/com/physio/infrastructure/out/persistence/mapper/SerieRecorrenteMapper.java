@@ -0,0 +1,39 @@
+package com.physio.infrastructure.out.persistence.mapper;
+
+import com.physio.domain.model.ExcecaoSerie;
+import com.physio.domain.model.SerieRecorrente;
+import com.physio.infrastructure.out.persistence.entity.SerieRecorrenteEntity;
+import com.physio.infrastructure.out.persistence.entity.SerieRecorrenteExcecaoEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, uses = {PacienteMapper.class, ServicoConfigMapper.class})
+public interface SerieRecorrenteMapper {
+    SerieRecorrente toDomain(SerieRecorrenteEntity entity);
+    SerieRecorrenteEntity toEntity(SerieRecorrente domain);
+
+    ExcecaoSerie toDomain(SerieRecorrenteExcecaoEntity entity);
+
+    @Mapping(target = "serie", ignore = true)
+    SerieRecorrenteExcecaoEntity toEntity(ExcecaoSerie domain);
+
+    default List<Integer> diasSemanaToList(String diasSemana) {
+        if (diasSemana == null || diasSemana.isBlank()) return List.of();
+        return Arrays.stream(diasSemana.split(","))
+                .map(String::trim)
+                .map(Integer::valueOf)
+                .toList();
+    }
+
+    default String diasSemanaToString(List<Integer> diasSemana) {
+        if (diasSemana == null) return null;
+        return diasSemana.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,12 @@
+package com.physio.infrastructure.out.persistence.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção das células de agenda_slots bloqueadas para reserva (sem carregar entidades no contexto de persistência)
+ */
+public interface AgendaSlotProjection {
+    LocalDateTime getDataHoraInicio();
+    String getTipo();
+    Integer getOcupacao();
+}
@@ -0,0 +1,19 @@
+package com.physio.infrastructure.out.persistence.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Projeção do aging de cobranças pendentes (uma linha por paciente, por serviço e o total geral)
+ */
+public interface AgingRecebiveisProjection {
+    String getDimensao();
+    Long getId();
+    String getNome();
+    BigDecimal getNaoVencido();
+    BigDecimal getAte30();
+    BigDecimal getDe31a60();
+    BigDecimal getDe61a90();
+    BigDecimal getAcima90();
+    BigDecimal getTotal();
+    Long getQuantidade();
+}
@@ -0,0 +1,27 @@
+package com.physio.infrastructure.out.persistence.projection;
+
+import com.physio.domain.model.Recebedor;
+import com.physio.domain.model.StatusCobranca;
+import com.physio.domain.model.TipoPagamento;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Projeção da cobrança com nomes do paciente e do serviço (JOIN na própria consulta, sem carregar associações)
+ */
+public interface CobrancaMensalResumoProjection {
+    Integer getId();
+    Integer getAssinaturaId();
+    String getPacienteNome();
+    String getServicoNome();
+    Integer getMesReferencia();
+    Integer getAnoReferencia();
+    BigDecimal getValor();
+    StatusCobranca getStatus();
+    LocalDate getDataPagamento();
+    Recebedor getRecebedor();
+    TipoPagamento getTipoPagamento();
+    BigDecimal getPctClinicaSnapshot();
+    BigDecimal getPctProfissionalSnapshot();
+}
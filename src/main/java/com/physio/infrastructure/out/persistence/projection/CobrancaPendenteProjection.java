@@ -0,0 +1,15 @@
+package com.physio.infrastructure.out.persistence.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Projeção das cobranças pendentes usada na conciliação de retornos bancários
+ */
+public interface CobrancaPendenteProjection {
+    Long getId();
+    BigDecimal getValor();
+    Integer getMesReferencia();
+    Integer getAnoReferencia();
+    String getCpfPaciente();
+    String getNomePaciente();
+}
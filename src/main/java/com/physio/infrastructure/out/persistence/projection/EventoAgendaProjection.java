@@ -0,0 +1,15 @@
+package com.physio.infrastructure.out.persistence.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção da consulta do feed da agenda (atendimento + nomes do paciente e do serviço)
+ */
+public interface EventoAgendaProjection {
+    Integer getId();
+    LocalDateTime getDataHoraInicio();
+    LocalDateTime getDataHoraFim();
+    String getStatus();
+    String getPaciente();
+    String getServico();
+}
@@ -0,0 +1,13 @@
+package com.physio.infrastructure.out.persistence.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção das consultas nativas de ocupação da agenda (apenas id, intervalo e tipo do serviço)
+ */
+public interface IntervaloAgendaProjection {
+    Integer getId();
+    LocalDateTime getDataHoraInicio();
+    LocalDateTime getDataHoraFim();
+    String getTipo();
+}
@@ -0,0 +1,14 @@
+package com.physio.infrastructure.out.persistence.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Paciente com cobranças pendentes vencidas: meses em aberto, total devido e competência (AAAAMM) mais antiga
+ */
+public interface PacienteInadimplenteProjection {
+    Integer getPacienteId();
+    String getNome();
+    Long getMesesEmAberto();
+    BigDecimal getTotalDevido();
+    Integer getCompetenciaMaisAntiga();
+}
@@ -0,0 +1,17 @@
+package com.physio.infrastructure.out.persistence.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Projeção do estado de uma cobrança usado pelo resumo mensal (serviço da assinatura, competência, valores e status)
+ */
+public interface SituacaoCobrancaProjection {
+    Long getId();
+    Integer getServicoId();
+    Integer getMesReferencia();
+    Integer getAnoReferencia();
+    BigDecimal getValor();
+    BigDecimal getPctProfissionalSnapshot();
+    BigDecimal getPctClinicaSnapshot();
+    String getStatus();
+}
@@ -0,0 +1,14 @@
+package com.physio.infrastructure.out.persistence.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Totais de um mês do resumo mensal, somados entre os serviços
+ */
+public interface TotaisResumoMensalProjection {
+    Long getAtendimentosConcluidos();
+    BigDecimal getValorBruto();
+    BigDecimal getValorProfissional();
+    BigDecimal getValorClinica();
+    BigDecimal getValorPendente();
+}
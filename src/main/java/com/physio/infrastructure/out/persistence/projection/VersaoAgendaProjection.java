@@ -0,0 +1,7 @@
+package com.physio.infrastructure.out.persistence.projection;
+
+public interface VersaoAgendaProjection {
+    Long getQuantidade();
+    Long getSomaVersoes();
+    Long getSomaNomes();
+}
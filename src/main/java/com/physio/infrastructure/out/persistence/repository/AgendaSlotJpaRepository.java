@@ -0,0 +1,72 @@
+package com.physio.infrastructure.out.persistence.repository;
+
+import com.physio.infrastructure.out.persistence.entity.AgendaSlotEntity;
+import com.physio.infrastructure.out.persistence.projection.AgendaSlotProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AgendaSlotJpaRepository extends JpaRepository<AgendaSlotEntity, LocalDateTime> {
+
+    // Garante que exista uma linha para cada célula (sem tocar nas já existentes).
+    // As células vêm como lista IN (não como array) para passarem pela mesma conversão de fuso
+    // (hibernate.jdbc.time_zone) dos demais horários gravados pelo Hibernate
+    @Modifying
+    @Query(value = """
+        INSERT INTO {h-schema}agenda_slots (data_hora_inicio, tipo, ocupacao)
+        SELECT h, :tipo, 0
+        FROM generate_series(CAST(:primeira AS timestamp), CAST(:ultima AS timestamp), INTERVAL '30 minutes') AS h
+        WHERE h IN (:celulas)
+        ORDER BY h
+        ON CONFLICT (data_hora_inicio) DO NOTHING
+    """, nativeQuery = true)
+    int criarSlotsInexistentes(
+            @Param("celulas") List<LocalDateTime> celulas,
+            @Param("primeira") LocalDateTime primeira,
+            @Param("ultima") LocalDateTime ultima,
+            @Param("tipo") String tipo
+    );
+
+    // Bloqueia as células sempre em ordem crescente: reservas e liberações concorrentes
+    // sobre células em comum esperam umas pelas outras em vez de entrar em deadlock
+    @Query(value = """
+        SELECT data_hora_inicio AS "dataHoraInicio", tipo AS "tipo", ocupacao AS "ocupacao"
+        FROM {h-schema}agenda_slots
+        WHERE data_hora_inicio IN (:celulas)
+        ORDER BY data_hora_inicio
+        FOR UPDATE
+    """, nativeQuery = true)
+    List<AgendaSlotProjection> travar(@Param("celulas") List<LocalDateTime> celulas);
+
+    // Células já bloqueadas por travar
+    @Modifying
+    @Query(value = """
+        UPDATE {h-schema}agenda_slots
+        SET ocupacao = ocupacao + :quantidade,
+            tipo = :tipo
+        WHERE data_hora_inicio IN (:celulas)
+    """, nativeQuery = true)
+    int ocupar(
+            @Param("celulas") List<LocalDateTime> celulas,
+            @Param("tipo") String tipo,
+            @Param("quantidade") int quantidade
+    );
+
+    // Células já bloqueadas por travar
+    @Modifying
+    @Query(value = """
+        UPDATE {h-schema}agenda_slots
+        SET ocupacao = GREATEST(ocupacao - :quantidade, 0)
+        WHERE data_hora_inicio IN (:celulas)
+    """, nativeQuery = true)
+    int liberar(
+            @Param("celulas") List<LocalDateTime> celulas,
+            @Param("quantidade") int quantidade
+    );
+}
@@ -1,6 +1,7 @@
 package com.physio.infrastructure.out.persistence.repository;
 
 import com.physio.infrastructure.out.persistence.entity.AssinaturaEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -22,10 +23,39 @@ public interface AssinaturaJpaRepository extends JpaRepository<AssinaturaEntity,
             @Param("servicoId") Integer servicoId
     );
 
+    // IDs dos pacientes (entre os informados) com assinatura ativa para o serviço
+    @Query("SELECT a.paciente.id FROM AssinaturaEntity a " +
+           "WHERE a.paciente.id IN :pacienteIds " +
+           "AND a.servico.id = :servicoId " +
+           "AND a.ativo = true")
+    List<Integer> findPacientesComAssinaturaAtiva(
+            @Param("pacienteIds") List<Integer> pacienteIds,
+            @Param("servicoId") Integer servicoId
+    );
+
     // Buscar todas as assinaturas ativas
     List<AssinaturaEntity> findByAtivoTrue();
 
     // Buscar assinaturas de um paciente
     List<AssinaturaEntity> findByPaciente_Id(Integer pacienteId);
-}
 
+    @Query("SELECT MIN(a.id) FROM AssinaturaEntity a WHERE a.ativo = true")
+    Integer findMenorIdAtivo();
+
+    @Query("SELECT MAX(a.id) FROM AssinaturaEntity a WHERE a.ativo = true")
+    Integer findMaiorIdAtivo();
+
+    // Próximo bloco de ids ativos da faixa (aposId, ateId], em ordem (keyset)
+    @Query("""
+        SELECT a.id FROM AssinaturaEntity a
+        WHERE a.ativo = true
+          AND a.id > :aposId
+          AND a.id <= :ateId
+        ORDER BY a.id
+    """)
+    List<Integer> findIdsAtivos(
+            @Param("aposId") Integer aposId,
+            @Param("ateId") Integer ateId,
+            Pageable pageable
+    );
+}
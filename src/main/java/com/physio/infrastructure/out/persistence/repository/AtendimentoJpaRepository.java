@@ -1,13 +1,26 @@
         package com.physio.infrastructure.out.persistence.repository;
 
 import com.physio.infrastructure.out.persistence.entity.AtendimentoEntity;
+import com.physio.infrastructure.out.persistence.projection.EventoAgendaProjection;
+import com.physio.infrastructure.out.persistence.projection.IntervaloAgendaProjection;
+import com.physio.infrastructure.out.persistence.projection.VersaoAgendaProjection;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 // Mudei Long para Integer aqui pois sua Entity usa Integer no ID
@@ -19,6 +32,11 @@ public interface AtendimentoJpaRepository extends JpaRepository<AtendimentoEntit
     // Busca para o Prontuário
     List<AtendimentoEntity> findByPaciente_Id(Integer pacienteId);
 
+    // SELECT ... FOR UPDATE: alterações concorrentes do mesmo atendimento esperam o commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM AtendimentoEntity a WHERE a.id = :id")
+    Optional<AtendimentoEntity> findParaAtualizacaoById(@Param("id") Integer id);
+
     @Query("SELECT a FROM AtendimentoEntity a " +
             "WHERE a.dataHoraInicio BETWEEN :inicio AND :fim " +
             "AND a.servicoBase.id IN :servicoIds " +
@@ -30,34 +48,87 @@ public interface AtendimentoJpaRepository extends JpaRepository<AtendimentoEntit
             @Param("servicoIds") List<Integer> servicoIds
     );
 
-    // Buscar atendimentos concluídos no mês para dashboard
-    @Query("SELECT COUNT(a) FROM AtendimentoEntity a " +
-            "WHERE a.status = 'CONCLUIDO' " +
-            "AND a.dataHoraInicio >= :inicio " +
-            "AND a.dataHoraInicio < :fim")
-    Long countConcluidosPorMes(
+    // Sobreposição pelo índice GiST de atendimentos.periodo (tsrange [inicio, fim)),
+    // projetando só o necessário para validar capacidade
+    @Query(value = """
+        SELECT a.id AS "id", a.data_hora_inicio AS "dataHoraInicio", a.data_hora_fim AS "dataHoraFim", s.tipo AS "tipo"
+        FROM {h-schema}atendimentos a
+        JOIN {h-schema}servicos_config s ON s.id = a.servico_base_id
+        WHERE a.periodo && tsrange(CAST(:inicio AS TIMESTAMP), CAST(:fim AS TIMESTAMP), '[)')
+        ORDER BY a.data_hora_inicio
+    """, nativeQuery = true)
+    List<IntervaloAgendaProjection> findOcupacaoPeriodo(
             @Param("inicio") LocalDateTime inicio,
             @Param("fim") LocalDateTime fim
     );
 
-    // Buscar atendimentos avulsos concluídos com valor > 0 para cálculo de faturamento
-    @Query("SELECT a FROM AtendimentoEntity a " +
-            "WHERE a.status = 'CONCLUIDO' " +
-            "AND a.valorCobrado > 0 " +
-            "AND a.dataHoraInicio >= :inicio " +
-            "AND a.dataHoraInicio < :fim")
-    List<AtendimentoEntity> findAvulsosConcluidosPorMes(
+    // Sessões ainda agendadas de uma série a partir de uma data, bloqueadas para a operação em massa
+    @Query(value = """
+        SELECT a.id AS "id", a.data_hora_inicio AS "dataHoraInicio", a.data_hora_fim AS "dataHoraFim", s.tipo AS "tipo"
+        FROM {h-schema}atendimentos a
+        JOIN {h-schema}servicos_config s ON s.id = a.servico_base_id
+        WHERE a.serie_id = :serieId
+          AND a.data_hora_inicio >= :aPartirDe
+          AND a.status = 'AGENDADO'
+        ORDER BY a.data_hora_inicio
+        FOR UPDATE OF a
+    """, nativeQuery = true)
+    List<IntervaloAgendaProjection> findSessoesAgendadasDaSerie(
+            @Param("serieId") Integer serieId,
+            @Param("aPartirDe") LocalDateTime aPartirDe
+    );
+
+    // Novo horário do dia para vários atendimentos, mantendo a data e a duração de cada um
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+        UPDATE {h-schema}atendimentos
+        SET data_hora_fim = CAST(data_hora_inicio AS DATE) + CAST(:novoHorario AS TIME) + (data_hora_fim - data_hora_inicio),
+            data_hora_inicio = CAST(data_hora_inicio AS DATE) + CAST(:novoHorario AS TIME)
+        WHERE id IN (:ids)
+    """, nativeQuery = true)
+    int alterarHorario(
+            @Param("ids") Collection<Integer> ids,
+            @Param("novoHorario") LocalTime novoHorario
+    );
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM {h-schema}atendimentos WHERE id IN (:ids)", nativeQuery = true)
+    int deletarPorIds(@Param("ids") Collection<Integer> ids);
+
+    // Versão da agenda de um serviço na janela: index-only scan em idx_atendimentos_servico_inicio,
+    // mais os nomes exibidos no SUMMARY (paciente pela PK de pacientes, serviço uma única linha)
+    @Query(value = """
+        SELECT COUNT(*) AS "quantidade", CAST(COALESCE(SUM(a.versao), 0) AS BIGINT) AS "somaVersoes",
+               CAST(COALESCE(SUM(hashtext(p.nome || '|' || s.nome)), 0) AS BIGINT) AS "somaNomes"
+        FROM {h-schema}atendimentos a
+        JOIN {h-schema}pacientes p ON p.id = a.paciente_id
+        JOIN {h-schema}servicos_config s ON s.id = a.servico_base_id
+        WHERE a.servico_base_id = :servicoId
+          AND a.data_hora_inicio >= :inicio
+          AND a.data_hora_inicio < :fim
+    """, nativeQuery = true)
+    VersaoAgendaProjection findVersaoAgenda(
+            @Param("servicoId") Integer servicoId,
             @Param("inicio") LocalDateTime inicio,
             @Param("fim") LocalDateTime fim
     );
 
-    @Query("""
-        SELECT a FROM AtendimentoEntity a
-        WHERE a.dataHoraInicio < :fim
-          AND a.dataHoraFim > :inicio
-    """)
-    List<AtendimentoEntity> findConflitosPeriodo(
+    // Feed da agenda: lido em blocos pelo cursor do driver (exige transação aberta enquanto o Stream é consumido)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(value = """
+        SELECT a.id AS "id", a.data_hora_inicio AS "dataHoraInicio", a.data_hora_fim AS "dataHoraFim",
+               a.status AS "status", p.nome AS "paciente", s.nome AS "servico"
+        FROM {h-schema}atendimentos a
+        JOIN {h-schema}pacientes p ON p.id = a.paciente_id
+        JOIN {h-schema}servicos_config s ON s.id = a.servico_base_id
+        WHERE a.servico_base_id = :servicoId
+          AND a.data_hora_inicio >= :inicio
+          AND a.data_hora_inicio < :fim
+        ORDER BY a.data_hora_inicio
+    """, nativeQuery = true)
+    Stream<EventoAgendaProjection> streamAgendaDoServico(
+            @Param("servicoId") Integer servicoId,
             @Param("inicio") LocalDateTime inicio,
             @Param("fim") LocalDateTime fim
     );
-}
\ No newline at end of file
+}
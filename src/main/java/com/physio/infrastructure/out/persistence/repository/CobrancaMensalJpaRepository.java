@@ -2,11 +2,19 @@ package com.physio.infrastructure.out.persistence.repository;
 
 import com.physio.domain.model.StatusCobranca;
 import com.physio.infrastructure.out.persistence.entity.CobrancaMensalEntity;
+import com.physio.infrastructure.out.persistence.projection.AgingRecebiveisProjection;
+import com.physio.infrastructure.out.persistence.projection.CobrancaMensalResumoProjection;
+import com.physio.infrastructure.out.persistence.projection.CobrancaPendenteProjection;
+import com.physio.infrastructure.out.persistence.projection.PacienteInadimplenteProjection;
+import com.physio.infrastructure.out.persistence.projection.SituacaoCobrancaProjection;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,55 +28,205 @@ public interface CobrancaMensalJpaRepository extends JpaRepository<CobrancaMensa
             Integer anoReferencia
     );
 
+    // Chave AAAAMM da coluna gerada competencia
+    static int competencia(int ano, int mes) {
+        return ano * 100 + mes;
+    }
+
     // Buscar cobranças pagas para relatório financeiro
     @Query("SELECT c FROM CobrancaMensalEntity c " +
            "WHERE c.status = :status " +
-           "AND c.anoReferencia = :ano " +
-           "AND c.mesReferencia = :mes " +
+           "AND c.competencia = :competencia " +
            "AND c.recebedor IS NOT NULL " +
            "ORDER BY c.dataPagamento ASC")
     List<CobrancaMensalEntity> findParaRelatorioFinanceiro(
             @Param("status") StatusCobranca status,
-            @Param("mes") Integer mes,
-            @Param("ano") Integer ano
+            @Param("competencia") Integer competencia
     );
 
-    // Buscar cobranças pagas em um período (para relatório consolidado)
+    // Buscar cobranças pagas em um período (para relatório consolidado); assinatura, paciente e serviço no mesmo SELECT
     @Query("SELECT c FROM CobrancaMensalEntity c " +
+           "JOIN FETCH c.assinatura a " +
+           "JOIN FETCH a.paciente " +
+           "JOIN FETCH a.servico " +
            "WHERE c.status = 'PAGO' " +
            "AND c.recebedor IS NOT NULL " +
-           "AND (c.anoReferencia > :anoInicio OR (c.anoReferencia = :anoInicio AND c.mesReferencia >= :mesInicio)) " +
-           "AND (c.anoReferencia < :anoFim OR (c.anoReferencia = :anoFim AND c.mesReferencia <= :mesFim)) " +
-           "ORDER BY c.anoReferencia ASC, c.mesReferencia ASC, c.dataPagamento ASC")
+           "AND c.competencia BETWEEN :competenciaInicio AND :competenciaFim " +
+           "ORDER BY c.competencia ASC, c.dataPagamento ASC")
     List<CobrancaMensalEntity> findPagasPorPeriodo(
-            @Param("anoInicio") Integer anoInicio,
-            @Param("mesInicio") Integer mesInicio,
-            @Param("anoFim") Integer anoFim,
-            @Param("mesFim") Integer mesFim
+            @Param("competenciaInicio") Integer competenciaInicio,
+            @Param("competenciaFim") Integer competenciaFim
     );
 
     // Buscar cobranças de uma assinatura
+    @EntityGraph(attributePaths = {"assinatura", "assinatura.paciente", "assinatura.servico"})
     List<CobrancaMensalEntity> findByAssinatura_Id(Integer assinaturaId);
 
-    // Buscar cobranças pagas no mês para cálculo de faturamento
-    @Query("SELECT c FROM CobrancaMensalEntity c " +
-           "WHERE c.status = 'PAGO' " +
-           "AND c.anoReferencia = :ano " +
-           "AND c.mesReferencia = :mes")
-    List<CobrancaMensalEntity> findPagasPorMes(
-            @Param("ano") Integer ano,
-            @Param("mes") Integer mes
-    );
+    // Leituras para a API: nomes do paciente e do serviço no mesmo SELECT, sem entidades
+    String SELECT_RESUMO = "SELECT c.id AS id, a.id AS assinaturaId, p.nome AS pacienteNome, s.nome AS servicoNome, " +
+           "c.mesReferencia AS mesReferencia, c.anoReferencia AS anoReferencia, c.valor AS valor, c.status AS status, " +
+           "c.dataPagamento AS dataPagamento, c.recebedor AS recebedor, c.tipoPagamento AS tipoPagamento, " +
+           "c.pctClinicaSnapshot AS pctClinicaSnapshot, c.pctProfissionalSnapshot AS pctProfissionalSnapshot " +
+           "FROM CobrancaMensalEntity c " +
+           "JOIN c.assinatura a " +
+           "JOIN a.paciente p " +
+           "JOIN a.servico s ";
 
-    // Buscar cobranças pendentes vencidas (mês atual ou anteriores) para alertas
-    @Query("SELECT c FROM CobrancaMensalEntity c " +
+    @Query(SELECT_RESUMO + "WHERE c.id = :id")
+    Optional<CobrancaMensalResumoProjection> findResumoById(@Param("id") Integer id);
+
+    @Query(SELECT_RESUMO + "WHERE a.id = :assinaturaId ORDER BY c.anoReferencia, c.mesReferencia")
+    List<CobrancaMensalResumoProjection> findResumosByAssinaturaId(@Param("assinaturaId") Integer assinaturaId);
+
+    // Estado das cobranças usado pelo resumo mensal, travando as linhas até o fim da transação
+    @Query(value = """
+        SELECT CAST(c.id AS bigint) AS "id", a.servico_id AS "servicoId",
+               c.mes_referencia AS "mesReferencia", c.ano_referencia AS "anoReferencia", c.valor AS "valor",
+               c.pct_profissional_snapshot AS "pctProfissionalSnapshot", c.pct_clinica_snapshot AS "pctClinicaSnapshot",
+               c.status AS "status"
+        FROM {h-schema}cobrancas_mensais c
+        JOIN {h-schema}assinaturas a ON a.id = c.assinatura_id
+        WHERE c.id IN (:ids)
+        ORDER BY c.id
+        FOR UPDATE OF c
+    """, nativeQuery = true)
+    List<SituacaoCobrancaProjection> findSituacoesParaAtualizacao(@Param("ids") Collection<Integer> ids);
+
+    // Nomes dos pacientes com cobranças pendentes vencidas (competência atual ou anteriores) para alertas
+    @Query("SELECT DISTINCT p.nome FROM CobrancaMensalEntity c " +
+           "JOIN c.assinatura a " +
+           "JOIN a.paciente p " +
+           "WHERE c.status = 'PENDENTE' " +
+           "AND c.competencia <= :competencia " +
+           "ORDER BY p.nome")
+    List<String> findNomesPacientesInadimplentes(@Param("competencia") Integer competencia);
+
+    // Mesmo critério, agregado por paciente: meses em aberto e total devido
+    @Query("SELECT p.id AS pacienteId, p.nome AS nome, " +
+           "COUNT(DISTINCT c.competencia) AS mesesEmAberto, SUM(c.valor) AS totalDevido, " +
+           "MIN(c.competencia) AS competenciaMaisAntiga " +
+           "FROM CobrancaMensalEntity c " +
+           "JOIN c.assinatura a " +
+           "JOIN a.paciente p " +
            "WHERE c.status = 'PENDENTE' " +
-           "AND ((c.anoReferencia < :anoAtual) OR " +
-           "(c.anoReferencia = :anoAtual AND c.mesReferencia <= :mesAtual)) " +
-           "ORDER BY c.anoReferencia ASC, c.mesReferencia ASC")
-    List<CobrancaMensalEntity> findPendentesVencidas(
-            @Param("anoAtual") Integer anoAtual,
-            @Param("mesAtual") Integer mesAtual
+           "AND c.competencia <= :competencia " +
+           "GROUP BY p.id, p.nome " +
+           "ORDER BY SUM(c.valor) DESC, p.nome")
+    List<PacienteInadimplenteProjection> findPacientesInadimplentes(@Param("competencia") Integer competencia);
+
+    // As gerações devolvem as cobranças efetivamente criadas (RETURNING), com o serviço da assinatura,
+    // para o resumo mensal: um único comando, sem reler a tabela
+    String RETORNO_GERADAS = """
+            RETURNING id, assinatura_id, mes_referencia, ano_referencia, valor,
+                      pct_profissional_snapshot, pct_clinica_snapshot, status
+        )
+        SELECT CAST(g.id AS bigint) AS "id", a.servico_id AS "servicoId",
+               g.mes_referencia AS "mesReferencia", g.ano_referencia AS "anoReferencia", g.valor AS "valor",
+               g.pct_profissional_snapshot AS "pctProfissionalSnapshot", g.pct_clinica_snapshot AS "pctClinicaSnapshot",
+               g.status AS "status"
+        FROM geradas g
+        JOIN {h-schema}assinaturas a ON a.id = g.assinatura_id
+    """;
+
+    // Geração do mês em um único comando: uma cobrança por assinatura ativa, com snapshot dos percentuais
+    // do serviço; as que já existem são ignoradas pela restrição única (assinatura_id, mes, ano)
+    @Query(value = """
+        WITH geradas AS (
+            INSERT INTO {h-schema}cobrancas_mensais
+                (assinatura_id, mes_referencia, ano_referencia, valor, status, pct_clinica_snapshot, pct_profissional_snapshot)
+            SELECT a.id, :mes, :ano, a.valor_mensal, 'PENDENTE', s.pct_clinica, s.pct_profissional
+            FROM {h-schema}assinaturas a
+            JOIN {h-schema}servicos_config s ON s.id = a.servico_id
+            WHERE a.ativo = TRUE
+            ON CONFLICT (assinatura_id, mes_referencia, ano_referencia) DO NOTHING
+    """ + RETORNO_GERADAS, nativeQuery = true)
+    List<SituacaoCobrancaProjection> inserirCobrancasDasAssinaturasAtivas(
+            @Param("mes") Integer mes,
+            @Param("ano") Integer ano
     );
-}
 
+    // Mesma geração, restrita a um bloco de assinaturas (jobs em lote)
+    @Query(value = """
+        WITH geradas AS (
+            INSERT INTO {h-schema}cobrancas_mensais
+                (assinatura_id, mes_referencia, ano_referencia, valor, status, pct_clinica_snapshot, pct_profissional_snapshot)
+            SELECT a.id, :mes, :ano, a.valor_mensal, 'PENDENTE', s.pct_clinica, s.pct_profissional
+            FROM {h-schema}assinaturas a
+            JOIN {h-schema}servicos_config s ON s.id = a.servico_id
+            WHERE a.ativo = TRUE
+              AND a.id IN (:assinaturaIds)
+            ON CONFLICT (assinatura_id, mes_referencia, ano_referencia) DO NOTHING
+    """ + RETORNO_GERADAS, nativeQuery = true)
+    List<SituacaoCobrancaProjection> inserirCobrancasDasAssinaturas(
+            @Param("assinaturaIds") Collection<Integer> assinaturaIds,
+            @Param("mes") Integer mes,
+            @Param("ano") Integer ano
+    );
+
+    // Geração diária: só as assinaturas cujo vencimento no mês de referência cai até o dia limite
+    @Query(value = """
+        WITH geradas AS (
+            INSERT INTO {h-schema}cobrancas_mensais
+                (assinatura_id, mes_referencia, ano_referencia, valor, status, pct_clinica_snapshot, pct_profissional_snapshot)
+            SELECT a.id, :mes, :ano, a.valor_mensal, 'PENDENTE', s.pct_clinica, s.pct_profissional
+            FROM {h-schema}assinaturas a
+            JOIN {h-schema}servicos_config s ON s.id = a.servico_id
+            WHERE a.ativo = TRUE
+              AND a.dia_vencimento <= :diaLimite
+            ON CONFLICT (assinatura_id, mes_referencia, ano_referencia) DO NOTHING
+    """ + RETORNO_GERADAS, nativeQuery = true)
+    List<SituacaoCobrancaProjection> inserirCobrancasComVencimentoAte(
+            @Param("mes") Integer mes,
+            @Param("ano") Integer ano,
+            @Param("diaLimite") Integer diaLimite
+    );
+
+    // Aging das pendentes em um único GROUP BY: vencimento = dia_vencimento no mês de referência
+    // (limitado ao último dia do mês); GROUPING SETS devolve paciente, serviço e total de uma vez
+    @Query(value = """
+        WITH pendentes AS (
+            SELECT c.valor,
+                   a.paciente_id, p.nome AS paciente_nome,
+                   a.servico_id, s.nome AS servico_nome,
+                   CAST(:dataBase AS date) - (
+                       make_date(c.ano_referencia, c.mes_referencia, 1)
+                       + (LEAST(a.dia_vencimento,
+                                EXTRACT(DAY FROM make_date(c.ano_referencia, c.mes_referencia, 1)
+                                                 + INTERVAL '1 month' - INTERVAL '1 day')::int) - 1)
+                   ) AS dias_atraso
+            FROM {h-schema}cobrancas_mensais c
+            JOIN {h-schema}assinaturas a ON a.id = c.assinatura_id
+            JOIN {h-schema}pacientes p ON p.id = a.paciente_id
+            JOIN {h-schema}servicos_config s ON s.id = a.servico_id
+            WHERE c.status = 'PENDENTE'
+        )
+        SELECT CASE WHEN GROUPING(paciente_id) = 0 THEN 'PACIENTE'
+                    WHEN GROUPING(servico_id) = 0 THEN 'SERVICO'
+                    ELSE 'TOTAL' END AS "dimensao",
+               CAST(COALESCE(paciente_id, servico_id) AS bigint) AS "id",
+               COALESCE(paciente_nome, servico_nome) AS "nome",
+               COALESCE(SUM(valor) FILTER (WHERE dias_atraso < 0), 0) AS "naoVencido",
+               COALESCE(SUM(valor) FILTER (WHERE dias_atraso BETWEEN 0 AND 30), 0) AS "ate30",
+               COALESCE(SUM(valor) FILTER (WHERE dias_atraso BETWEEN 31 AND 60), 0) AS "de31a60",
+               COALESCE(SUM(valor) FILTER (WHERE dias_atraso BETWEEN 61 AND 90), 0) AS "de61a90",
+               COALESCE(SUM(valor) FILTER (WHERE dias_atraso > 90), 0) AS "acima90",
+               COALESCE(SUM(valor), 0) AS "total",
+               COUNT(*) AS "quantidade"
+        FROM pendentes
+        GROUP BY GROUPING SETS ((paciente_id, paciente_nome), (servico_id, servico_nome), ())
+        ORDER BY 1, "total" DESC, "nome"
+    """, nativeQuery = true)
+    List<AgingRecebiveisProjection> calcularAgingPendentes(@Param("dataBase") LocalDate dataBase);
+
+    // Pendentes com CPF e nome do paciente para conciliação, sem carregar entidades
+    @Query(value = """
+        SELECT CAST(c.id AS bigint) AS "id", c.valor AS "valor",
+               c.mes_referencia AS "mesReferencia", c.ano_referencia AS "anoReferencia",
+               p.cpf AS "cpfPaciente", p.nome AS "nomePaciente"
+        FROM {h-schema}cobrancas_mensais c
+        JOIN {h-schema}assinaturas a ON a.id = c.assinatura_id
+        JOIN {h-schema}pacientes p ON p.id = a.paciente_id
+        WHERE c.status = 'PENDENTE'
+    """, nativeQuery = true)
+    List<CobrancaPendenteProjection> findPendentesParaConciliacao();
+}
\ No newline at end of file
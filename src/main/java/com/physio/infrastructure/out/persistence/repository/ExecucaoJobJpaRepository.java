@@ -0,0 +1,12 @@
+package com.physio.infrastructure.out.persistence.repository;
+
+import com.physio.infrastructure.out.persistence.entity.ExecucaoJobEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ExecucaoJobJpaRepository extends JpaRepository<ExecucaoJobEntity, Integer> {
+    Optional<ExecucaoJobEntity> findByNomeAndChave(String nome, String chave);
+}
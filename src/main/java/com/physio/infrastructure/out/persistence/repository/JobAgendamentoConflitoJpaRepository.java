@@ -0,0 +1,14 @@
+package com.physio.infrastructure.out.persistence.repository;
+
+import com.physio.infrastructure.out.persistence.entity.JobAgendamentoConflitoEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface JobAgendamentoConflitoJpaRepository extends JpaRepository<JobAgendamentoConflitoEntity, Integer> {
+    List<JobAgendamentoConflitoEntity> findByJobIdOrderById(String jobId);
+
+    void deleteByJobId(String jobId);
+}
@@ -0,0 +1,31 @@
+package com.physio.infrastructure.out.persistence.repository;
+
+import com.physio.infrastructure.out.persistence.entity.JobAgendamentoEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface JobAgendamentoJpaRepository extends JpaRepository<JobAgendamentoEntity, String> {
+
+    // Os conflitos saem junto pelo ON DELETE CASCADE
+    @Modifying
+    @Query(value = """
+        DELETE FROM {h-schema}job_agendamento
+        WHERE status IN ('CONCLUIDO', 'FALHOU') AND concluido_em < :instante
+    """, nativeQuery = true)
+    int deletarFinalizadosAntesDe(@Param("instante") LocalDateTime instante);
+
+    // Jobs que a instância de origem não terminou (parada no meio da execução)
+    @Modifying
+    @Query(value = """
+        UPDATE {h-schema}job_agendamento
+        SET status = 'FALHOU', concluido_em = LOCALTIMESTAMP, erro = :erro
+        WHERE status IN ('PENDENTE', 'EM_EXECUCAO') AND criado_em < :instante
+    """, nativeQuery = true)
+    int marcarInterrompidosAntesDe(@Param("instante") LocalDateTime instante, @Param("erro") String erro);
+}
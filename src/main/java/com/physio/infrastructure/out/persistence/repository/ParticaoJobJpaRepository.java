@@ -0,0 +1,12 @@
+package com.physio.infrastructure.out.persistence.repository;
+
+import com.physio.infrastructure.out.persistence.entity.ParticaoJobEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ParticaoJobJpaRepository extends JpaRepository<ParticaoJobEntity, Integer> {
+    List<ParticaoJobEntity> findByExecucaoIdOrderByNumero(Integer execucaoId);
+}
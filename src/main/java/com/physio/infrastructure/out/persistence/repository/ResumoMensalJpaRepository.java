@@ -0,0 +1,67 @@
+package com.physio.infrastructure.out.persistence.repository;
+
+import com.physio.infrastructure.out.persistence.entity.ResumoMensalEntity;
+import com.physio.infrastructure.out.persistence.projection.TotaisResumoMensalProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ResumoMensalJpaRepository extends JpaRepository<ResumoMensalEntity, ResumoMensalEntity.Chave> {
+
+    // Reconstrução completa: bloqueia as variações concorrentes no resumo até o commit
+    @Modifying
+    @Query(value = "LOCK TABLE {h-schema}resumo_mensal IN EXCLUSIVE MODE", nativeQuery = true)
+    void travarTabela();
+
+    @Modifying
+    @Query(value = "DELETE FROM {h-schema}resumo_mensal", nativeQuery = true)
+    int deletarTodos();
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO {h-schema}resumo_mensal
+            (ano, mes, servico_id, atendimentos_concluidos, valor_bruto, valor_profissional, valor_clinica, valor_pendente, atualizado_em)
+        SELECT x.ano, x.mes, x.servico_id, SUM(x.concluidos), SUM(x.bruto), SUM(x.profissional), SUM(x.clinica), SUM(x.pendente),
+               CURRENT_TIMESTAMP
+        FROM (
+            SELECT CAST(EXTRACT(YEAR FROM a.data_hora_inicio) AS INTEGER) AS ano,
+                   CAST(EXTRACT(MONTH FROM a.data_hora_inicio) AS INTEGER) AS mes,
+                   a.servico_base_id AS servico_id,
+                   COUNT(*) AS concluidos,
+                   COALESCE(SUM(a.valor_cobrado) FILTER (WHERE a.valor_cobrado > 0), 0) AS bruto,
+                   COALESCE(SUM(ROUND(a.valor_cobrado * a.pct_profissional_snapshot / 100, 2)) FILTER (WHERE a.valor_cobrado > 0), 0) AS profissional,
+                   COALESCE(SUM(ROUND(a.valor_cobrado * a.pct_clinica_snapshot / 100, 2)) FILTER (WHERE a.valor_cobrado > 0), 0) AS clinica,
+                   0 AS pendente
+            FROM {h-schema}atendimentos a
+            WHERE a.status = 'CONCLUIDO'
+            GROUP BY 1, 2, 3
+            UNION ALL
+            SELECT c.ano_referencia, c.mes_referencia, s.servico_id,
+                   0,
+                   COALESCE(SUM(c.valor) FILTER (WHERE c.status = 'PAGO'), 0),
+                   COALESCE(SUM(ROUND(c.valor * c.pct_profissional_snapshot / 100, 2)) FILTER (WHERE c.status = 'PAGO'), 0),
+                   COALESCE(SUM(ROUND(c.valor * c.pct_clinica_snapshot / 100, 2)) FILTER (WHERE c.status = 'PAGO'), 0),
+                   COALESCE(SUM(c.valor) FILTER (WHERE c.status = 'PENDENTE'), 0)
+            FROM {h-schema}cobrancas_mensais c
+            JOIN {h-schema}assinaturas s ON s.id = c.assinatura_id
+            GROUP BY 1, 2, 3
+        ) x
+        GROUP BY x.ano, x.mes, x.servico_id
+    """, nativeQuery = true)
+    int inserirTodos();
+
+    // Totais do mês somando os serviços: uma linha, lida pela chave primária
+    @Query(value = """
+        SELECT COALESCE(SUM(r.atendimentos_concluidos), 0) AS "atendimentosConcluidos",
+               COALESCE(SUM(r.valor_bruto), 0) AS "valorBruto",
+               COALESCE(SUM(r.valor_profissional), 0) AS "valorProfissional",
+               COALESCE(SUM(r.valor_clinica), 0) AS "valorClinica",
+               COALESCE(SUM(r.valor_pendente), 0) AS "valorPendente"
+        FROM {h-schema}resumo_mensal r
+        WHERE r.ano = :ano AND r.mes = :mes
+    """, nativeQuery = true)
+    TotaisResumoMensalProjection findTotaisDoMes(@Param("ano") Integer ano, @Param("mes") Integer mes);
+}
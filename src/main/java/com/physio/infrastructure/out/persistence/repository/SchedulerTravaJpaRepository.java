@@ -0,0 +1,56 @@
+package com.physio.infrastructure.out.persistence.repository;
+
+import com.physio.infrastructure.out.persistence.entity.SchedulerTravaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SchedulerTravaJpaRepository extends JpaRepository<SchedulerTravaEntity, String> {
+
+    // Cria ou toma a trava em um único comando: só altera a linha se o lease expirou (ou já é do mesmo dono)
+    @Modifying
+    @Query(value = """
+        INSERT INTO {h-schema}scheduler_trava (nome, dono, bloqueado_em, bloqueado_ate)
+        VALUES (:nome, :dono, LOCALTIMESTAMP, LOCALTIMESTAMP + make_interval(secs => :segundos))
+        ON CONFLICT (nome) DO UPDATE
+            SET dono = EXCLUDED.dono,
+                bloqueado_em = EXCLUDED.bloqueado_em,
+                bloqueado_ate = EXCLUDED.bloqueado_ate
+            WHERE scheduler_trava.bloqueado_ate <= LOCALTIMESTAMP
+               OR scheduler_trava.dono = EXCLUDED.dono
+    """, nativeQuery = true)
+    int adquirir(
+            @Param("nome") String nome,
+            @Param("dono") String dono,
+            @Param("segundos") long segundos
+    );
+
+    // Estende o lease enquanto o job roda; não altera a linha se outra instância já a tomou
+    @Modifying
+    @Query(value = """
+        UPDATE {h-schema}scheduler_trava
+        SET bloqueado_ate = GREATEST(bloqueado_ate, LOCALTIMESTAMP + make_interval(secs => :segundos))
+        WHERE nome = :nome AND dono = :dono
+    """, nativeQuery = true)
+    int renovar(
+            @Param("nome") String nome,
+            @Param("dono") String dono,
+            @Param("segundos") long segundos
+    );
+
+    // Encerra o lease, respeitando a duração mínima a partir da aquisição
+    @Modifying
+    @Query(value = """
+        UPDATE {h-schema}scheduler_trava
+        SET bloqueado_ate = GREATEST(LOCALTIMESTAMP, bloqueado_em + make_interval(secs => :segundosMinimos))
+        WHERE nome = :nome AND dono = :dono
+    """, nativeQuery = true)
+    int liberar(
+            @Param("nome") String nome,
+            @Param("dono") String dono,
+            @Param("segundosMinimos") long segundosMinimos
+    );
+}
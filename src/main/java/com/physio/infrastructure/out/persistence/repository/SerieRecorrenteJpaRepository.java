@@ -0,0 +1,42 @@
+package com.physio.infrastructure.out.persistence.repository;
+
+import com.physio.infrastructure.out.persistence.entity.SerieRecorrenteEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SerieRecorrenteJpaRepository extends JpaRepository<SerieRecorrenteEntity, Integer> {
+
+    @EntityGraph(attributePaths = {"paciente", "servico", "excecoes"})
+    Optional<SerieRecorrenteEntity> findComExcecoesById(Integer id);
+
+    // SELECT ... FOR UPDATE apenas na série (sem fetch join, que o PostgreSQL não aceita com FOR UPDATE)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM SerieRecorrenteEntity s WHERE s.id = :id")
+    Optional<SerieRecorrenteEntity> findParaAtualizacaoById(@Param("id") Integer id);
+
+    // Séries ativas com datas ainda não materializadas até 'ate', paginadas por id (keyset)
+    @Query("""
+        SELECT s.id FROM SerieRecorrenteEntity s
+        WHERE s.ativa = true
+          AND s.id > :aposId
+          AND s.materializadoAte < :ate
+          AND (s.dataFim IS NULL OR s.materializadoAte < s.dataFim)
+        ORDER BY s.id
+    """)
+    List<Integer> findIdsPendentesDeMaterializacao(
+            @Param("ate") LocalDate ate,
+            @Param("aposId") Integer aposId,
+            Pageable pageable
+    );
+}
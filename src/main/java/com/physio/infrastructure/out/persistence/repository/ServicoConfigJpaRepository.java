@@ -2,6 +2,9 @@ package com.physio.infrastructure.out.persistence.repository;
 
 import com.physio.infrastructure.out.persistence.entity.ServicoConfigEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +15,12 @@ public interface ServicoConfigJpaRepository extends JpaRepository<ServicoConfigE
     Optional<ServicoConfigEntity> findByIdAndAtivoTrue(Integer id);
     Optional<ServicoConfigEntity> findByNome(String nome);
     List<ServicoConfigEntity> findByAtivoTrue();
+
+    // ics_token não é mapeado na entidade: salvar o serviço não apaga nem expõe o token do feed
+    @Modifying
+    @Query(value = "UPDATE {h-schema}servicos_config SET ics_token = :token WHERE id = :id", nativeQuery = true)
+    int definirTokenAgendaIcs(@Param("id") Integer id, @Param("token") String token);
+
+    @Query(value = "SELECT COUNT(*) > 0 FROM {h-schema}servicos_config WHERE id = :id AND ics_token = :token", nativeQuery = true)
+    boolean existsTokenAgendaIcs(@Param("id") Integer id, @Param("token") String token);
 }
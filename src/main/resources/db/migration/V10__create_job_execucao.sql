@@ -0,0 +1,36 @@
+-- Migração: controle de execução de jobs em lote (geração de cobranças e similares)
+-- Cada execução é identificada por (nome, chave), ex.: ('GERAR_COBRANCAS', '2026-10'), e dividida em
+-- partições por faixa de id. Cada partição guarda o último id processado (checkpoint), gravado na
+-- mesma transação do chunk: uma execução interrompida continua de onde parou.
+
+CREATE TABLE IF NOT EXISTS job_execucao (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome VARCHAR(100) NOT NULL,
+    chave VARCHAR(100) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    iniciado_em TIMESTAMP NOT NULL DEFAULT NOW(),
+    atualizado_em TIMESTAMP,
+    concluido_em TIMESTAMP,
+    processados INTEGER NOT NULL DEFAULT 0,
+    falhas INTEGER NOT NULL DEFAULT 0,
+    erro TEXT,
+    CONSTRAINT uq_job_execucao_nome_chave UNIQUE (nome, chave)
+);
+
+CREATE TABLE IF NOT EXISTS job_execucao_particao (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    execucao_id INTEGER NOT NULL,
+    numero INTEGER NOT NULL,
+    inicio_id INTEGER NOT NULL,
+    fim_id INTEGER NOT NULL,
+    ultimo_id INTEGER,
+    status VARCHAR(20) NOT NULL,
+    processados INTEGER NOT NULL DEFAULT 0,
+    falhas INTEGER NOT NULL DEFAULT 0,
+    erro TEXT,
+    atualizado_em TIMESTAMP,
+    CONSTRAINT fk_particao_execucao FOREIGN KEY (execucao_id) REFERENCES job_execucao(id) ON DELETE CASCADE,
+    CONSTRAINT uq_particao_execucao_numero UNIQUE (execucao_id, numero)
+);
+
+COMMENT ON COLUMN job_execucao_particao.ultimo_id IS 'Checkpoint: último id processado da faixa [inicio_id, fim_id] (NULL = nada processado)';
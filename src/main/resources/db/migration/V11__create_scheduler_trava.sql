@@ -0,0 +1,13 @@
+-- Migração: trava distribuída (lease) para os jobs agendados
+-- Com mais de uma instância da aplicação, cada @Scheduled dispara em todas elas. Antes de executar,
+-- a instância tenta tomar a linha do job: só consegue se ninguém a detém ou se o lease anterior expirou
+-- (instância que caiu no meio do job). Os horários usam o relógio do banco, comum a todas as instâncias.
+
+CREATE TABLE IF NOT EXISTS scheduler_trava (
+    nome VARCHAR(100) PRIMARY KEY,
+    dono VARCHAR(255) NOT NULL,
+    bloqueado_em TIMESTAMP NOT NULL,
+    bloqueado_ate TIMESTAMP NOT NULL
+);
+
+COMMENT ON TABLE scheduler_trava IS 'Lease por job agendado: a instância dona executa até bloqueado_ate';
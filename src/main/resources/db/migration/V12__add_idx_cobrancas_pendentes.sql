@@ -0,0 +1,8 @@
+-- Migração: índice parcial das cobranças pendentes para o relatório de aging
+-- O aging agrupa só as cobranças PENDENTE; com valor e competência no INCLUDE a leitura
+-- é um index-only scan, sem visitar a tabela (que cresce com o histórico de pagas).
+
+CREATE INDEX IF NOT EXISTS idx_cobrancas_pendentes_assinatura
+    ON cobrancas_mensais (assinatura_id)
+    INCLUDE (ano_referencia, mes_referencia, valor)
+    WHERE status = 'PENDENTE';
@@ -0,0 +1,24 @@
+-- Migração: chave ano-mês (competencia = AAAAMM) em cobrancas_mensais
+-- As consultas por período comparavam (ano, mes) com OR, sem uso de índice. Com a coluna gerada,
+-- período vira intervalo simples (competencia BETWEEN ...) e mês vira igualdade, ambos atendidos
+-- pelos índices abaixo. Ver scripts/benchmark_competencia_cobrancas.sql para os planos.
+
+ALTER TABLE cobrancas_mensais
+    ADD COLUMN IF NOT EXISTS competencia INTEGER
+        GENERATED ALWAYS AS (ano_referencia * 100 + mes_referencia) STORED;
+
+-- Pagas por mês/período (dashboard, relatórios): status na frente, competência em intervalo
+CREATE INDEX IF NOT EXISTS idx_cobrancas_status_competencia
+    ON cobrancas_mensais (status, competencia);
+
+-- Pendentes vencidas até uma competência: índice pequeno, só com as pendentes
+CREATE INDEX IF NOT EXISTS idx_cobrancas_pendentes_competencia
+    ON cobrancas_mensais (competencia)
+    INCLUDE (assinatura_id, valor)
+    WHERE status = 'PENDENTE';
+
+-- Substituídos pelos índices acima (status isolado tem baixa seletividade)
+DROP INDEX IF EXISTS idx_cobrancas_status;
+DROP INDEX IF EXISTS idx_cobrancas_mes_ano;
+
+COMMENT ON COLUMN cobrancas_mensais.competencia IS 'ano_referencia * 100 + mes_referencia (AAAAMM), gerada; usada nas consultas por período';
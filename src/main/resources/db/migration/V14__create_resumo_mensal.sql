@@ -0,0 +1,49 @@
+-- Migração: resumo mensal por serviço para o dashboard
+-- Guarda, por (ano, mes, servico_id), os atendimentos concluídos e os valores do mês: bruto e partes
+-- da profissional e da clínica (avulsos concluídos pelo mês do atendimento + mensalidades pagas pela
+-- competência) e o valor de mensalidades ainda pendentes. A aplicação soma a variação de cada escrita
+-- (estado atual menos o anterior) na mesma transação; a carga abaixo (e o comando de reconstrução)
+-- parte das tabelas de origem.
+
+CREATE TABLE IF NOT EXISTS resumo_mensal (
+    ano INTEGER NOT NULL,
+    mes INTEGER NOT NULL,
+    servico_id INTEGER NOT NULL,
+    atendimentos_concluidos BIGINT NOT NULL DEFAULT 0,
+    valor_bruto NUMERIC(14,2) NOT NULL DEFAULT 0,
+    valor_profissional NUMERIC(14,2) NOT NULL DEFAULT 0,
+    valor_clinica NUMERIC(14,2) NOT NULL DEFAULT 0,
+    valor_pendente NUMERIC(14,2) NOT NULL DEFAULT 0,
+    atualizado_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_resumo_mensal PRIMARY KEY (ano, mes, servico_id)
+);
+
+INSERT INTO resumo_mensal (ano, mes, servico_id, atendimentos_concluidos, valor_bruto, valor_profissional, valor_clinica, valor_pendente)
+SELECT x.ano, x.mes, x.servico_id, SUM(x.concluidos), SUM(x.bruto), SUM(x.profissional), SUM(x.clinica), SUM(x.pendente)
+FROM (
+    SELECT CAST(EXTRACT(YEAR FROM a.data_hora_inicio) AS INTEGER) AS ano,
+           CAST(EXTRACT(MONTH FROM a.data_hora_inicio) AS INTEGER) AS mes,
+           a.servico_base_id AS servico_id,
+           COUNT(*) AS concluidos,
+           COALESCE(SUM(a.valor_cobrado) FILTER (WHERE a.valor_cobrado > 0), 0) AS bruto,
+           COALESCE(SUM(ROUND(a.valor_cobrado * a.pct_profissional_snapshot / 100, 2)) FILTER (WHERE a.valor_cobrado > 0), 0) AS profissional,
+           COALESCE(SUM(ROUND(a.valor_cobrado * a.pct_clinica_snapshot / 100, 2)) FILTER (WHERE a.valor_cobrado > 0), 0) AS clinica,
+           0 AS pendente
+    FROM atendimentos a
+    WHERE a.status = 'CONCLUIDO'
+    GROUP BY 1, 2, 3
+    UNION ALL
+    SELECT c.ano_referencia, c.mes_referencia, s.servico_id,
+           0,
+           COALESCE(SUM(c.valor) FILTER (WHERE c.status = 'PAGO'), 0),
+           COALESCE(SUM(ROUND(c.valor * c.pct_profissional_snapshot / 100, 2)) FILTER (WHERE c.status = 'PAGO'), 0),
+           COALESCE(SUM(ROUND(c.valor * c.pct_clinica_snapshot / 100, 2)) FILTER (WHERE c.status = 'PAGO'), 0),
+           COALESCE(SUM(c.valor) FILTER (WHERE c.status = 'PENDENTE'), 0)
+    FROM cobrancas_mensais c
+    JOIN assinaturas s ON s.id = c.assinatura_id
+    GROUP BY 1, 2, 3
+) x
+GROUP BY x.ano, x.mes, x.servico_id
+ON CONFLICT (ano, mes, servico_id) DO NOTHING;
+
+COMMENT ON TABLE resumo_mensal IS 'Totais do dashboard por ano/mes/servico, atualizados por variacao a cada escrita em atendimentos e cobrancas';
@@ -0,0 +1,9 @@
+-- Migração: ids com falha por partição de job em lote
+-- O checkpoint (ultimo_id) avança mesmo quando alguns itens do chunk falham; esses ids ficam aqui,
+-- gravados na mesma transação do checkpoint, e são refeitos no início da próxima execução. A partição
+-- só fica CONCLUIDO quando a lista esvazia.
+
+ALTER TABLE job_execucao_particao
+    ADD COLUMN IF NOT EXISTS ids_com_falha INTEGER[] NOT NULL DEFAULT '{}';
+
+COMMENT ON COLUMN job_execucao_particao.ids_com_falha IS 'Ids da faixa que falharam e ainda precisam ser reprocessados';
@@ -0,0 +1,29 @@
+-- Migração: jobs de agendamento assíncrono (POST /api/v1/agendamentos/async)
+-- A situação do job fica no banco para que qualquer instância responda à consulta e para que ela
+-- sobreviva a um restart. Os atendimentos criados são guardados por id (lidos de atendimentos na
+-- consulta); as datas recusadas ficam em job_agendamento_conflito. Jobs finalizados são removidos
+-- depois da retenção configurada (agendamento.async.retencao-minutos).
+
+CREATE TABLE IF NOT EXISTS job_agendamento (
+    id VARCHAR(36) PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    criado_em TIMESTAMP NOT NULL DEFAULT NOW(),
+    iniciado_em TIMESTAMP,
+    concluido_em TIMESTAMP,
+    atendimento_ids INTEGER[] NOT NULL DEFAULT '{}',
+    erro TEXT
+);
+
+CREATE TABLE IF NOT EXISTS job_agendamento_conflito (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    job_id VARCHAR(36) NOT NULL,
+    atendimento_id INTEGER,
+    data_hora TIMESTAMP,
+    motivo TEXT,
+    CONSTRAINT fk_conflito_job_agendamento FOREIGN KEY (job_id) REFERENCES job_agendamento(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_job_agendamento_conflito_job ON job_agendamento_conflito(job_id);
+CREATE INDEX IF NOT EXISTS idx_job_agendamento_status_criado ON job_agendamento(status, criado_em);
+
+COMMENT ON COLUMN job_agendamento.atendimento_ids IS 'Atendimentos criados pelo job, na ordem do resultado';
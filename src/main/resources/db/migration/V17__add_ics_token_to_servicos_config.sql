@@ -0,0 +1,12 @@
+-- Migração: token secreto por serviço para assinar o feed iCalendar da agenda
+-- Aplicativos de calendário não enviam o header Authorization: o feed fica acessível sem login
+-- apenas pela URL que contém este token. NULL (padrão) = feed público desligado para o serviço;
+-- gerar um token novo invalida o anterior.
+
+ALTER TABLE servicos_config
+    ADD COLUMN IF NOT EXISTS ics_token VARCHAR(64);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_servicos_config_ics_token
+    ON servicos_config (ics_token) WHERE ics_token IS NOT NULL;
+
+COMMENT ON COLUMN servicos_config.ics_token IS 'Token da URL pública do feed iCalendar do serviço (NULL = desligado)';
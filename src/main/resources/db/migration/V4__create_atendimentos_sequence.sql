@@ -0,0 +1,14 @@
+-- Migração: IDs de atendimentos passam a vir de uma sequence com incremento 50
+-- Permite que o Hibernate use o otimizador pooled e agrupe os INSERTs em lote (JDBC batch),
+-- o que não é possível com IDENTITY.
+
+CREATE SEQUENCE IF NOT EXISTS atendimentos_seq INCREMENT BY 50;
+
+-- Posiciona a sequence após o maior ID existente.
+-- Com o otimizador pooled, o valor retornado por nextval é o topo do bloco [valor - 49, valor]
+SELECT setval('atendimentos_seq', COALESCE((SELECT MAX(id) FROM atendimentos), 0) + 50);
+
+-- A coluna deixa de ser IDENTITY; inserções fora da aplicação continuam funcionando pelo DEFAULT
+ALTER TABLE atendimentos ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE atendimentos ALTER COLUMN id SET DEFAULT nextval('atendimentos_seq');
+ALTER SEQUENCE atendimentos_seq OWNED BY atendimentos.id;
@@ -0,0 +1,61 @@
+-- Migração: tabela de reserva de vagas por célula da grade da agenda
+-- Cada linha representa uma célula de 30 minutos (início alinhado à meia hora); um atendimento
+-- ocupa todas as células que o intervalo [início, fim) cobre. Dois atendimentos que se sobrepõem
+-- sempre disputam ao menos uma célula em comum, mesmo começando em horários diferentes
+-- (10:00 de 60 min e 10:30, ou uma Avaliação de 90 min).
+-- A reserva bloqueia as células em ordem (SELECT ... ORDER BY ... FOR UPDATE) e só então incrementa
+-- 'ocupacao' de todas as células do intervalo, o que torna a verificação de capacidade atômica sem
+-- SERIALIZABLE nem lock de tabela: apenas as células disputadas ficam bloqueadas.
+-- O tipo fica na própria linha, de forma que a regra de não misturar PILATES e FISIOTERAPIA
+-- no mesmo horário também é garantida pela mesma reserva.
+
+CREATE TABLE IF NOT EXISTS agenda_slots (
+    data_hora_inicio TIMESTAMP PRIMARY KEY,
+    tipo VARCHAR(20) NOT NULL,
+    ocupacao INTEGER NOT NULL DEFAULT 0 CHECK (ocupacao >= 0)
+);
+
+-- Carga inicial a partir dos atendimentos existentes, célula a célula
+-- (atendimentos sem fim válido ocupam só a célula do início).
+-- Células em que PILATES e FISIOTERAPIA já se misturam não têm um tipo correto a escolher:
+-- a migração é interrompida listando os atendimentos envolvidos, para que sejam remarcados antes.
+DO $$
+DECLARE
+    misturada RECORD;
+    quantidade INTEGER := 0;
+BEGIN
+    CREATE TEMPORARY TABLE agenda_slots_carga ON COMMIT DROP AS
+    SELECT c.celula, s.tipo, a.id AS atendimento_id
+    FROM atendimentos a
+    JOIN servicos_config s ON s.id = a.servico_base_id
+    CROSS JOIN LATERAL generate_series(
+        date_bin(INTERVAL '30 minutes', a.data_hora_inicio, TIMESTAMP '2000-01-01'),
+        CASE WHEN a.data_hora_fim > a.data_hora_inicio
+             THEN a.data_hora_fim - INTERVAL '1 microsecond'
+             ELSE a.data_hora_inicio
+        END,
+        INTERVAL '30 minutes') AS c(celula);
+
+    FOR misturada IN
+        SELECT celula, string_agg(tipo || ' #' || atendimento_id, ', ' ORDER BY atendimento_id) AS atendimentos
+        FROM agenda_slots_carga
+        GROUP BY celula
+        HAVING COUNT(DISTINCT tipo) > 1
+        ORDER BY celula
+    LOOP
+        RAISE WARNING 'agenda_slots: tipos misturados em % (%)', misturada.celula, misturada.atendimentos;
+        quantidade := quantidade + 1;
+    END LOOP;
+
+    IF quantidade > 0 THEN
+        RAISE EXCEPTION 'agenda_slots: % célula(s) com PILATES e FISIOTERAPIA misturados; remarque os atendimentos listados e aplique a migração novamente', quantidade;
+    END IF;
+
+    INSERT INTO agenda_slots (data_hora_inicio, tipo, ocupacao)
+    SELECT celula, MIN(tipo), COUNT(*)
+    FROM agenda_slots_carga
+    GROUP BY celula
+    ON CONFLICT (data_hora_inicio) DO NOTHING;
+END $$;
+
+COMMENT ON TABLE agenda_slots IS 'Ocupação por célula de 30 minutos da agenda, usada para reservar vagas de forma atômica';
@@ -0,0 +1,20 @@
+-- Migração: coluna de intervalo (tsrange) para consultas de sobreposição em atendimentos
+-- A consulta de conflitos (inicio < :fim AND fim > :inicio) não consegue usar um índice B-tree
+-- de forma eficiente: com duas desigualdades em colunas diferentes, acaba em varredura sequencial.
+-- Um tsrange gerado a partir de data_hora_inicio/data_hora_fim com índice GiST permite
+-- responder 'periodo && tsrange(:inicio, :fim)' por busca no índice.
+-- Intervalo semiaberto '[)': encostar (um termina quando o outro começa) não é conflito,
+-- o mesmo critério das desigualdades estritas usadas até aqui.
+-- Atendimentos sem fim (ou com fim <= início) ficam com periodo NULL e, como antes, não geram conflito.
+
+ALTER TABLE atendimentos
+    ADD COLUMN IF NOT EXISTS periodo TSRANGE
+        GENERATED ALWAYS AS (
+            CASE WHEN data_hora_fim > data_hora_inicio
+                 THEN tsrange(data_hora_inicio, data_hora_fim, '[)')
+            END
+        ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_atendimentos_periodo ON atendimentos USING GIST (periodo);
+
+COMMENT ON COLUMN atendimentos.periodo IS 'Intervalo [inicio, fim) gerado a partir de data_hora_inicio/data_hora_fim, indexado por GiST';
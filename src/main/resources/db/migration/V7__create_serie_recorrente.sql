@@ -0,0 +1,45 @@
+-- Migração: séries recorrentes de atendimentos
+-- A regra da recorrência (dias da semana, horário, serviço, paciente e data final) fica gravada na série;
+-- os atendimentos concretos são gerados apenas dentro de um horizonte (ex.: 8 semanas à frente)
+-- por um job agendado, que avança 'materializado_ate' a cada execução.
+-- Sessões canceladas ou remarcadas ficam como exceções da série, aplicadas na materialização.
+
+CREATE TABLE IF NOT EXISTS serie_recorrente (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    paciente_id INTEGER NOT NULL,
+    servico_id INTEGER NOT NULL,
+    dias_semana VARCHAR(20) NOT NULL,
+    horario TIME NOT NULL,
+    data_inicio DATE NOT NULL,
+    data_fim DATE,
+    materializado_ate DATE NOT NULL,
+    ativa BOOLEAN NOT NULL DEFAULT TRUE,
+    data_criacao TIMESTAMP NOT NULL DEFAULT NOW(),
+    CONSTRAINT fk_serie_paciente FOREIGN KEY (paciente_id) REFERENCES pacientes(id),
+    CONSTRAINT fk_serie_servico FOREIGN KEY (servico_id) REFERENCES servicos_config(id)
+);
+
+-- Séries que ainda têm datas a materializar (consulta do job)
+CREATE INDEX IF NOT EXISTS idx_serie_recorrente_materializacao
+    ON serie_recorrente (materializado_ate)
+    WHERE ativa = TRUE;
+
+CREATE TABLE IF NOT EXISTS serie_recorrente_excecao (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    serie_id INTEGER NOT NULL,
+    data_original DATE NOT NULL,
+    tipo VARCHAR(20) NOT NULL,
+    nova_data_hora TIMESTAMP,
+    CONSTRAINT fk_excecao_serie FOREIGN KEY (serie_id) REFERENCES serie_recorrente(id) ON DELETE CASCADE,
+    CONSTRAINT uq_excecao_serie_data UNIQUE (serie_id, data_original),
+    CONSTRAINT ck_excecao_tipo CHECK (tipo IN ('CANCELADA', 'REMARCADA')),
+    CONSTRAINT ck_excecao_remarcada CHECK (tipo <> 'REMARCADA' OR nova_data_hora IS NOT NULL)
+);
+
+ALTER TABLE atendimentos ADD COLUMN IF NOT EXISTS serie_id INTEGER;
+ALTER TABLE atendimentos
+    ADD CONSTRAINT fk_atendimento_serie FOREIGN KEY (serie_id) REFERENCES serie_recorrente(id) ON DELETE SET NULL;
+CREATE INDEX IF NOT EXISTS idx_atendimentos_serie ON atendimentos (serie_id);
+
+COMMENT ON TABLE serie_recorrente IS 'Regra de agendamento recorrente; atendimentos materializados até materializado_ate';
+COMMENT ON TABLE serie_recorrente_excecao IS 'Sessões canceladas ou remarcadas de uma série recorrente';
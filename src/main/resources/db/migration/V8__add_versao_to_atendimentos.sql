@@ -0,0 +1,30 @@
+-- Migração: versão por linha em atendimentos, usada como ETag do feed iCalendar da agenda
+-- Cada inserção recebe um valor novo da sequence e cada UPDATE troca por outro maior (trigger).
+-- COUNT(*) e SUM(versao) de uma janela mudam sempre que algum atendimento dela é criado, alterado
+-- ou removido, independentemente da ordem de commit das transações, e respondem por um
+-- index-only scan sobre (servico_base_id, data_hora_inicio) INCLUDE (versao, paciente_id).
+-- paciente_id vai no índice para a versão também cobrir o nome do paciente (junção pela PK de pacientes).
+
+CREATE SEQUENCE IF NOT EXISTS atendimentos_versao_seq;
+
+ALTER TABLE atendimentos
+    ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT nextval('atendimentos_versao_seq');
+
+ALTER SEQUENCE atendimentos_versao_seq OWNED BY atendimentos.versao;
+
+CREATE OR REPLACE FUNCTION atendimentos_incrementar_versao() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.versao := nextval('atendimentos_versao_seq');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_atendimentos_versao ON atendimentos;
+CREATE TRIGGER trg_atendimentos_versao
+    BEFORE UPDATE ON atendimentos
+    FOR EACH ROW EXECUTE FUNCTION atendimentos_incrementar_versao();
+
+CREATE INDEX IF NOT EXISTS idx_atendimentos_servico_inicio
+    ON atendimentos (servico_base_id, data_hora_inicio) INCLUDE (versao, paciente_id);
+
+COMMENT ON COLUMN atendimentos.versao IS 'Trocada a cada INSERT/UPDATE; soma por janela serve de ETag do feed da agenda';
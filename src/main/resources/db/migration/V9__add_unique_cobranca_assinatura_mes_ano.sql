@@ -0,0 +1,20 @@
+-- Migração: unicidade de cobrança por assinatura/mês/ano
+-- A geração mensal passa a ser um único INSERT ... SELECT com ON CONFLICT DO NOTHING, que depende
+-- desta restrição. Bancos criados pelo V0 não a possuem (o CREATE TABLE do V2 não é aplicado
+-- quando a tabela já existe).
+
+-- Duplicatas eventualmente geradas por execuções concorrentes: mantém a cobrança paga ou, entre
+-- as pendentes, a mais antiga. Duplicatas pagas não são removidas (a migração falha para análise manual).
+DELETE FROM cobrancas_mensais c
+WHERE c.status = 'PENDENTE'
+  AND EXISTS (
+      SELECT 1 FROM cobrancas_mensais o
+      WHERE o.assinatura_id = c.assinatura_id
+        AND o.mes_referencia = c.mes_referencia
+        AND o.ano_referencia = c.ano_referencia
+        AND o.id <> c.id
+        AND (o.status <> 'PENDENTE' OR o.id < c.id)
+  );
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_cobrancas_assinatura_mes_ano
+    ON cobrancas_mensais (assinatura_id, mes_referencia, ano_referencia);